@@ -2,12 +2,15 @@ package com.veri.taskmanager;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class TaskmanagerApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(TaskmanagerApplication.class, args);
+		SpringApplication application = new SpringApplication(TaskmanagerApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(4096));
+		application.run(args);
 	}
 
 }
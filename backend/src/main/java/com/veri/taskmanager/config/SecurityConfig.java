@@ -4,6 +4,7 @@ import com.veri.taskmanager.security.JwtAuthenticationFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -43,8 +44,11 @@ public class SecurityConfig {
             .cors()
             .and()
             .authorizeRequests()
-                .antMatchers("/auth/**", "/h2-console/**", "/actuator/**").permitAll()
+                .antMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**").permitAll()
+                .antMatchers("/actuator/**").hasRole("ADMIN")
+                .antMatchers("/auth/**", "/h2-console/**").permitAll()
                 .antMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
+                .antMatchers("/api/admin/**").hasRole("ADMIN")
                 .antMatchers("/api/**").authenticated()
                 .anyRequest().permitAll()
             .and()
@@ -67,7 +71,7 @@ public class SecurityConfig {
             "https://veri-assessment.tinashe.website",
             "http://veri-assessment.tinashe.website"
         ));
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
         configuration.setAllowCredentials(true);
 
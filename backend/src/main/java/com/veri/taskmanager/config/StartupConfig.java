@@ -0,0 +1,41 @@
+package com.veri.taskmanager.config;
+
+import com.veri.taskmanager.journal.TaskJournal;
+import com.veri.taskmanager.service.TaskWriteBatcher;
+import com.veri.taskmanager.tags.TaskTagService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+
+@Configuration
+public class StartupConfig {
+
+    /**
+     * With {@code spring.main.lazy-initialization=true} (the {@code fast-startup} profile), keeps beans
+     * eager when they do work nobody asks for: scheduled jobs would never be registered, the
+     * journal and group-commit writer would start their threads on the first request instead, and
+     * the tag index would be rebuilt inside the first request.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter backgroundWorkExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (TaskJournal.class.isAssignableFrom(beanType)
+                        || TaskWriteBatcher.class.isAssignableFrom(beanType)
+                        || TaskTagService.class.isAssignableFrom(beanType)
+                        || hasScheduledMethods(beanType));
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        for (Method method : ReflectionUtils.getUniqueDeclaredMethods(beanType, ReflectionUtils.USER_DECLARED_METHODS)) {
+            if (AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,26 @@
+package com.veri.taskmanager.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exits as soon as the application is ready, for training runs that record the classes loaded
+ * during startup into a class-data-sharing archive ({@code startup.exit-on-ready=true}).
+ */
+@Component
+@ConditionalOnProperty(name = "startup.exit-on-ready", havingValue = "true")
+public class StartupExitListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupExitListener.class);
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        logger.info("Application ready, exiting because startup.exit-on-ready is set");
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
@@ -0,0 +1,76 @@
+package com.veri.taskmanager.controller;
+
+import com.veri.taskmanager.dto.StandardResponse;
+import com.veri.taskmanager.security.TokenRevocationService;
+import com.veri.taskmanager.util.ResponseUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin")
+@Tag(name = "Administration", description = "Endpoints restricted to users listed in security.admin-usernames")
+@SecurityRequirement(name = "bearerAuth")
+public class AdminController {
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Operation(
+            summary = "Revoke a token",
+            description = "Revokes a single token by its id (jti claim)."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Token revoked",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Caller is not an administrator",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @PostMapping("/tokens/{jti}/revoke")
+    public ResponseEntity<StandardResponse<Void>> revokeToken(@PathVariable String jti) {
+        tokenRevocationService.revokeToken(jti);
+        return ResponseUtil.success("Token revoked", null);
+    }
+
+    @Operation(
+            summary = "Revoke all tokens of a user",
+            description = "Revokes every token issued to the user so far, e.g. for a compromised account. " +
+                    "Tokens from later logins are accepted."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tokens revoked",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "User not found",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Caller is not an administrator",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @PostMapping("/users/{username}/revoke-tokens")
+    public ResponseEntity<StandardResponse<Void>> revokeUserTokens(@PathVariable String username) {
+        if (!tokenRevocationService.revokeAllForUser(username)) {
+            return ResponseUtil.notFound("User not found");
+        }
+        return ResponseUtil.success("All tokens revoked for user " + username, null);
+    }
+}
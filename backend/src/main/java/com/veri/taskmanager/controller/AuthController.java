@@ -13,6 +13,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -83,4 +84,34 @@ public class AuthController {
             return ResponseUtil.unauthorized(e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    @Operation(
+            summary = "Logout user",
+            description = "Revokes the bearer token sent with the request. Other tokens of the same user stay valid."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Token revoked",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Missing, invalid or expired token",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<StandardResponse<Void>> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return ResponseUtil.unauthorized("Bearer token required");
+        }
+        try {
+            authService.logout(authorization.substring(7));
+            return ResponseUtil.success("Logged out successfully", null);
+        } catch (RuntimeException e) {
+            return ResponseUtil.unauthorized(e.getMessage());
+        }
+    }
+}
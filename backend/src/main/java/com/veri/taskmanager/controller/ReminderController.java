@@ -0,0 +1,51 @@
+package com.veri.taskmanager.controller;
+
+import com.veri.taskmanager.reminder.SseReminderSink;
+import com.veri.taskmanager.security.CustomUserDetails;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/reminders")
+@Tag(name = "Reminders", description = "Task reminder delivery")
+@SecurityRequirement(name = "bearerAuth")
+@ConditionalOnProperty(name = "task.reminders.sink", havingValue = "sse")
+public class ReminderController {
+
+    @Autowired
+    private SseReminderSink sseReminderSink;
+
+    @Operation(
+            summary = "Stream reminders",
+            description = "Opens a server-sent event stream that receives a 'reminder' event for each of the " +
+                    "user's tasks when its reminder time is reached."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stream opened",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - JWT token required",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal CustomUserDetails userDetails) {
+        return sseReminderSink.subscribe(userDetails.getUser().getId());
+    }
+}
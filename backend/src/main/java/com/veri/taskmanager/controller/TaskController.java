@@ -1,9 +1,22 @@
 package com.veri.taskmanager.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.veri.taskmanager.config.WebConfig;
+import com.veri.taskmanager.dto.BulkStatusRequest;
+import com.veri.taskmanager.dto.BulkStatusResponse;
 import com.veri.taskmanager.dto.StandardResponse;
+import com.veri.taskmanager.dto.TaskFields;
+import com.veri.taskmanager.dto.TaskLookupResult;
 import com.veri.taskmanager.dto.TaskRequest;
 import com.veri.taskmanager.dto.TaskResponse;
+import com.veri.taskmanager.dto.TaskStatusRequest;
+import com.veri.taskmanager.idempotency.IdempotencyService;
+import com.veri.taskmanager.model.TaskStatus;
 import com.veri.taskmanager.service.TaskService;
+import com.veri.taskmanager.service.WriteQueueFullException;
+import com.veri.taskmanager.service.WriteTimeoutException;
+import com.veri.taskmanager.util.PayloadWriters;
 import com.veri.taskmanager.util.ResponseUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,10 +26,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -25,12 +43,23 @@ import java.util.List;
 @SecurityRequirement(name = "bearerAuth")
 public class TaskController {
 
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+    private static final TypeReference<StandardResponse<BulkStatusResponse>> BULK_STATUS_TYPE =
+            new TypeReference<StandardResponse<BulkStatusResponse>>() {};
+
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @Operation(
             summary = "Get all user tasks",
-            description = "Retrieves all tasks belonging to the authenticated user"
+            description = "Retrieves all tasks belonging to the authenticated user. ?fields=id,title,status " +
+                    "returns only the listed properties and reads only their columns; without it every property " +
+                    "but the description is returned. " +
+                    "Archived tasks are included with ?includeArchived=true. ?status=COMPLETED returns only " +
+                    "active tasks with that status; combining it with ?includeArchived=true is rejected"
     )
     @io.swagger.v3.oas.annotations.responses.ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -41,6 +70,16 @@ public class TaskController {
                             schema = @Schema(implementation = TaskResponse.class)
                     )
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Unknown field, status combined with includeArchived, or malformed Accept header",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "406",
+                    description = "Accept header allows none of JSON, CBOR and Smile",
+                    content = @Content(mediaType = "application/json")
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "401",
                     description = "Unauthorized - JWT token required",
@@ -48,14 +87,153 @@ public class TaskController {
             )
     })
     @GetMapping
-    public ResponseEntity<StandardResponse<List<TaskResponse>>> getAllTasks() {
-        List<TaskResponse> tasks = taskService.getAllTasks();
+    public ResponseEntity<?> getAllTasks(
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (status != null && includeArchived) {
+            return ResponseUtil.badRequest("status cannot be combined with includeArchived");
+        }
+        TaskFields taskFields;
+        try {
+            taskFields = TaskFields.parse(fields, TaskFields.SUMMARY);
+        } catch (IllegalArgumentException e) {
+            return ResponseUtil.badRequest(e.getMessage());
+        }
+        MediaType mediaType;
+        try {
+            mediaType = PayloadWriters.negotiate(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            // Pin the error to JSON; Spring would otherwise fail parsing the same header to pick a converter.
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(StandardResponse.error("Invalid Accept header: " + e.getMessage()));
+        }
+        if (mediaType == null) {
+            return ResponseUtil.notAcceptable("Supported media types are application/json, application/cbor and "
+                    + WebConfig.APPLICATION_SMILE);
+        }
+        byte[] body = taskService.getTaskListPayload(status, taskFields, includeArchived, mediaType);
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(body);
+    }
+
+    @Operation(
+            summary = "Get tasks by ID",
+            description = "Looks up several tasks at once, e.g. ?ids=12,7,31, and answers in the order requested. " +
+                    "Each entry carries the id, found=false for tasks that do not exist or belong to someone " +
+                    "else, and the task otherwise. ?fields= selects properties as for a single task"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tasks retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskLookupResult.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "No ids, too many ids or unknown field",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - JWT token required",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<StandardResponse<List<TaskLookupResult>>> getTasksByIds(
+            @RequestParam List<Long> ids,
+            @RequestParam(required = false) String fields) {
+        try {
+            List<TaskLookupResult> tasks = taskService.getTasksByIds(ids, TaskFields.parse(fields, TaskFields.ALL));
+            return ResponseUtil.success("Tasks retrieved successfully", tasks);
+        } catch (IllegalArgumentException e) {
+            return ResponseUtil.badRequest(e.getMessage());
+        }
+    }
+
+    @Operation(
+            summary = "Get recently updated tasks",
+            description = "Pages through the authenticated user's tasks by last update, newest first. " +
+                    "Pass the updatedAt of the last task received as ?before= to get the next page."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tasks retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - JWT token required",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @GetMapping("/recent")
+    public ResponseEntity<StandardResponse<List<TaskResponse>>> getRecentlyUpdatedTasks(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<TaskResponse> tasks = taskService.getRecentlyUpdatedTasks(before, Math.max(1, Math.min(limit, 100)));
         return ResponseUtil.success("Tasks retrieved successfully", tasks);
     }
 
+    @Operation(
+            summary = "Get tasks by tags",
+            description = "Returns the authenticated user's tasks whose tags match a filter such as " +
+                    "?filter=work AND urgent NOT blocked. AND binds tighter than OR, NOT means 'and not', and " +
+                    "parentheses group. ?fields= selects properties as for the task list. Only active tasks are " +
+                    "searched, since archived tasks lose their tags; ?includeArchived=true is rejected"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tasks retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Malformed tag filter, unknown field or includeArchived=true",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - JWT token required",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @GetMapping("/tagged")
+    public ResponseEntity<StandardResponse<List<TaskResponse>>> getTasksByTags(
+            @RequestParam String filter,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        if (includeArchived) {
+            return ResponseUtil.badRequest("Archived tasks have no tags and cannot be searched by tag");
+        }
+        try {
+            List<TaskResponse> tasks = taskService.getTasksByTags(filter, TaskFields.parse(fields, TaskFields.SUMMARY));
+            return ResponseUtil.success("Tasks retrieved successfully", tasks);
+        } catch (IllegalArgumentException e) {
+            return ResponseUtil.badRequest(e.getMessage());
+        }
+    }
+
     @Operation(
             summary = "Get task by ID",
-            description = "Retrieves a specific task by ID. Only returns tasks owned by the authenticated user."
+            description = "Retrieves a specific task by ID. Only returns tasks owned by the authenticated user. " +
+                    "?fields=id,title,status returns only the listed properties"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -66,6 +244,11 @@ public class TaskController {
                             schema = @Schema(implementation = TaskResponse.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Unknown field",
+                    content = @Content(mediaType = "application/json")
+            ),
             @ApiResponse(
                     responseCode = "404",
                     description = "Task not found or not owned by user",
@@ -78,9 +261,17 @@ public class TaskController {
             )
     })
     @GetMapping("/{id}")
-    public ResponseEntity<StandardResponse<TaskResponse>> getTaskById(@PathVariable Long id) {
+    public ResponseEntity<StandardResponse<TaskResponse>> getTaskById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields) {
+        TaskFields taskFields;
         try {
-            TaskResponse task = taskService.getTaskById(id);
+            taskFields = TaskFields.parse(fields, TaskFields.ALL);
+        } catch (IllegalArgumentException e) {
+            return ResponseUtil.badRequest(e.getMessage());
+        }
+        try {
+            TaskResponse task = taskService.getTaskById(id, taskFields);
             return ResponseUtil.success("Task retrieved successfully", task);
         } catch (RuntimeException e) {
             return ResponseUtil.notFound("Task not found");
@@ -109,12 +300,28 @@ public class TaskController {
                     responseCode = "401",
                     description = "Unauthorized - JWT token required",
                     content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Write queue full, or the queued write timed out and may still have been created - " +
+                            "retry after the Retry-After delay",
+                    content = @Content(mediaType = "application/json")
             )
     })
     @PostMapping
-    public ResponseEntity<StandardResponse<TaskResponse>> createTask(@Valid @RequestBody TaskRequest request) {
-        TaskResponse task = taskService.createTask(request);
-        return ResponseUtil.created("Task created successfully", task, task.getId());
+    public ResponseEntity<StandardResponse<TaskResponse>> createTask(
+            @Valid @RequestBody TaskRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        try {
+            return idempotencyService.execute(idempotencyKey, request, PayloadWriters.TASK_TYPE, () -> {
+                TaskResponse task = taskService.createTask(request);
+                return ResponseUtil.created("Task created successfully", task, task.getId());
+            });
+        } catch (IllegalArgumentException e) {
+            return ResponseUtil.badRequest(e.getMessage());
+        } catch (WriteQueueFullException | WriteTimeoutException e) {
+            return ResponseUtil.serviceUnavailable(e.getMessage(), 1);
+        }
     }
 
     @Operation(
@@ -151,6 +358,120 @@ public class TaskController {
         try {
             TaskResponse task = taskService.updateTask(id, request);
             return ResponseUtil.success("Task updated successfully", task);
+        } catch (IllegalArgumentException e) {
+            return ResponseUtil.badRequest(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseUtil.notFound("Task not found");
+        }
+    }
+
+    @Operation(
+            summary = "Update task status",
+            description = "Sets the status of a single task with one owner-scoped UPDATE. " +
+                    "Returns only the id, status and updatedAt of the task."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Task status updated successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Task not found or not owned by user",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - JWT token required",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @PatchMapping("/{id}/status")
+    public ResponseEntity<StandardResponse<TaskResponse>> updateTaskStatus(@PathVariable Long id,
+                                                                           @Valid @RequestBody TaskStatusRequest request) {
+        try {
+            TaskResponse task = taskService.updateTaskStatus(id, request.getStatus());
+            return ResponseUtil.success("Task status updated successfully", task);
+        } catch (RuntimeException e) {
+            return ResponseUtil.notFound("Task not found");
+        }
+    }
+
+    @Operation(
+            summary = "Update status of many tasks",
+            description = "Sets the status of every listed task owned by the authenticated user in a single UPDATE. " +
+                    "Ids that do not exist or belong to another user are skipped."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Task statuses updated",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BulkStatusResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation error - ids and status are required",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - JWT token required",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @PatchMapping("/status")
+    public ResponseEntity<StandardResponse<BulkStatusResponse>> updateTaskStatuses(
+            @Valid @RequestBody BulkStatusRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, request, BULK_STATUS_TYPE, () -> {
+            BulkStatusResponse result = taskService.updateTaskStatuses(request.getIds(), request.getStatus());
+            return ResponseUtil.success("Task statuses updated successfully", result);
+        });
+    }
+
+    @Operation(
+            summary = "Partially update a task",
+            description = "Applies a JSON Merge Patch (RFC 7396) to a task. Only the columns that change are written."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Task updated successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid patch document",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Task not found or not owned by user",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - JWT token required",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StandardResponse<TaskResponse>> patchTask(@PathVariable Long id, @RequestBody JsonNode patch) {
+        try {
+            TaskResponse task = taskService.patchTask(id, patch);
+            return ResponseUtil.success("Task updated successfully", task);
+        } catch (IllegalArgumentException e) {
+            return ResponseUtil.badRequest(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseUtil.notFound("Task not found");
         }
@@ -0,0 +1,281 @@
+package com.veri.taskmanager.datagen;
+
+import com.veri.taskmanager.security.UsernameRegistry;
+import com.veri.taskmanager.sharding.ShardDataSources;
+import com.veri.taskmanager.store.JpaTaskStore;
+import com.veri.taskmanager.store.TaskStore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads a synthetic dataset shaped by {@link DatasetShape} before the application accepts traffic,
+ * so performance work can run against production-sized tables instead of an empty database. Enabled
+ * by the {@code datagen} profile.
+ * <p>
+ * Users are handed out to worker threads in chunks; each worker inserts its users and their tasks
+ * through JDBC batches on its own connection and commits once per chunk. Ids are assigned up front
+ * from the per-user task counts, so the rows are the same for a given seed whatever the thread count.
+ * Afterwards the user identity and {@code task_seq} are moved past the loaded ids.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "datagen.enabled", havingValue = "true")
+public class DatasetGenerator implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private static final String INSERT_USER =
+            "insert into users (id, username, password, created_at) values (?, ?, ?, ?)";
+    private static final String INSERT_TASK =
+            "insert into tasks (id, title, description, status, user_id, created_at, updated_at, due_at) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int TASK_SEQ_ALLOCATION = 50;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private ObjectProvider<ShardDataSources> shardDataSources;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UsernameRegistry usernameRegistry;
+
+    @Value("${datagen.seed:42}")
+    private long seed;
+
+    @Value("${datagen.users:100000}")
+    private int users;
+
+    @Value("${datagen.tasks-per-user:20}")
+    private double tasksPerUser;
+
+    @Value("${datagen.max-tasks-per-user:5000}")
+    private int maxTasksPerUser;
+
+    @Value("${datagen.history-days:365}")
+    private int historyDays;
+
+    @Value("${datagen.completed-share:0.6}")
+    private double completedShare;
+
+    @Value("${datagen.anchor:}")
+    private String anchor;
+
+    @Value("${datagen.password:password}")
+    private String password;
+
+    @Value("${datagen.threads:0}")
+    private int threads;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize;
+
+    @Value("${datagen.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${datagen.users-per-chunk:1000}")
+    private int usersPerChunk;
+
+    private volatile Report report;
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        generate();
+    }
+
+    public Report generate() throws SQLException {
+        if (shardDataSources.getIfAvailable() != null) {
+            throw new IllegalStateException("The dataset generator loads one database and does not support sharding");
+        }
+        if (!JpaTaskStore.class.isAssignableFrom(AopUtils.getTargetClass(taskStore))) {
+            throw new IllegalStateException("The dataset generator needs the JPA task store");
+        }
+        LocalDateTime anchorTime = anchor.isBlank() ? LocalDate.now().atStartOfDay() : LocalDateTime.parse(anchor);
+        DatasetShape shape = new DatasetShape(seed, users, tasksPerUser, maxTasksPerUser, historyDays,
+                completedShare, anchorTime);
+
+        long userBase;
+        long taskBase;
+        try (Connection connection = dataSource.getConnection()) {
+            if (isLoaded(connection, shape)) {
+                logger.info("Dataset for seed {} is already loaded", seed);
+                return null;
+            }
+            userBase = queryLong(connection, "select coalesce(max(id), 0) from users");
+            taskBase = Math.max(queryLong(connection, "select coalesce(max(id), 0) from tasks"),
+                    queryLong(connection, "select next value for task_seq"));
+        }
+
+        long started = System.nanoTime();
+        long[] firstTask = new long[users + 1];
+        for (int user = 0; user < users; user++) {
+            firstTask[user + 1] = firstTask[user] + shape.tasksFor(shape.random(user));
+        }
+        long tasks = firstTask[users];
+        String passwordHash = passwordEncoder.encode(password);
+        // Each worker holds a connection for the whole load; leave one for the rest of the application.
+        int workers = Math.max(1, Math.min(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                poolSize - 1));
+
+        logger.info("Generating {} users and {} tasks with seed {} on {} threads", users, tasks, seed, workers);
+
+        AtomicInteger nextChunk = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> loaders = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                loaders.add(pool.submit(() -> {
+                    load(shape, userBase, taskBase, firstTask, passwordHash, nextChunk);
+                    return null;
+                }));
+            }
+            for (Future<?> loader : loaders) {
+                loader.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Dataset generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Dataset generation failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("alter table users alter column id restart with " + (userBase + users + 1));
+            statement.execute("alter sequence task_seq restart with " + (taskBase + tasks + TASK_SEQ_ALLOCATION));
+        }
+        usernameRegistry.refresh();
+
+        long elapsed = System.nanoTime() - started;
+        report = new Report(users, tasks, workers, elapsed);
+        logger.info("Loaded {} users and {} tasks in {}s: {} rows/s ({} tasks/s)", users, tasks,
+                String.format("%.2f", elapsed / 1_000_000_000.0), Math.round(report.getRowsPerSecond()),
+                Math.round(tasks / Math.max(elapsed / 1_000_000_000.0, 0.001)));
+        return report;
+    }
+
+    public Report getReport() {
+        return report;
+    }
+
+    private void load(DatasetShape shape, long userBase, long taskBase, long[] firstTask, String passwordHash,
+                      AtomicInteger nextChunk) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insertUser = connection.prepareStatement(INSERT_USER);
+             PreparedStatement insertTask = connection.prepareStatement(INSERT_TASK)) {
+            connection.setAutoCommit(false);
+            DatasetShape.GeneratedTask task = new DatasetShape.GeneratedTask();
+            int pending = 0;
+            long start;
+            while ((start = (long) nextChunk.getAndIncrement() * usersPerChunk) < shape.getUsers()) {
+                int end = (int) Math.min(start + usersPerChunk, shape.getUsers());
+                for (int user = (int) start; user < end; user++) {
+                    Random random = shape.random(user);
+                    int count = shape.tasksFor(random);
+                    LocalDateTime signedUpAt = shape.signedUpAt(random);
+                    long userId = userBase + user + 1;
+
+                    insertUser.setLong(1, userId);
+                    insertUser.setString(2, shape.username(user));
+                    insertUser.setString(3, passwordHash);
+                    insertUser.setTimestamp(4, Timestamp.valueOf(signedUpAt));
+                    insertUser.addBatch();
+
+                    for (int i = 0; i < count; i++) {
+                        shape.nextTask(random, i, signedUpAt, task);
+                        insertTask.setLong(1, taskBase + firstTask[user] + i + 1);
+                        insertTask.setString(2, task.getTitle());
+                        insertTask.setString(3, task.getDescription());
+                        insertTask.setString(4, task.getStatus().name());
+                        insertTask.setLong(5, userId);
+                        insertTask.setTimestamp(6, Timestamp.valueOf(task.getCreatedAt()));
+                        insertTask.setTimestamp(7, Timestamp.valueOf(task.getUpdatedAt()));
+                        if (task.getDueAt() != null) {
+                            insertTask.setTimestamp(8, Timestamp.valueOf(task.getDueAt()));
+                        } else {
+                            insertTask.setNull(8, Types.TIMESTAMP);
+                        }
+                        insertTask.addBatch();
+                        if (++pending == batchSize) {
+                            insertUser.executeBatch();
+                            insertTask.executeBatch();
+                            pending = 0;
+                        }
+                    }
+                }
+                insertUser.executeBatch();
+                insertTask.executeBatch();
+                connection.commit();
+                pending = 0;
+            }
+        }
+    }
+
+    private static boolean isLoaded(Connection connection, DatasetShape shape) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("select 1 from users where username = ?")) {
+            statement.setString(1, shape.username(0));
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next();
+            }
+        }
+    }
+
+    private static long queryLong(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Report {
+        private int users;
+        private long tasks;
+        private int threads;
+        private long elapsedNanos;
+
+        public double getRowsPerSecond() {
+            return (users + tasks) / Math.max(elapsedNanos / 1_000_000_000.0, 0.001);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.veri.taskmanager.datagen;
+
+import com.veri.taskmanager.model.TaskStatus;
+import lombok.Data;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Deterministic description of a synthetic dataset. Every user has its own random stream derived from
+ * the seed and the user's index, so a user's row and tasks are the same however the work is split
+ * across threads.
+ * <ul>
+ * <li>tasks per user follow a Lomax (shifted Pareto) distribution with shape 1.5 and the configured
+ * mean, capped at {@code maxTasksPerUser}: most users have a handful of tasks and a few own a large
+ * share of them</li>
+ * <li>each task is completed with probability {@code completedShare}</li>
+ * <li>descriptions are missing for a fifth of the tasks, otherwise log-normal in length</li>
+ * <li>tasks are created between the user's sign-up and the anchor, weighted towards recent dates</li>
+ * </ul>
+ */
+public class DatasetShape {
+
+    private static final double ALPHA = 1.5;
+    private static final double NO_DESCRIPTION = 0.2;
+    private static final double DUE_DATE = 0.4;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private static final String[] VERBS = {
+            "Review", "Write", "Fix", "Plan", "Call", "Update", "Prepare", "Send", "Book", "Clean",
+            "Check", "Order", "Draft", "Test", "Pay", "Schedule"};
+    private static final String[] NOUNS = {
+            "report", "invoice", "release notes", "dentist", "budget", "slides", "contract", "backlog",
+            "garage", "tickets", "newsletter", "roadmap", "groceries", "onboarding", "taxes", "deploy"};
+    private static final String[] WORDS = {
+            "the", "and", "before", "after", "client", "team", "meeting", "notes", "follow", "up", "with",
+            "draft", "final", "review", "check", "numbers", "deadline", "friday", "monday", "call", "send",
+            "update", "link", "details", "list", "items", "remember", "to", "ask", "about", "plan", "next"};
+
+    private final long seed;
+    private final int users;
+    private final double meanTasksPerUser;
+    private final int maxTasksPerUser;
+    private final long historySeconds;
+    private final double completedShare;
+    private final LocalDateTime anchor;
+
+    public DatasetShape(long seed, int users, double meanTasksPerUser, int maxTasksPerUser, int historyDays,
+                        double completedShare, LocalDateTime anchor) {
+        this.seed = seed;
+        this.users = users;
+        this.meanTasksPerUser = meanTasksPerUser;
+        this.maxTasksPerUser = maxTasksPerUser;
+        this.historySeconds = historyDays * 86_400L;
+        this.completedShare = completedShare;
+        this.anchor = anchor;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    /**
+     * Random stream for one user. Draw {@link #tasksFor}, {@link #signedUpAt} and then the tasks from it,
+     * in that order.
+     */
+    public Random random(int user) {
+        return new Random(mix(seed * GOLDEN + user));
+    }
+
+    public int tasksFor(Random random) {
+        double scale = meanTasksPerUser * (ALPHA - 1);
+        double tasks = scale * (Math.pow(1 - random.nextDouble(), -1 / ALPHA) - 1);
+        return (int) Math.min(maxTasksPerUser, Math.floor(tasks));
+    }
+
+    public String username(int user) {
+        return "load-" + seed + "-" + user;
+    }
+
+    public LocalDateTime signedUpAt(Random random) {
+        return anchor.minusSeconds((long) (random.nextDouble() * historySeconds));
+    }
+
+    /**
+     * Fills {@code task} with the user's next task; {@code signedUpAt} bounds its creation time.
+     */
+    public void nextTask(Random random, int index, LocalDateTime signedUpAt, GeneratedTask task) {
+        task.setTitle(VERBS[random.nextInt(VERBS.length)] + " " + NOUNS[random.nextInt(NOUNS.length)]
+                + " #" + (index + 1));
+        task.setDescription(random.nextDouble() < NO_DESCRIPTION ? null : description(random));
+        task.setStatus(random.nextDouble() < completedShare ? TaskStatus.COMPLETED : TaskStatus.PENDING);
+
+        long age = Duration.between(signedUpAt, anchor).getSeconds();
+        double recency = random.nextDouble();
+        LocalDateTime createdAt = anchor.minusSeconds((long) (age * recency * recency));
+        long open = Duration.between(createdAt, anchor).getSeconds();
+        double touched = random.nextDouble();
+        task.setCreatedAt(createdAt);
+        task.setUpdatedAt(createdAt.plusSeconds((long) (open * touched * touched * touched)));
+        task.setDueAt(random.nextDouble() < DUE_DATE ? createdAt.plusHours(1 + random.nextInt(30 * 24)) : null);
+    }
+
+    // SplitMix64 finalizer: java.util.Random's first draws are correlated for consecutive seeds.
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private String description(Random random) {
+        int words = (int) Math.min(400, Math.max(1, Math.exp(3 + random.nextGaussian())));
+        StringBuilder text = new StringBuilder(words * 7);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Reusable holder for one generated task row.
+     */
+    @Data
+    public static class GeneratedTask {
+        private String title;
+        private String description;
+        private TaskStatus status;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+        private LocalDateTime dueAt;
+    }
+}
@@ -0,0 +1,20 @@
+package com.veri.taskmanager.dto;
+
+import com.veri.taskmanager.model.TaskStatus;
+import lombok.Data;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+public class BulkStatusRequest {
+
+    @NotEmpty(message = "At least one task id is required")
+    @Size(max = 1000, message = "At most 1000 task ids per request")
+    private List<Long> ids;
+
+    @NotNull(message = "Status is required")
+    private TaskStatus status;
+}
@@ -0,0 +1,13 @@
+package com.veri.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusResponse {
+    private int requested;
+    private int updated;
+}
@@ -0,0 +1,141 @@
+package com.veri.taskmanager.dto;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Sparse fieldset of a task response, parsed from a parameter such as {@code ?fields=id,title,status}.
+ * The id is always included. Stores push the fieldset down into their queries, so columns nobody
+ * asked for, the description in particular, are never read.
+ */
+public final class TaskFields {
+
+    public enum Field {
+        ID("id"),
+        TITLE("title"),
+        DESCRIPTION("description"),
+        STATUS("status"),
+        CREATED_AT("createdAt"),
+        UPDATED_AT("updatedAt"),
+        DUE_AT("dueAt"),
+        REMIND_AT("remindAt"),
+        TAGS("tags");
+
+        private final String property;
+
+        Field(String property) {
+            this.property = property;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+    }
+
+    public static final TaskFields ALL = new TaskFields(EnumSet.allOf(Field.class));
+
+    /**
+     * Everything but the description, which list responses leave out unless it is requested.
+     */
+    public static final TaskFields SUMMARY = new TaskFields(EnumSet.complementOf(EnumSet.of(Field.DESCRIPTION)));
+
+    private final Set<Field> fields;
+    private final String key;
+
+    private TaskFields(EnumSet<Field> fields) {
+        fields.add(Field.ID);
+        this.fields = Collections.unmodifiableSet(fields);
+        long bits = 0;
+        for (Field field : fields) {
+            bits |= 1L << field.ordinal();
+        }
+        this.key = Long.toHexString(bits);
+    }
+
+    /**
+     * Parses a comma-separated list of property names; a missing or blank parameter means {@code fallback}.
+     */
+    public static TaskFields parse(String fields, TaskFields fallback) {
+        if (fields == null || fields.isBlank()) {
+            return fallback;
+        }
+        EnumSet<Field> selected = EnumSet.noneOf(Field.class);
+        for (String name : fields.split(",")) {
+            selected.add(field(name.trim()));
+        }
+        return new TaskFields(selected);
+    }
+
+    public boolean includes(Field field) {
+        return fields.contains(field);
+    }
+
+    public Set<Field> getFields() {
+        return fields;
+    }
+
+    /**
+     * Short stable form of the fieldset, for cache and coalescing keys.
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * An empty response to fill in: a full {@link TaskResponse} for {@link #ALL}, otherwise a
+     * {@link TaskProjection} that leaves unset properties out when serialized.
+     */
+    public TaskResponse newResponse() {
+        return isAll() ? new TaskResponse() : new TaskProjection();
+    }
+
+    /**
+     * {@code task} itself for {@link #ALL}, otherwise a {@link TaskProjection} with only the selected fields.
+     */
+    public TaskResponse project(TaskResponse task) {
+        if (isAll()) {
+            return task;
+        }
+        TaskResponse projected = new TaskProjection();
+        projected.setId(task.getId());
+        if (includes(Field.TITLE)) {
+            projected.setTitle(task.getTitle());
+        }
+        if (includes(Field.DESCRIPTION)) {
+            projected.setDescription(task.getDescription());
+        }
+        if (includes(Field.STATUS)) {
+            projected.setStatus(task.getStatus());
+        }
+        if (includes(Field.CREATED_AT)) {
+            projected.setCreatedAt(task.getCreatedAt());
+        }
+        if (includes(Field.UPDATED_AT)) {
+            projected.setUpdatedAt(task.getUpdatedAt());
+        }
+        if (includes(Field.DUE_AT)) {
+            projected.setDueAt(task.getDueAt());
+        }
+        if (includes(Field.REMIND_AT)) {
+            projected.setRemindAt(task.getRemindAt());
+        }
+        if (includes(Field.TAGS)) {
+            projected.setTags(task.getTags());
+        }
+        return projected;
+    }
+
+    private boolean isAll() {
+        return fields.size() == Field.values().length;
+    }
+
+    private static Field field(String name) {
+        for (Field field : Field.values()) {
+            if (field.property.equalsIgnoreCase(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field: " + name);
+    }
+}
@@ -0,0 +1,19 @@
+package com.veri.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of a batch get: the requested id, whether the user owns such a task, and the task if so.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskLookupResult {
+    private Long id;
+    private boolean found;
+    private TaskResponse task;
+}
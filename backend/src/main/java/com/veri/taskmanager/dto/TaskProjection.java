@@ -0,0 +1,11 @@
+package com.veri.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A task response limited to a {@link TaskFields} selection. Unlike a full {@link TaskResponse}, it
+ * leaves out null properties when serialized, so properties nobody asked for do not appear at all.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskProjection extends TaskResponse {
+}
@@ -0,0 +1,18 @@
+package com.veri.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskReminder {
+    private Long taskId;
+    private Long userId;
+    private String title;
+    private LocalDateTime dueAt;
+    private LocalDateTime remindAt;
+}
@@ -4,14 +4,28 @@ import com.veri.taskmanager.model.TaskStatus;
 import lombok.Data;
 
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.Set;
 
 @Data
 public class TaskRequest {
 
+    public static final int MAX_TITLE_LENGTH = 255;
+    public static final int MAX_DESCRIPTION_LENGTH = 10_000;
+
     @NotBlank(message = "Title is required")
+    @Size(max = MAX_TITLE_LENGTH, message = "Title must be at most 255 characters")
     private String title;
 
+    @Size(max = MAX_DESCRIPTION_LENGTH, message = "Description must be at most 10000 characters")
     private String description;
 
     private TaskStatus status;
+
+    private LocalDateTime dueAt;
+
+    private LocalDateTime remindAt;
+
+    private Set<String> tags;
 }
\ No newline at end of file
@@ -3,10 +3,13 @@ package com.veri.taskmanager.dto;
 import com.veri.taskmanager.model.TaskStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
 public class TaskResponse {
     private Long id;
@@ -15,4 +18,26 @@ public class TaskResponse {
     private TaskStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private LocalDateTime dueAt;
+    private LocalDateTime remindAt;
+    private Set<String> tags;
+
+    public TaskResponse(Long id, String title, String description, TaskStatus status,
+                        LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime dueAt, LocalDateTime remindAt) {
+        this(id, title, description, status, createdAt, updatedAt, dueAt, remindAt, null);
+    }
+
+    public TaskResponse(Long id, String title, String description, TaskStatus status,
+                        LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, title, description, status, createdAt, updatedAt, null, null);
+    }
+
+    public TaskResponse(Long id, String title, TaskStatus status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, title, null, status, createdAt, updatedAt, null, null);
+    }
+
+    public TaskResponse(Long id, String title, TaskStatus status, LocalDateTime createdAt, LocalDateTime updatedAt,
+                        LocalDateTime dueAt, LocalDateTime remindAt) {
+        this(id, title, null, status, createdAt, updatedAt, dueAt, remindAt);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.veri.taskmanager.dto;
+
+import com.veri.taskmanager.model.TaskStatus;
+import lombok.Data;
+
+import javax.validation.constraints.NotNull;
+
+@Data
+public class TaskStatusRequest {
+
+    @NotNull(message = "Status is required")
+    private TaskStatus status;
+}
@@ -0,0 +1,190 @@
+package com.veri.taskmanager.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veri.taskmanager.model.IdempotencyRecord;
+import com.veri.taskmanager.repository.IdempotencyRecordRepository;
+import com.veri.taskmanager.sharding.ShardContext;
+import com.veri.taskmanager.sharding.ShardDataSources;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-node store: the idempotency_keys table decides which node owns a key, while a local
+ * {@link InMemoryIdempotencyStore} lets concurrent requests on the same node share one future
+ * instead of polling the table.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "jdbc")
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseIdempotencyStore.class);
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ObjectProvider<ShardDataSources> shardDataSources;
+
+    @Value("${idempotency.poll-interval-ms:50}")
+    private long pollIntervalMs;
+
+    // Nobody waits longer than this for an earlier response, so a poller never needs to outlive it.
+    @Value("${idempotency.wait-timeout-ms:10000}")
+    private long pollTimeoutMs;
+
+    private final InMemoryIdempotencyStore local;
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "idempotency-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<IdempotencyEntry, ScheduledFuture<?>> pollers = new ConcurrentHashMap<>();
+
+    public DatabaseIdempotencyStore(@Value("${idempotency.max-entries:100000}") int maxEntries) {
+        this.local = new InMemoryIdempotencyStore(maxEntries);
+    }
+
+    @Override
+    public IdempotencyEntry claim(String key, IdempotencyEntry candidate) {
+        IdempotencyEntry existing = local.claim(key, candidate);
+        if (existing != null) {
+            return existing;
+        }
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                repository.insertPending(key, candidate.getFingerprint(), candidate.getExpiresAt());
+                return null;
+            } catch (DataIntegrityViolationException e) {
+                Optional<IdempotencyRecord> row = repository.findById(key);
+                if (row.isEmpty()) {
+                    continue;
+                }
+                if (row.get().getExpiresAt() <= System.currentTimeMillis()) {
+                    repository.deleteById(key);
+                    continue;
+                }
+                local.release(key, candidate);
+                return remoteEntry(row.get());
+            }
+        }
+        local.release(key, candidate);
+        throw new IllegalStateException("Could not claim idempotency key");
+    }
+
+    @Override
+    public void complete(String key, IdempotencyEntry entry, StoredResponse response) {
+        try {
+            IdempotencyRecord row = repository.findById(key)
+                    .orElseGet(() -> new IdempotencyRecord(key, entry.getFingerprint(), entry.getExpiresAt()));
+            row.setStatusCode(response.getStatus());
+            row.setLocation(response.getLocation());
+            row.setBody(objectMapper.writeValueAsString(response.getBody()));
+            repository.save(row);
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not persist idempotent response for key {}", key, e);
+        }
+        local.complete(key, entry, response);
+    }
+
+    @Override
+    public void release(String key, IdempotencyEntry entry) {
+        repository.deletePending(key);
+        local.release(key, entry);
+    }
+
+    @Override
+    public void abandon(String key, IdempotencyEntry entry) {
+        ScheduledFuture<?> polling = pollers.remove(entry);
+        if (polling != null) {
+            polling.cancel(false);
+            entry.getResponse().cancel(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        int purged = 0;
+        for (String shard : shards()) {
+            purged += ShardContext.call(shard, () -> repository.deleteExpired(now));
+        }
+        if (purged > 0) {
+            logger.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+    }
+
+    private IdempotencyEntry remoteEntry(IdempotencyRecord row) {
+        CompletableFuture<StoredResponse> future = new CompletableFuture<>();
+        IdempotencyEntry entry = new IdempotencyEntry(row.getFingerprint(), row.getExpiresAt(), future);
+        if (!completeFrom(row, future)) {
+            String shard = ShardContext.current();
+            long deadline = System.currentTimeMillis() + pollTimeoutMs;
+            pollers.put(entry, poller.scheduleWithFixedDelay(() -> {
+                if (!future.isDone() && System.currentTimeMillis() >= deadline) {
+                    future.cancel(false);
+                }
+                if (future.isDone()) {
+                    ScheduledFuture<?> polling = pollers.remove(entry);
+                    if (polling != null) {
+                        polling.cancel(false);
+                    }
+                    return;
+                }
+                Optional<IdempotencyRecord> current = ShardContext.call(shard, () -> repository.findById(row.getKey()));
+                if (current.isEmpty()) {
+                    future.cancel(false);
+                } else {
+                    completeFrom(current.get(), future);
+                }
+            }, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS));
+        }
+        return entry;
+    }
+
+    private boolean completeFrom(IdempotencyRecord row, CompletableFuture<StoredResponse> future) {
+        if (row.getStatusCode() == null) {
+            return false;
+        }
+        try {
+            Object body = row.getBody() == null ? null : objectMapper.readTree(row.getBody());
+            future.complete(new StoredResponse(row.getStatusCode(), row.getLocation(), body));
+        } catch (JsonProcessingException e) {
+            future.completeExceptionally(e);
+        }
+        return true;
+    }
+
+    private List<String> shards() {
+        ShardDataSources sharded = shardDataSources.getIfAvailable();
+        return sharded != null ? sharded.getShardNames() : Collections.singletonList(null);
+    }
+}
@@ -0,0 +1,23 @@
+package com.veri.taskmanager.idempotency;
+
+import lombok.Getter;
+
+import java.util.concurrent.CompletableFuture;
+
+@Getter
+public class IdempotencyEntry {
+
+    private final String fingerprint;
+    private final long expiresAt;
+    private final CompletableFuture<StoredResponse> response;
+
+    public IdempotencyEntry(String fingerprint, long expiresAt, CompletableFuture<StoredResponse> response) {
+        this.fingerprint = fingerprint;
+        this.expiresAt = expiresAt;
+        this.response = response;
+    }
+
+    public boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+}
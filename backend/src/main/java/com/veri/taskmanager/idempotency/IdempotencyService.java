@@ -0,0 +1,149 @@
+package com.veri.taskmanager.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.veri.taskmanager.dto.StandardResponse;
+import com.veri.taskmanager.service.WriteTimeoutException;
+import com.veri.taskmanager.util.ResponseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired
+    private IdempotencyStore store;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${idempotency.ttl-ms:86400000}")
+    private long ttlMillis;
+
+    @Value("${idempotency.wait-timeout-ms:10000}")
+    private long waitTimeoutMillis;
+
+    public <T> ResponseEntity<StandardResponse<T>> execute(String key, Object request,
+                                                           TypeReference<StandardResponse<T>> bodyType,
+                                                           Supplier<ResponseEntity<StandardResponse<T>>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return ResponseUtil.badRequest("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String scopedKey = SecurityContextHolder.getContext().getAuthentication().getName() + ":" + key;
+        String fingerprint = fingerprint(request);
+
+        while (true) {
+            IdempotencyEntry candidate = new IdempotencyEntry(fingerprint,
+                    System.currentTimeMillis() + ttlMillis, new CompletableFuture<>());
+            IdempotencyEntry existing = store.claim(scopedKey, candidate);
+
+            if (existing == null) {
+                return runAndStore(scopedKey, candidate, action);
+            }
+            if (!existing.getFingerprint().equals(fingerprint)) {
+                return ResponseUtil.unprocessableEntity("Idempotency-Key was already used for a different request");
+            }
+
+            try {
+                StoredResponse stored = existing.getResponse().get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+                return replay(stored, bodyType);
+            } catch (CancellationException | ExecutionException e) {
+                logger.debug("Earlier request for idempotency key {} did not complete, retrying", key);
+            } catch (TimeoutException e) {
+                store.abandon(scopedKey, existing);
+                return ResponseUtil.conflict("A request with this Idempotency-Key is still in progress");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                store.abandon(scopedKey, existing);
+                return ResponseUtil.conflict("A request with this Idempotency-Key is still in progress");
+            }
+        }
+    }
+
+    /**
+     * SHA-256 of the request body serialized with sorted keys, so equal bodies match whatever their field order.
+     */
+    private String fingerprint(Object request) {
+        try {
+            Object canonical = objectMapper.convertValue(request, Object.class);
+            byte[] body = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                    .writeValueAsBytes(canonical);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint request", e);
+        }
+    }
+
+    private <T> ResponseEntity<StandardResponse<T>> runAndStore(String scopedKey, IdempotencyEntry candidate,
+                                                                Supplier<ResponseEntity<StandardResponse<T>>> action) {
+        ResponseEntity<StandardResponse<T>> response;
+        try {
+            response = action.get();
+        } catch (WriteTimeoutException e) {
+            // The write may still commit, so a retry must not run it again: the key stays pending until it
+            // expires and retries with it wait and then get 409.
+            logger.warn("Outcome of the request for idempotency key {} is unknown, keeping the key pending", scopedKey);
+            throw e;
+        } catch (RuntimeException e) {
+            store.release(scopedKey, candidate);
+            throw e;
+        }
+
+        if (response.getStatusCode().is2xxSuccessful()) {
+            URI location = response.getHeaders().getLocation();
+            store.complete(scopedKey, candidate, new StoredResponse(response.getStatusCodeValue(),
+                    location != null ? location.toString() : null, response.getBody()));
+        } else {
+            store.release(scopedKey, candidate);
+        }
+        return response;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<StandardResponse<T>> replay(StoredResponse stored, TypeReference<StandardResponse<T>> bodyType) {
+        StandardResponse<T> body = stored.getBody() instanceof JsonNode
+                ? objectMapper.convertValue(stored.getBody(), bodyType)
+                : (StandardResponse<T>) stored.getBody();
+
+        HttpHeaders headers = new HttpHeaders();
+        if (stored.getLocation() != null) {
+            headers.set(HttpHeaders.LOCATION, stored.getLocation());
+        }
+        headers.set("Idempotent-Replayed", "true");
+
+        return ResponseEntity.status(stored.getStatus()).headers(headers).body(body);
+    }
+}
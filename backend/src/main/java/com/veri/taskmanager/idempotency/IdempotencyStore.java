@@ -0,0 +1,22 @@
+package com.veri.taskmanager.idempotency;
+
+public interface IdempotencyStore {
+
+    /**
+     * Installs {@code candidate} under {@code key} unless a live entry already exists. Returns {@code null}
+     * when the candidate was installed, in which case the caller owns the key and must {@link #complete} or
+     * {@link #release} it; otherwise returns the earlier entry, whose response may still be pending.
+     */
+    IdempotencyEntry claim(String key, IdempotencyEntry candidate);
+
+    void complete(String key, IdempotencyEntry entry, StoredResponse response);
+
+    void release(String key, IdempotencyEntry entry);
+
+    /**
+     * The caller stopped waiting for {@code entry}, an earlier entry returned by {@link #claim}. Stores that
+     * watch for the response in the background stop doing so for this caller.
+     */
+    default void abandon(String key, IdempotencyEntry entry) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.veri.taskmanager.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    public InMemoryIdempotencyStore(@Value("${idempotency.max-entries:100000}") int maxEntries) {
+        int perSegment = Math.max(1, maxEntries / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    @Override
+    public IdempotencyEntry claim(String key, IdempotencyEntry candidate) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            IdempotencyEntry existing = segment.putIfAbsent(key, candidate);
+            if (existing == null) {
+                return null;
+            }
+            if (existing.isExpired(System.currentTimeMillis())) {
+                segment.put(key, candidate);
+                return null;
+            }
+            return existing;
+        }
+    }
+
+    @Override
+    public void complete(String key, IdempotencyEntry entry, StoredResponse response) {
+        entry.getResponse().complete(response);
+    }
+
+    @Override
+    public void release(String key, IdempotencyEntry entry) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.remove(key, entry);
+        }
+        entry.getResponse().cancel(false);
+    }
+
+    private Segment segmentFor(String key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    private static final class Segment extends LinkedHashMap<String, IdempotencyEntry> {
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(Math.min(capacity, 1024), 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, IdempotencyEntry> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.veri.taskmanager.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class StoredResponse {
+    private int status;
+    private String location;
+    private Object body;
+}
@@ -0,0 +1,50 @@
+package com.veri.taskmanager.journal;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Command-line access to the task journal without starting the application.
+ *
+ * <pre>
+ * tail   [directory] [count]        print the last records (default 20) and keep following
+ * replay [directory] [from] [to]    print records in a sequence range
+ * </pre>
+ */
+public final class JournalCli {
+
+    private JournalCli() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 0) {
+            System.err.println("usage: JournalCli tail [directory] [count] | replay [directory] [from] [to]");
+            System.exit(2);
+        }
+        Path directory = Paths.get(args.length > 1 ? args[1] : "data/journal");
+        JournalReader reader = new JournalReader(directory);
+
+        if ("tail".equals(args[0])) {
+            int count = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+            Deque<JournalRecord> last = new ArrayDeque<>(count);
+            long lastSequence = reader.readFrom(0, record -> {
+                if (last.size() == count) {
+                    last.removeFirst();
+                }
+                last.addLast(record);
+            });
+            last.forEach(System.out::println);
+            reader.follow(lastSequence + 1, 500, System.out::println);
+        } else if ("replay".equals(args[0])) {
+            long from = args.length > 2 ? Long.parseLong(args[2]) : 0;
+            long to = args.length > 3 ? Long.parseLong(args[3]) : Long.MAX_VALUE;
+            reader.read(from, to, System.out::println);
+        } else {
+            System.err.println("Unknown command: " + args[0]);
+            System.exit(2);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.veri.taskmanager.journal;
+
+public enum JournalField {
+    TITLE(1),
+    DESCRIPTION(2),
+    STATUS(3),
+    IDS(4),
+    DUE_AT(5),
+    REMIND_AT(6),
+    TAGS(7);
+
+    private final byte code;
+
+    JournalField(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public static JournalField fromCode(byte code) {
+        for (JournalField field : values()) {
+            if (field.code == code) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown journal field: " + code);
+    }
+}
@@ -0,0 +1,27 @@
+package com.veri.taskmanager.journal;
+
+public enum JournalOp {
+    CREATE(1),
+    UPDATE(2),
+    DELETE(3),
+    BULK_STATUS(4);
+
+    private final byte code;
+
+    JournalOp(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public static JournalOp fromCode(byte code) {
+        for (JournalOp op : values()) {
+            if (op.code == code) {
+                return op;
+            }
+        }
+        throw new IllegalArgumentException("Unknown journal op: " + code);
+    }
+}
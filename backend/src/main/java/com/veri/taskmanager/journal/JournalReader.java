@@ -0,0 +1,69 @@
+package com.veri.taskmanager.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads journal records in sequence order directly from the segment files; safe to use while the
+ * application is writing to the same directory.
+ */
+public class JournalReader {
+
+    private final Path directory;
+
+    public JournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Visits every intact record with {@code fromSequence <= sequence <= toSequence} and returns the
+     * last sequence visited, or {@code fromSequence - 1} if none matched.
+     */
+    public long read(long fromSequence, long toSequence, Consumer<JournalRecord> consumer) throws IOException {
+        long last = fromSequence - 1;
+        List<Path> segments = JournalSegment.list(directory);
+        for (int i = 0; i < segments.size(); i++) {
+            if (i + 1 < segments.size() && JournalSegment.firstSequenceOf(segments.get(i + 1)) <= fromSequence) {
+                continue;
+            }
+            if (JournalSegment.firstSequenceOf(segments.get(i)) > toSequence) {
+                break;
+            }
+            try (FileChannel channel = FileChannel.open(segments.get(i), StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                JournalRecord record;
+                while ((record = JournalRecord.decode(buffer)) != null) {
+                    if (record.getSequence() > toSequence) {
+                        return last;
+                    }
+                    if (record.getSequence() >= fromSequence) {
+                        consumer.accept(record);
+                        last = record.getSequence();
+                    }
+                }
+            }
+        }
+        return last;
+    }
+
+    public long readFrom(long fromSequence, Consumer<JournalRecord> consumer) throws IOException {
+        return read(fromSequence, Long.MAX_VALUE, consumer);
+    }
+
+    /**
+     * Prints new records as they are appended until the thread is interrupted.
+     */
+    public void follow(long fromSequence, long pollIntervalMs, Consumer<JournalRecord> consumer)
+            throws IOException, InterruptedException {
+        long next = fromSequence;
+        while (!Thread.currentThread().isInterrupted()) {
+            next = readFrom(next, consumer) + 1;
+            Thread.sleep(pollIntervalMs);
+        }
+    }
+}
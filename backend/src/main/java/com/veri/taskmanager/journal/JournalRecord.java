@@ -0,0 +1,162 @@
+package com.veri.taskmanager.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * One task mutation. On disk a record is framed as {@code [int length][int crc32][body]}, where the body is
+ * {@code seq, op, taskId, userId, timestamp, fieldCount} followed by {@code (code, length, utf8)} per field.
+ * A zero length marks the end of the written part of a segment.
+ */
+public class JournalRecord {
+
+    static final int HEADER_BYTES = 8;
+    private static final int FIXED_BODY_BYTES = 8 + 1 + 8 + 8 + 8 + 1;
+
+    private long sequence;
+    private final JournalOp op;
+    private final long taskId;
+    private final long userId;
+    private final long timestamp;
+    private final Map<JournalField, String> fields;
+
+    public JournalRecord(JournalOp op, long taskId, long userId) {
+        this(-1, op, taskId, userId, System.currentTimeMillis(), new EnumMap<>(JournalField.class));
+    }
+
+    private JournalRecord(long sequence, JournalOp op, long taskId, long userId, long timestamp,
+                          Map<JournalField, String> fields) {
+        this.sequence = sequence;
+        this.op = op;
+        this.taskId = taskId;
+        this.userId = userId;
+        this.timestamp = timestamp;
+        this.fields = fields;
+    }
+
+    public JournalRecord with(JournalField field, Object value) {
+        fields.put(field, value == null ? null : value.toString());
+        return this;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public JournalOp getOp() {
+        return op;
+    }
+
+    public long getTaskId() {
+        return taskId;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public Map<JournalField, String> getFields() {
+        return Collections.unmodifiableMap(fields);
+    }
+
+    int encodedSize() {
+        int size = HEADER_BYTES + FIXED_BODY_BYTES;
+        for (String value : fields.values()) {
+            size += 1 + 4 + (value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length);
+        }
+        return size;
+    }
+
+    void encode(ByteBuffer buffer) {
+        int start = buffer.position();
+        buffer.position(start + HEADER_BYTES);
+        int bodyStart = buffer.position();
+        buffer.putLong(sequence)
+                .put(op.getCode())
+                .putLong(taskId)
+                .putLong(userId)
+                .putLong(timestamp)
+                .put((byte) fields.size());
+        for (Map.Entry<JournalField, String> field : fields.entrySet()) {
+            buffer.put(field.getKey().getCode());
+            if (field.getValue() == null) {
+                buffer.putInt(-1);
+            } else {
+                byte[] bytes = field.getValue().getBytes(StandardCharsets.UTF_8);
+                buffer.putInt(bytes.length).put(bytes);
+            }
+        }
+        int bodyEnd = buffer.position();
+
+        CRC32 crc = new CRC32();
+        ByteBuffer body = buffer.duplicate();
+        body.position(bodyStart).limit(bodyEnd);
+        crc.update(body);
+
+        buffer.putInt(start + 4, (int) crc.getValue());
+        buffer.putInt(start, bodyEnd - bodyStart);
+    }
+
+    /**
+     * Decodes the record at the buffer's position, advancing past it. Returns {@code null} at the end of
+     * the written data or when the record is torn (checksum mismatch), leaving the position unchanged.
+     */
+    static JournalRecord decode(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_BYTES) {
+            return null;
+        }
+        int start = buffer.position();
+        int length = buffer.getInt(start);
+        if (length <= 0 || length > buffer.remaining() - HEADER_BYTES) {
+            return null;
+        }
+        int expectedCrc = buffer.getInt(start + 4);
+        ByteBuffer body = buffer.duplicate();
+        body.position(start + HEADER_BYTES).limit(start + HEADER_BYTES + length);
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        if ((int) crc.getValue() != expectedCrc) {
+            return null;
+        }
+
+        long sequence = body.getLong();
+        JournalOp op = JournalOp.fromCode(body.get());
+        long taskId = body.getLong();
+        long userId = body.getLong();
+        long timestamp = body.getLong();
+        int fieldCount = body.get();
+        Map<JournalField, String> fields = new EnumMap<>(JournalField.class);
+        for (int i = 0; i < fieldCount; i++) {
+            JournalField field = JournalField.fromCode(body.get());
+            int valueLength = body.getInt();
+            if (valueLength < 0) {
+                fields.put(field, null);
+            } else {
+                byte[] bytes = new byte[valueLength];
+                body.get(bytes);
+                fields.put(field, new String(bytes, StandardCharsets.UTF_8));
+            }
+        }
+        buffer.position(start + HEADER_BYTES + length);
+        return new JournalRecord(sequence, op, taskId, userId, timestamp, fields);
+    }
+
+    @Override
+    public String toString() {
+        return sequence + " " + Instant.ofEpochMilli(timestamp) + " " + op + " task=" + taskId + " user=" + userId
+                + (fields.isEmpty() ? "" : " " + fields);
+    }
+}
@@ -0,0 +1,121 @@
+package com.veri.taskmanager.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A journal file named after the sequence of its first record. The active segment is preallocated and
+ * memory-mapped; sealing it truncates the file to the bytes actually written.
+ */
+class JournalSegment implements AutoCloseable {
+
+    static final String SUFFIX = ".journal";
+
+    private final Path path;
+    private final long firstSequence;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private long lastSequence;
+
+    private JournalSegment(Path path, long firstSequence, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.firstSequence = firstSequence;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.lastSequence = firstSequence - 1;
+    }
+
+    static JournalSegment create(Path directory, long firstSequence, int size) throws IOException {
+        Path path = directory.resolve(fileName(firstSequence));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new JournalSegment(path, firstSequence, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+    }
+
+    /**
+     * Re-opens a segment for appending, positioned after its last intact record.
+     */
+    static JournalSegment reopen(Path path, int size) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long mapped = Math.max(size, channel.size());
+        JournalSegment segment = new JournalSegment(path, firstSequenceOf(path), channel,
+                channel.map(FileChannel.MapMode.READ_WRITE, 0, mapped));
+        JournalRecord record;
+        while ((record = JournalRecord.decode(segment.buffer)) != null) {
+            segment.lastSequence = record.getSequence();
+        }
+        return segment;
+    }
+
+    static List<Path> list(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    static long firstSequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    private static String fileName(long firstSequence) {
+        return String.format("%020d%s", firstSequence, SUFFIX);
+    }
+
+    boolean fits(int bytes) {
+        return buffer.remaining() >= bytes + JournalRecord.HEADER_BYTES;
+    }
+
+    void append(JournalRecord record) {
+        record.encode(buffer);
+        lastSequence = record.getSequence();
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    long getFirstSequence() {
+        return firstSequence;
+    }
+
+    long getLastSequence() {
+        return lastSequence;
+    }
+
+    int getWrittenBytes() {
+        return buffer.position();
+    }
+
+    /**
+     * Flushes and truncates the segment to its written length; it is read-only from then on.
+     */
+    void seal() throws IOException {
+        buffer.force();
+        channel.truncate(buffer.position());
+        channel.close();
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+}
@@ -0,0 +1,226 @@
+package com.veri.taskmanager.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only journal of task mutations. Request threads only claim a slot in a bounded ring buffer;
+ * a single writer thread encodes records into memory-mapped segment files, rolls segments when full
+ * and applies the configured fsync policy.
+ */
+@Component
+public class TaskJournal {
+
+    public enum FsyncPolicy { ALWAYS, INTERVAL, NEVER }
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskJournal.class);
+
+    @Value("${journal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${journal.directory:data/journal}")
+    private String directory;
+
+    @Value("${journal.ring-size:8192}")
+    private int ringSize;
+
+    @Value("${journal.segment-size-bytes:67108864}")
+    private int segmentSize;
+
+    @Value("${journal.fsync-policy:INTERVAL}")
+    private FsyncPolicy fsyncPolicy;
+
+    @Value("${journal.fsync-interval-ms:1000}")
+    private long fsyncIntervalMs;
+
+    @Value("${journal.retention-segments:0}")
+    private int retentionSegments;
+
+    private AtomicReferenceArray<JournalRecord> ring;
+    private int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writer;
+    private Path journalDirectory;
+    private FileChannel lockChannel;
+    private FileLock lock;
+    private JournalSegment segment;
+    private long baseSequence;
+    private long lastForce;
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        journalDirectory = Paths.get(directory).toAbsolutePath();
+        Files.createDirectories(journalDirectory);
+        lockChannel = FileChannel.open(journalDirectory.resolve("journal.lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            logger.warn("Journal directory {} is already in use; journaling disabled", journalDirectory);
+            lockChannel.close();
+            enabled = false;
+            return;
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(2, ringSize - 1)) << 1;
+        ring = new AtomicReferenceArray<>(capacity);
+        mask = capacity - 1;
+
+        List<Path> segments = JournalSegment.list(journalDirectory);
+        if (segments.isEmpty()) {
+            segment = JournalSegment.create(journalDirectory, 1, segmentSize);
+        } else {
+            segment = JournalSegment.reopen(segments.get(segments.size() - 1), segmentSize);
+        }
+        baseSequence = segment.getLastSequence() + 1;
+
+        running = true;
+        writer = new Thread(this::drainLoop, "task-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+        logger.info("Task journal writing to {} from sequence {} (fsync {})", journalDirectory, baseSequence, fsyncPolicy);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        segment.close();
+        lock.release();
+        lockChannel.close();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Publishes a record to the ring buffer. Blocks only while the ring is full.
+     */
+    public void append(JournalRecord record) {
+        if (!enabled) {
+            return;
+        }
+        long slot = claimed.getAndIncrement();
+        while (slot - consumed.get() >= ring.length()) {
+            LockSupport.parkNanos(1_000);
+        }
+        record.setSequence(baseSequence + slot);
+        ring.set((int) (slot & mask), record);
+    }
+
+    /**
+     * Whether {@code record} can be journaled at all, i.e. fits an empty segment. Callers check this
+     * before committing the mutation, since the writer can only drop a record that does not fit.
+     */
+    public boolean accepts(JournalRecord record) {
+        return !enabled || record.encodedSize() + JournalRecord.HEADER_BYTES <= segmentSize;
+    }
+
+    public Path getDirectory() {
+        return journalDirectory;
+    }
+
+    private void drainLoop() {
+        long next = 0;
+        while (running || next < claimed.get()) {
+            int drained = 0;
+            JournalRecord record;
+            while ((record = ring.get((int) (next & mask))) != null) {
+                ring.set((int) (next & mask), null);
+                write(record);
+                consumed.lazySet(++next);
+                drained++;
+            }
+            if (drained > 0) {
+                afterBatch();
+            } else {
+                maybeForce();
+                LockSupport.parkNanos(50_000);
+            }
+        }
+    }
+
+    private void write(JournalRecord record) {
+        try {
+            int size = record.encodedSize();
+            if (!accepts(record)) {
+                logger.error("Journal record {} of {} bytes exceeds the segment size", record.getSequence(), size);
+                return;
+            }
+            if (!segment.fits(size)) {
+                roll(record.getSequence());
+            }
+            segment.append(record);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to journal record {}", record, e);
+        }
+    }
+
+    private void afterBatch() {
+        if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+            segment.force();
+            lastForce = System.currentTimeMillis();
+        } else {
+            maybeForce();
+        }
+    }
+
+    private void maybeForce() {
+        long now = System.currentTimeMillis();
+        if (fsyncPolicy == FsyncPolicy.INTERVAL && now - lastForce >= fsyncIntervalMs) {
+            segment.force();
+            lastForce = now;
+        }
+    }
+
+    private void roll(long nextSequence) throws IOException {
+        JournalSegment sealed = segment;
+        sealed.seal();
+        segment = JournalSegment.create(journalDirectory, nextSequence, segmentSize);
+        logger.info("Rolled journal segment {} ({} bytes, sequences {}-{})", sealed.getPath().getFileName(),
+                sealed.getWrittenBytes(), sealed.getFirstSequence(), sealed.getLastSequence());
+        compact();
+    }
+
+    private void compact() throws IOException {
+        if (retentionSegments <= 0) {
+            return;
+        }
+        List<Path> segments = JournalSegment.list(journalDirectory);
+        for (int i = 0; i < segments.size() - retentionSegments; i++) {
+            Files.deleteIfExists(segments.get(i));
+            logger.info("Removed journal segment {} beyond retention", segments.get(i).getFileName());
+        }
+    }
+}
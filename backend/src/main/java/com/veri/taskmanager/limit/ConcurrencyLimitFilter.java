@@ -0,0 +1,143 @@
+package com.veri.taskmanager.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veri.taskmanager.dto.StandardResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Adaptive load shedding for {@code /api/**} and {@code /auth/**}. Reads and writes each have a
+ * {@link ConcurrencyLimiter} whose limit follows the {@code TaskService} latency measured by
+ * {@link ServiceLatencyAspect}; requests beyond it get 503 with {@code Retry-After} instead of queueing
+ * in Tomcat. Anonymous requests (registration and login) may only use part of each limit, so they are
+ * shed before authenticated ones. Registered as a plain servlet filter, so it runs after the security
+ * filter chain has resolved the principal.
+ */
+@Component
+@ConditionalOnProperty(name = "limits.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final ThreadLocal<long[]> SERVICE_NANOS = new ThreadLocal<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${limits.read.initial:100}")
+    private int readInitial;
+
+    @Value("${limits.write.initial:40}")
+    private int writeInitial;
+
+    @Value("${limits.min:8}")
+    private int minLimit;
+
+    @Value("${limits.max:200}")
+    private int maxLimit;
+
+    @Value("${limits.tolerance:1.5}")
+    private double tolerance;
+
+    @Value("${limits.long-window:600}")
+    private int longWindow;
+
+    @Value("${limits.anonymous-share:0.5}")
+    private double anonymousShare;
+
+    @Value("${limits.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    private ConcurrencyLimiter reads;
+    private ConcurrencyLimiter writes;
+
+    @PostConstruct
+    public void start() {
+        reads = register("read", new ConcurrencyLimiter(
+                new GradientLimit(readInitial, minLimit, maxLimit, tolerance, longWindow), anonymousShare));
+        writes = register("write", new ConcurrencyLimiter(
+                new GradientLimit(writeInitial, minLimit, maxLimit, tolerance, longWindow), anonymousShare));
+    }
+
+    /**
+     * Adds {@code nanos} of service time to the request being limited on this thread, if any.
+     */
+    static void recordServiceTime(long nanos) {
+        long[] total = SERVICE_NANOS.get();
+        if (total != null) {
+            total[0] += nanos;
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith("/api/") && !path.startsWith("/auth/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        ConcurrencyLimiter limiter = read ? reads : writes;
+        boolean authenticated = isAuthenticated(SecurityContextHolder.getContext().getAuthentication());
+        if (!limiter.tryAcquire(authenticated)) {
+            meterRegistry.counter("http.concurrency.rejected",
+                    "kind", read ? "read" : "write",
+                    "principal", authenticated ? "authenticated" : "anonymous").increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    StandardResponse.error("Server is busy, please retry shortly", request.getRequestURI()));
+            return;
+        }
+
+        long[] serviceNanos = new long[1];
+        SERVICE_NANOS.set(serviceNanos);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SERVICE_NANOS.remove();
+            limiter.release(serviceNanos[0]);
+        }
+    }
+
+    private ConcurrencyLimiter register(String kind, ConcurrencyLimiter limiter) {
+        Gauge.builder("http.concurrency.limit", limiter, ConcurrencyLimiter::getLimit)
+                .tag("kind", kind)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("http.concurrency.in-flight", limiter, ConcurrencyLimiter::getInFlight)
+                .tag("kind", kind)
+                .description("Requests currently holding a concurrency slot")
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    private static boolean isAuthenticated(Authentication authentication) {
+        return authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+    }
+}
@@ -0,0 +1,52 @@
+package com.veri.taskmanager.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-flight counter checked against a {@link GradientLimit}. Requests without priority may only use
+ * {@code lowPriorityShare} of the limit, so they are shed first and the rest stays free for
+ * prioritised requests.
+ */
+public class ConcurrencyLimiter {
+
+    private final GradientLimit limit;
+    private final double lowPriorityShare;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public ConcurrencyLimiter(GradientLimit limit, double lowPriorityShare) {
+        this.limit = limit;
+        this.lowPriorityShare = lowPriorityShare;
+    }
+
+    public boolean tryAcquire(boolean priority) {
+        int current = limit.getLimit();
+        int allowed = priority ? current : Math.max(1, (int) (current * lowPriorityShare));
+        while (true) {
+            int running = inFlight.get();
+            if (running >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(running, running + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot and feeds the latency of the finished request, if it was measured, to the limit.
+     */
+    public void release(long latencyNanos) {
+        int running = inFlight.getAndDecrement();
+        if (latencyNanos > 0) {
+            limit.update(latencyNanos, running);
+        }
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,61 @@
+package com.veri.taskmanager.limit;
+
+/**
+ * Concurrency limit in the style of Netflix's Gradient2. The limit is scaled by the ratio between a
+ * long-term exponential average of the latency and the latest sample, so it shrinks as soon as latency
+ * rises above its baseline, and grows by a queue allowance of {@code sqrt(limit)} while latency holds.
+ * Samples taken while less than half of the limit was in use are ignored, since an idle server says
+ * nothing about how much it can take.
+ */
+public class GradientLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double longRttFactor;
+
+    private double limit;
+    private double longRtt;
+    private volatile int published;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, int longWindow) {
+        if (minLimit <= 0 || minLimit > maxLimit || tolerance < 1 || longWindow <= 0) {
+            throw new IllegalArgumentException("Invalid gradient limit settings");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = 0.2;
+        this.longRttFactor = 2.0 / (longWindow + 1);
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.published = (int) limit;
+    }
+
+    /**
+     * Feeds one latency sample taken with {@code inFlight} requests running and returns the new limit.
+     */
+    public synchronized int update(long rttNanos, int inFlight) {
+        if (rttNanos <= 0) {
+            return published;
+        }
+        longRtt = longRtt == 0 ? rttNanos : longRtt + (rttNanos - longRtt) * longRttFactor;
+        if (longRtt / rttNanos > 2) {
+            // Latency recovered well below the baseline, so let the baseline follow it down faster.
+            longRtt *= 0.95;
+        }
+        if (inFlight < limit / 2) {
+            return published;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / rttNanos));
+        double next = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + next * smoothing));
+        published = (int) limit;
+        return published;
+    }
+
+    public int getLimit() {
+        return published;
+    }
+}
@@ -0,0 +1,27 @@
+package com.veri.taskmanager.limit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Measures {@code TaskService} calls for {@link ConcurrencyLimitFilter}, which adapts its limits to
+ * that latency rather than to the whole request, so slow clients and large responses do not count.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "limits.enabled", havingValue = "true", matchIfMissing = true)
+public class ServiceLatencyAspect {
+
+    @Around("execution(public * com.veri.taskmanager.service.TaskService.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ConcurrencyLimitFilter.recordServiceTime(System.nanoTime() - start);
+        }
+    }
+}
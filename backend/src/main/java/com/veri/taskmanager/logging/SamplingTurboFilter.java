@@ -0,0 +1,51 @@
+package com.veri.taskmanager.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps roughly one in {@code every} events of one level from the configured logger prefixes and
+ * drops the rest before a logging event is even created. Declared in {@code logback-spring.xml},
+ * one instance per sampled level. Events of other levels, and everything when {@code every} is 1,
+ * pass through untouched.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private String[] loggers = new String[0];
+    private Level level = Level.INFO;
+    private int every = 1;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level eventLevel, String format, Object[] params, Throwable t) {
+        if (every <= 1 || eventLevel == null || eventLevel.levelInt != level.levelInt || !matches(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextInt(every) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean matches(String name) {
+        for (String prefix : loggers) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void setLoggers(String loggers) {
+        this.loggers = loggers == null || loggers.isBlank() ? new String[0] : loggers.trim().split("\\s*,\\s*");
+    }
+
+    public void setLevel(String level) {
+        this.level = Level.toLevel(level, Level.INFO);
+    }
+
+    public void setEvery(int every) {
+        this.every = every;
+    }
+}
@@ -0,0 +1,37 @@
+package com.veri.taskmanager.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idem_key", length = 320)
+    private String key;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(name = "status_code")
+    private Integer statusCode;
+
+    private String location;
+
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt;
+
+    public IdempotencyRecord(String key, String fingerprint, long expiresAt) {
+        this.key = key;
+        this.fingerprint = fingerprint;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,33 @@
+package com.veri.taskmanager.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * A revoked token id ({@code jti}), or {@code user:<username>} to revoke every token a user was
+ * issued before {@code revokedAt}. Rows are purged once every token they cover has expired.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+public class RevokedToken {
+
+    @Id
+    @Column(name = "token_key", length = 320)
+    private String key;
+
+    @Column(name = "revoked_at", nullable = false)
+    private long revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt;
+
+    public RevokedToken(String key, long revokedAt, long expiresAt) {
+        this.key = key;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+}
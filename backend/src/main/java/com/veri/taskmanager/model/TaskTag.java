@@ -0,0 +1,40 @@
+package com.veri.taskmanager.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.io.Serializable;
+
+/**
+ * One label on a task, stored in the {@code task_tags} join table. {@code user_id} is copied from the
+ * task so a user's tags can be moved or dropped without joining {@code tasks}.
+ */
+@Entity
+@Table(name = "task_tags", indexes = @Index(name = "idx_task_tags_user_id", columnList = "user_id"))
+@IdClass(TaskTag.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskTag {
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Id
+    @Column(length = 32)
+    private String tag;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long taskId;
+        private String tag;
+    }
+}
@@ -0,0 +1,20 @@
+package com.veri.taskmanager.reminder;
+
+import com.veri.taskmanager.dto.TaskReminder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "task.reminders.sink", havingValue = "log", matchIfMissing = true)
+public class LogReminderSink implements ReminderSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogReminderSink.class);
+
+    @Override
+    public void deliver(TaskReminder reminder) {
+        logger.info("Reminder for task {} of user {}: {} (due {})",
+                reminder.getTaskId(), reminder.getUserId(), reminder.getTitle(), reminder.getDueAt());
+    }
+}
@@ -0,0 +1,253 @@
+package com.veri.taskmanager.reminder;
+
+import com.veri.taskmanager.dto.TaskReminder;
+import com.veri.taskmanager.service.TaskListCache;
+import com.veri.taskmanager.service.TaskReadCoalescer;
+import com.veri.taskmanager.sharding.ShardContext;
+import com.veri.taskmanager.sharding.ShardDataSources;
+import com.veri.taskmanager.store.TaskStore;
+import com.veri.taskmanager.util.TimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires task reminders from a {@link TimingWheel}. Only reminders due within {@code task.reminders.window-ms}
+ * are held in memory: the window is loaded from the {@code remind_at} index of every shard and reloaded
+ * once half of it has passed, while {@link com.veri.taskmanager.service.TaskService} adds, moves and
+ * cancels entries that fall inside the loaded window as tasks change. A due entry is only delivered if
+ * clearing the stored reminder succeeds, i.e. the task still has that reminder and is not completed, so
+ * stale entries left by status changes or concurrent reloads are dropped at fire time.
+ */
+@Component
+@ConditionalOnProperty(name = "task.reminders.enabled", havingValue = "true", matchIfMissing = true)
+public class ReminderScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReminderScheduler.class);
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private ReminderSink reminderSink;
+
+    @Autowired
+    private ObjectProvider<ShardDataSources> shardDataSources;
+
+    @Autowired
+    private TaskListCache taskListCache;
+
+    @Autowired
+    private TaskReadCoalescer taskReadCoalescer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${task.reminders.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${task.reminders.window-ms:600000}")
+    private long windowMs;
+
+    @Value("${task.reminders.load-batch:10000}")
+    private int loadBatch;
+
+    @Value("${task.reminders.wheel-bits:6}")
+    private int wheelBits;
+
+    @Value("${task.reminders.wheel-levels:4}")
+    private int wheelLevels;
+
+    private final Object lock = new Object();
+    private final Map<String, TimingWheel.Timeout<Pending>> scheduled = new HashMap<>();
+    private TimingWheel<Pending> wheel;
+    private volatile long horizon = Long.MIN_VALUE;
+
+    private Timer lag;
+    private Counter fired;
+
+    @PostConstruct
+    public void start() {
+        wheel = new TimingWheel<>(tickMs, wheelBits, wheelLevels, System.currentTimeMillis());
+        lag = Timer.builder("tasks.reminders.lag")
+                .description("Delay between a reminder's time and its delivery")
+                .register(meterRegistry);
+        fired = Counter.builder("tasks.reminders.fired")
+                .description("Reminders delivered to the sink")
+                .register(meterRegistry);
+        Gauge.builder("tasks.reminders.scheduled", this, ReminderScheduler::size)
+                .description("Reminders held in the timing wheel")
+                .register(meterRegistry);
+        for (int level = 0; level <= wheel.getLevels(); level++) {
+            int wheelLevel = level;
+            Gauge.builder("tasks.reminders.wheel.occupancy", this, scheduler -> scheduler.occupancy(wheelLevel))
+                    .tag("level", wheelLevel == wheel.getLevels() ? "overflow" : String.valueOf(wheelLevel))
+                    .description("Reminders held at one level of the timing wheel")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${task.reminders.tick-ms:1000}")
+    public void tick() {
+        long now = System.currentTimeMillis();
+        if (now + windowMs / 2 >= horizon) {
+            reload(now);
+        }
+
+        List<Pending> due = new ArrayList<>();
+        synchronized (lock) {
+            wheel.advance(now, timeout -> {
+                scheduled.remove(timeout.getValue().key, timeout);
+                due.add(timeout.getValue());
+            });
+        }
+        for (Pending pending : due) {
+            fire(pending, now);
+        }
+    }
+
+    /**
+     * Adds or moves the task's reminder, or cancels it when the reminder was removed. Reminders beyond
+     * the loaded window are left to the next reload.
+     */
+    public void schedule(String shard, TaskReminder reminder) {
+        String key = key(shard, reminder.getTaskId());
+        synchronized (lock) {
+            TimingWheel.Timeout<Pending> previous = scheduled.remove(key);
+            if (previous != null) {
+                wheel.cancel(previous);
+            }
+            if (reminder.getRemindAt() != null) {
+                long at = toMillis(reminder.getRemindAt());
+                if (at < horizon) {
+                    scheduled.put(key, wheel.schedule(new Pending(key, shard, reminder), at));
+                }
+            }
+        }
+    }
+
+    public void cancel(String shard, Long taskId) {
+        synchronized (lock) {
+            TimingWheel.Timeout<Pending> previous = scheduled.remove(key(shard, taskId));
+            if (previous != null) {
+                wheel.cancel(previous);
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return wheel.size();
+        }
+    }
+
+    private int occupancy(int level) {
+        synchronized (lock) {
+            return wheel.occupancy(level);
+        }
+    }
+
+    private void reload(long now) {
+        long until = now + windowMs;
+        LocalDateTime untilTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(until), ZoneId.systemDefault());
+        long loadedUntil = until;
+        int loaded = 0;
+
+        for (String shard : shards()) {
+            List<TaskReminder> batch;
+            try {
+                batch = ShardContext.call(shard, () -> taskStore.findRemindersBefore(untilTime, loadBatch));
+            } catch (RuntimeException e) {
+                logger.warn("Failed to load reminders from shard {}", shard, e);
+                continue;
+            }
+            if (batch.size() == loadBatch) {
+                loadedUntil = Math.min(loadedUntil, toMillis(batch.get(batch.size() - 1).getRemindAt()));
+            }
+            synchronized (lock) {
+                for (TaskReminder reminder : batch) {
+                    String key = key(shard, reminder.getTaskId());
+                    TimingWheel.Timeout<Pending> previous = scheduled.remove(key);
+                    if (previous != null) {
+                        wheel.cancel(previous);
+                    }
+                    scheduled.put(key, wheel.schedule(new Pending(key, shard, reminder), toMillis(reminder.getRemindAt())));
+                }
+            }
+            loaded += batch.size();
+        }
+        horizon = loadedUntil;
+        logger.debug("Loaded {} reminders due before {}", loaded, Instant.ofEpochMilli(loadedUntil));
+    }
+
+    private void fire(Pending pending, long now) {
+        TaskReminder reminder = pending.reminder;
+        boolean deliver;
+        try {
+            deliver = ShardContext.call(pending.shard,
+                    () -> taskStore.clearReminder(reminder.getTaskId(), reminder.getUserId(), reminder.getRemindAt()));
+        } catch (RuntimeException e) {
+            logger.warn("Failed to clear reminder of task {}", reminder.getTaskId(), e);
+            return;
+        }
+        if (!deliver) {
+            return;
+        }
+
+        taskReadCoalescer.invalidate(reminder.getUserId());
+        taskListCache.invalidate(reminder.getUserId());
+        lag.record(Math.max(0, now - toMillis(reminder.getRemindAt())), TimeUnit.MILLISECONDS);
+        fired.increment();
+        try {
+            reminderSink.deliver(reminder);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to deliver reminder of task {}", reminder.getTaskId(), e);
+        }
+    }
+
+    private List<String> shards() {
+        ShardDataSources sharded = shardDataSources.getIfAvailable();
+        return sharded != null ? sharded.getShardNames() : Collections.singletonList(null);
+    }
+
+    private static String key(String shard, Long taskId) {
+        return shard == null ? String.valueOf(taskId) : shard + '/' + taskId;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class Pending {
+
+        private final String key;
+        private final String shard;
+        private final TaskReminder reminder;
+
+        private Pending(String key, String shard, TaskReminder reminder) {
+            this.key = key;
+            this.shard = shard;
+            this.reminder = reminder;
+        }
+    }
+}
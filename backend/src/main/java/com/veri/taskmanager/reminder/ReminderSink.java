@@ -0,0 +1,12 @@
+package com.veri.taskmanager.reminder;
+
+import com.veri.taskmanager.dto.TaskReminder;
+
+/**
+ * Destination of reminders fired by {@link ReminderScheduler}, selected with {@code task.reminders.sink}.
+ * Called on the scheduler thread, so implementations should not block.
+ */
+public interface ReminderSink {
+
+    void deliver(TaskReminder reminder);
+}
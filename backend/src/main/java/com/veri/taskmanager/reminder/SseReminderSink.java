@@ -0,0 +1,70 @@
+package com.veri.taskmanager.reminder;
+
+import com.veri.taskmanager.dto.TaskReminder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pushes reminders to the owner's open {@code /api/reminders/stream} connections as {@code reminder}
+ * events. A reminder fired while the user has no open stream is only logged.
+ */
+@Component
+@ConditionalOnProperty(name = "task.reminders.sink", havingValue = "sse")
+public class SseReminderSink implements ReminderSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(SseReminderSink.class);
+
+    @Value("${task.reminders.sse-timeout-ms:1800000}")
+    private long timeoutMs;
+
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        List<SseEmitter> userEmitters = emitters.computeIfAbsent(userId, key -> new CopyOnWriteArrayList<>());
+        userEmitters.add(emitter);
+        Runnable remove = () -> unsubscribe(userId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+        return emitter;
+    }
+
+    @Override
+    public void deliver(TaskReminder reminder) {
+        List<SseEmitter> userEmitters = emitters.get(reminder.getUserId());
+        if (userEmitters == null || userEmitters.isEmpty()) {
+            logger.info("No open reminder stream for user {}; dropped reminder for task {}",
+                    reminder.getUserId(), reminder.getTaskId());
+            return;
+        }
+        for (SseEmitter emitter : userEmitters) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name("reminder")
+                        .id(String.valueOf(reminder.getTaskId()))
+                        .data(reminder, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(reminder.getUserId(), emitter);
+            }
+        }
+    }
+
+    private void unsubscribe(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (key, userEmitters) -> {
+            userEmitters.remove(emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+}
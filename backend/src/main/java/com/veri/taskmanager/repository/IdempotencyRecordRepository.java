@@ -0,0 +1,29 @@
+package com.veri.taskmanager.repository;
+
+import com.veri.taskmanager.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Transactional
+    @Modifying
+    @Query(value = "insert into idempotency_keys (idem_key, fingerprint, expires_at) values (:key, :fingerprint, :expiresAt)",
+           nativeQuery = true)
+    int insertPending(@Param("key") String key, @Param("fingerprint") String fingerprint, @Param("expiresAt") long expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") long now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.key = :key and r.statusCode is null")
+    int deletePending(@Param("key") String key);
+}
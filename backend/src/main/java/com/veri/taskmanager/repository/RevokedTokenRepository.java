@@ -0,0 +1,23 @@
+package com.veri.taskmanager.repository;
+
+import com.veri.taskmanager.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    @Query("select r.key from RevokedToken r where r.expiresAt > :now")
+    List<String> findActiveKeys(@Param("now") long now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") long now);
+}
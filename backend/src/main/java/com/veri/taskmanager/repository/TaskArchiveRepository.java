@@ -0,0 +1,22 @@
+package com.veri.taskmanager.repository;
+
+import com.veri.taskmanager.model.TaskArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface TaskArchiveRepository extends JpaRepository<TaskArchive, Long> {
+
+    @Modifying
+    @Query(value = "insert into tasks_archive (id, title, description, status, user_id, created_at, updated_at, " +
+                   "due_at, remind_at, archived_at) " +
+                   "select id, title, description, status, user_id, created_at, updated_at, due_at, remind_at, :archivedAt " +
+                   "from tasks where id in (:ids)", nativeQuery = true)
+    int copyFromTasks(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -1,11 +1,24 @@
 package com.veri.taskmanager.repository;
 
+import com.veri.taskmanager.dto.TaskReminder;
+import com.veri.taskmanager.dto.TaskResponse;
 import com.veri.taskmanager.model.Task;
 import com.veri.taskmanager.model.TaskStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
@@ -13,4 +26,43 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByUserId(Long userId);
 
     List<Task> findByUserIdAndStatus(Long userId, TaskStatus status);
-}
\ No newline at end of file
+
+    @EntityGraph(attributePaths = "user")
+    Optional<Task> findWithUserById(Long id);
+
+    @Query("select new com.veri.taskmanager.dto.TaskResponse(t.id, t.title, t.status, t.createdAt, t.updatedAt, " +
+           "t.dueAt, t.remindAt) " +
+           "from Task t where t.user.id = :userId and t.updatedAt < :before order by t.updatedAt desc, t.id desc")
+    List<TaskResponse> findSummariesUpdatedBefore(@Param("userId") Long userId, @Param("before") LocalDateTime before,
+                                                  Pageable pageable);
+
+    @Modifying
+    @Query("update Task t set t.status = :status, t.updatedAt = :updatedAt where t.id = :id and t.user.id = :userId")
+    int updateStatus(@Param("id") Long id, @Param("userId") Long userId,
+                     @Param("status") TaskStatus status, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("update Task t set t.status = :status, t.updatedAt = :updatedAt where t.id in :ids and t.user.id = :userId")
+    int updateStatusIn(@Param("ids") Collection<Long> ids, @Param("userId") Long userId,
+                       @Param("status") TaskStatus status, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("select new com.veri.taskmanager.dto.TaskReminder(t.id, t.user.id, t.title, t.dueAt, t.remindAt) " +
+           "from Task t where t.remindAt < :until and t.status <> :completed order by t.remindAt, t.id")
+    List<TaskReminder> findRemindersBefore(@Param("until") LocalDateTime until, @Param("completed") TaskStatus completed,
+                                           Pageable pageable);
+
+    @Modifying
+    @Query("update Task t set t.remindAt = null " +
+           "where t.id = :id and t.user.id = :userId and t.remindAt = :remindAt and t.status <> :completed")
+    int clearReminder(@Param("id") Long id, @Param("userId") Long userId, @Param("remindAt") LocalDateTime remindAt,
+                      @Param("completed") TaskStatus completed);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.id from Task t where t.status = :status and t.updatedAt < :cutoff and t.id > :afterId order by t.id")
+    List<Long> lockArchivableIds(@Param("status") TaskStatus status, @Param("cutoff") LocalDateTime cutoff,
+                                 @Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from Task t where t.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
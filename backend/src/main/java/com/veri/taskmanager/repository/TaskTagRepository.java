@@ -0,0 +1,28 @@
+package com.veri.taskmanager.repository;
+
+import com.veri.taskmanager.model.TaskTag;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskTagRepository extends JpaRepository<TaskTag, TaskTag.Key> {
+
+    List<TaskTag> findByTaskIdGreaterThanOrderByTaskIdAsc(Long afterTaskId, Pageable pageable);
+
+    List<TaskTag> findByTaskIdIn(Collection<Long> taskIds);
+
+    @Modifying
+    @Query("delete from TaskTag t where t.taskId = :taskId and t.userId = :userId")
+    int deleteByTask(@Param("taskId") Long taskId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from TaskTag t where t.taskId in (:taskIds)")
+    int deleteByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+}
@@ -2,8 +2,10 @@ package com.veri.taskmanager.repository;
 
 import com.veri.taskmanager.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +14,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
 
     boolean existsByUsername(String username);
+
+    @Query("select u.username from User u")
+    List<String> findAllUsernames();
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.veri.taskmanager.security;
 
 import com.veri.taskmanager.model.User;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
@@ -10,14 +11,20 @@ import java.util.Collections;
 public class CustomUserDetails implements UserDetails {
 
     private final User user;
+    private final boolean admin;
 
     public CustomUserDetails(User user) {
+        this(user, false);
+    }
+
+    public CustomUserDetails(User user, boolean admin) {
         this.user = user;
+        this.admin = admin;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.emptyList();
+        return admin ? Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN")) : Collections.emptyList();
     }
 
     @Override
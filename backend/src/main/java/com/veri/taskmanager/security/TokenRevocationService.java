@@ -0,0 +1,162 @@
+package com.veri.taskmanager.security;
+
+import com.veri.taskmanager.model.RevokedToken;
+import com.veri.taskmanager.repository.RevokedTokenRepository;
+import com.veri.taskmanager.repository.UserRepository;
+import com.veri.taskmanager.sharding.ShardContext;
+import com.veri.taskmanager.util.BloomFilter;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Revoked token ids live in the revoked_tokens table. Every request consults an in-memory Bloom
+ * filter of the active rows first, so only possible positives reach the table. The filter is rebuilt
+ * every {@code auth.revocation.refresh-interval-ms}. Revocations made on this node are added to it
+ * at once, and other nodes pick them up on their next rebuild.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final String USER_PREFIX = "user:";
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${auth.revocation.bloom.fpp:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${auth.revocation.bloom.min-capacity:1024}")
+    private int minCapacity;
+
+    private volatile BloomFilter filter;
+    private final Counter negatives;
+    private final Counter possiblePositives;
+    private final Counter falsePositives;
+
+    public TokenRevocationService(MeterRegistry meterRegistry) {
+        this.negatives = Counter.builder("auth.revocation.checks").tag("result", "negative")
+                .description("Token checks answered by the Bloom filter alone")
+                .register(meterRegistry);
+        this.possiblePositives = Counter.builder("auth.revocation.checks").tag("result", "possible")
+                .description("Token checks that had to consult revoked_tokens")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("auth.revocation.false-positives")
+                .description("Bloom filter hits for tokens that were not revoked")
+                .register(meterRegistry);
+        Gauge.builder("auth.revocation.bloom.fpp", this, TokenRevocationService::expectedFalsePositiveRate)
+                .description("False-positive probability of the current revocation filter")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    @Scheduled(initialDelayString = "${auth.revocation.refresh-interval-ms:30000}",
+               fixedDelayString = "${auth.revocation.refresh-interval-ms:30000}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        List<String> active = directory(() -> {
+            revokedTokenRepository.deleteExpired(now);
+            return revokedTokenRepository.findActiveKeys(now);
+        });
+        BloomFilter rebuilt = new BloomFilter(Math.max(minCapacity, active.size() * 2L), falsePositiveRate);
+        active.forEach(rebuilt::put);
+        filter = rebuilt;
+        logger.debug("Rebuilt token revocation filter with {} entries", active.size());
+    }
+
+    public boolean isRevoked(Claims claims) {
+        String jti = claims.getId();
+        String userKey = USER_PREFIX + claims.getSubject();
+        BloomFilter current = filter;
+        boolean jtiCandidate = jti != null && current.mightContain(jti);
+        boolean userCandidate = current.mightContain(userKey);
+        if (!jtiCandidate && !userCandidate) {
+            negatives.increment();
+            return false;
+        }
+
+        possiblePositives.increment();
+        boolean revoked = (jtiCandidate && find(jti).isPresent())
+                || (userCandidate && find(userKey)
+                        .map(row -> issuedBefore(claims.getIssuedAt(), row.getRevokedAt()))
+                        .orElse(false));
+        if (!revoked) {
+            falsePositives.increment();
+        }
+        return revoked;
+    }
+
+    public void revokeToken(String jti, Date expiresAt) {
+        save(jti, expiresAt.getTime());
+        logger.info("Revoked token {}", jti);
+    }
+
+    /**
+     * Revokes a token by id alone. Its expiry is unknown, so the row is kept for a full token lifetime.
+     */
+    public void revokeToken(String jti) {
+        revokeToken(jti, new Date(System.currentTimeMillis() + jwtUtil.getExpirationMs()));
+    }
+
+    /**
+     * Revokes every token issued to {@code username} until now; tokens issued afterwards stay valid.
+     *
+     * @return false if there is no such user
+     */
+    public boolean revokeAllForUser(String username) {
+        if (!directory(() -> userRepository.existsByUsername(username))) {
+            return false;
+        }
+        save(USER_PREFIX + username, System.currentTimeMillis() + jwtUtil.getExpirationMs());
+        logger.info("Revoked all tokens for user: {}", username);
+        return true;
+    }
+
+    public double expectedFalsePositiveRate() {
+        BloomFilter current = filter;
+        return current == null ? 0 : current.expectedFalsePositiveRate();
+    }
+
+    private void save(String key, long expiresAt) {
+        directory(() -> revokedTokenRepository.save(new RevokedToken(key, System.currentTimeMillis(), expiresAt)));
+        filter.put(key);
+    }
+
+    private Optional<RevokedToken> find(String key) {
+        return directory(() -> revokedTokenRepository.findById(key));
+    }
+
+    // iat has whole-second precision, so both sides are truncated to seconds. A token issued in the same
+    // second as the revocation counts as revoked.
+    private static boolean issuedBefore(Date issuedAt, long revokedAt) {
+        return issuedAt == null
+                || TimeUnit.MILLISECONDS.toSeconds(issuedAt.getTime()) <= TimeUnit.MILLISECONDS.toSeconds(revokedAt);
+    }
+
+    // Revocations are global, so under the sharded profile they always go to the directory database.
+    private static <T> T directory(Supplier<T> action) {
+        return ShardContext.call(null, action);
+    }
+}
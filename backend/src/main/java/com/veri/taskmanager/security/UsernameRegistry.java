@@ -0,0 +1,92 @@
+package com.veri.taskmanager.security;
+
+import com.veri.taskmanager.repository.UserRepository;
+import com.veri.taskmanager.sharding.ShardContext;
+import com.veri.taskmanager.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+
+/**
+ * Bloom filter of taken usernames, so registration can turn away a duplicate without hashing its
+ * password and only queries the users table for possible positives. A miss is not a guarantee: users
+ * registered on other nodes since the last rebuild are caught by the unique constraint on insert.
+ * The filter is rebuilt every {@code auth.usernames.refresh-interval-ms}.
+ */
+@Service
+public class UsernameRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(UsernameRegistry.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${auth.usernames.bloom.fpp:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${auth.usernames.bloom.min-capacity:1024}")
+    private int minCapacity;
+
+    private volatile BloomFilter filter;
+    private final Counter negatives;
+    private final Counter possiblePositives;
+    private final Counter falsePositives;
+
+    public UsernameRegistry(MeterRegistry meterRegistry) {
+        this.negatives = Counter.builder("auth.usernames.checks").tag("result", "negative")
+                .description("Username checks answered by the Bloom filter alone")
+                .register(meterRegistry);
+        this.possiblePositives = Counter.builder("auth.usernames.checks").tag("result", "possible")
+                .description("Username checks that had to consult the users table")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("auth.usernames.false-positives")
+                .description("Bloom filter hits for usernames that were free")
+                .register(meterRegistry);
+        Gauge.builder("auth.usernames.bloom.fpp", this, UsernameRegistry::expectedFalsePositiveRate)
+                .description("False-positive probability of the current username filter")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    @Scheduled(initialDelayString = "${auth.usernames.refresh-interval-ms:600000}",
+               fixedDelayString = "${auth.usernames.refresh-interval-ms:600000}")
+    public void refresh() {
+        List<String> usernames = ShardContext.call(null, userRepository::findAllUsernames);
+        BloomFilter rebuilt = new BloomFilter(Math.max(minCapacity, usernames.size() * 2L), falsePositiveRate);
+        usernames.forEach(rebuilt::put);
+        filter = rebuilt;
+        logger.debug("Rebuilt username filter with {} entries", usernames.size());
+    }
+
+    public boolean isTaken(String username) {
+        if (!filter.mightContain(username)) {
+            negatives.increment();
+            return false;
+        }
+
+        possiblePositives.increment();
+        boolean taken = ShardContext.call(null, () -> userRepository.existsByUsername(username));
+        if (!taken) {
+            falsePositives.increment();
+        }
+        return taken;
+    }
+
+    public void add(String username) {
+        filter.put(username);
+    }
+
+    public double expectedFalsePositiveRate() {
+        BloomFilter current = filter;
+        return current == null ? 0 : current.expectedFalsePositiveRate();
+    }
+}
@@ -5,15 +5,21 @@ import com.veri.taskmanager.dto.LoginRequest;
 import com.veri.taskmanager.dto.RegisterRequest;
 import com.veri.taskmanager.model.User;
 import com.veri.taskmanager.repository.UserRepository;
+import com.veri.taskmanager.security.CustomUserDetails;
 import com.veri.taskmanager.security.JwtUtil;
+import com.veri.taskmanager.security.TokenRevocationService;
+import com.veri.taskmanager.security.UsernameRegistry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -35,24 +41,37 @@ public class AuthService {
     private AuthenticationManager authenticationManager;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private UsernameRegistry usernameRegistry;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    /**
+     * Inserts the user and relies on the unique constraint on {@code users.username} to reject
+     * duplicates; {@link UsernameRegistry} turns away known usernames before the password is hashed.
+     */
     public AuthResponse register(RegisterRequest request) {
         logger.info("Registration attempt for username: {}", request.getUsername());
 
-        if (userRepository.existsByUsername(request.getUsername())) {
+        if (usernameRegistry.isTaken(request.getUsername())) {
             logger.warn("Registration failed: Username already exists - {}", request.getUsername());
             throw new RuntimeException("Username already exists");
         }
 
         String hashedPassword = passwordEncoder.encode(request.getPassword());
         User user = new User(request.getUsername(), hashedPassword);
-        userRepository.save(user);
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            usernameRegistry.add(request.getUsername());
+            logger.warn("Registration failed: Username already exists - {}", request.getUsername());
+            throw new RuntimeException("Username already exists");
+        }
+        usernameRegistry.add(user.getUsername());
 
         logger.info("User registered successfully: {}", request.getUsername());
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
-        String token = jwtUtil.generateToken(userDetails);
+        String token = jwtUtil.generateToken(new CustomUserDetails(user));
 
         return new AuthResponse(token, user.getUsername());
     }
@@ -60,8 +79,9 @@ public class AuthService {
     public AuthResponse login(LoginRequest request) {
         logger.info("Login attempt for username: {}", request.getUsername());
 
+        Authentication authentication;
         try {
-            authenticationManager.authenticate(
+            authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
             );
         } catch (BadCredentialsException e) {
@@ -69,11 +89,28 @@ public class AuthService {
             throw new RuntimeException("Invalid username or password");
         }
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(request.getUsername());
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         String token = jwtUtil.generateToken(userDetails);
 
         logger.info("User logged in successfully: {}", request.getUsername());
 
-        return new AuthResponse(token, request.getUsername());
+        return new AuthResponse(token, userDetails.getUsername());
+    }
+
+    public void logout(String token) {
+        Claims claims;
+        try {
+            claims = jwtUtil.extractClaim(token, c -> c);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new RuntimeException("Invalid or expired token");
+        }
+
+        if (claims.getId() != null) {
+            tokenRevocationService.revokeToken(claims.getId(), claims.getExpiration());
+        } else {
+            // Tokens issued before ids were added can only be revoked together.
+            tokenRevocationService.revokeAllForUser(claims.getSubject());
+        }
+        logger.info("User logged out: {}", claims.getSubject());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,120 @@
+package com.veri.taskmanager.service;
+
+import com.veri.taskmanager.repository.TaskArchiveRepository;
+import com.veri.taskmanager.repository.TaskRepository;
+import com.veri.taskmanager.sharding.ShardContext;
+import com.veri.taskmanager.sharding.ShardDataSources;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@ConditionalOnProperty(name = "task.archival.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskArchivalJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskArchivalJob.class);
+
+    @Autowired
+    private TaskArchivalService taskArchivalService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskArchiveRepository taskArchiveRepository;
+
+    @Autowired
+    private ObjectProvider<ShardDataSources> shardDataSources;
+
+    @Autowired
+    private TaskListCache taskListCache;
+
+    @Value("${task.archival.max-age-days:30}")
+    private long maxAgeDays;
+
+    @Value("${task.archival.batch-size:500}")
+    private int batchSize;
+
+    private final AtomicLong hotTableSize = new AtomicLong();
+    private final AtomicLong archiveTableSize = new AtomicLong();
+    private final Counter archivedTasks;
+    private final Timer archivalRuns;
+
+    public TaskArchivalJob(MeterRegistry meterRegistry) {
+        meterRegistry.gauge("tasks.hot.size", hotTableSize);
+        meterRegistry.gauge("tasks.archive.size", archiveTableSize);
+        this.archivedTasks = Counter.builder("tasks.archived")
+                .description("Completed tasks moved to tasks_archive")
+                .register(meterRegistry);
+        this.archivalRuns = Timer.builder("tasks.archival.run")
+                .description("Duration of a full archival pass")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${task.archival.initial-delay-ms:60000}",
+               fixedDelayString = "${task.archival.interval-ms:3600000}")
+    public void run() {
+        archivalRuns.record(() -> {
+            archiveCompletedTasks();
+        });
+    }
+
+    public long archiveCompletedTasks() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(maxAgeDays);
+        long started = System.nanoTime();
+        long moved = 0;
+        long hotTotal = 0;
+        long archiveTotal = 0;
+
+        for (String shard : shards()) {
+            moved += ShardContext.call(shard, () -> archiveBefore(cutoff));
+            hotTotal += ShardContext.call(shard, taskRepository::count);
+            archiveTotal += ShardContext.call(shard, taskArchiveRepository::count);
+        }
+
+        hotTableSize.set(hotTotal);
+        archiveTableSize.set(archiveTotal);
+
+        if (moved > 0) {
+            taskListCache.invalidateAll();
+            double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+            logger.info("Archived {} completed tasks older than {} days in {}s ({} tasks/s)",
+                    moved, maxAgeDays, String.format("%.2f", seconds), Math.round(moved / Math.max(seconds, 0.001)));
+        }
+        return moved;
+    }
+
+    private long archiveBefore(LocalDateTime cutoff) {
+        long moved = 0;
+        long afterId = 0;
+
+        List<Long> batch;
+        do {
+            batch = taskArchivalService.archiveBatch(cutoff, afterId, batchSize);
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1);
+                moved += batch.size();
+                archivedTasks.increment(batch.size());
+            }
+        } while (batch.size() == batchSize);
+        return moved;
+    }
+
+    private List<String> shards() {
+        ShardDataSources sharded = shardDataSources.getIfAvailable();
+        return sharded != null ? sharded.getShardNames() : Collections.singletonList(null);
+    }
+}
@@ -0,0 +1,46 @@
+package com.veri.taskmanager.service;
+
+import com.veri.taskmanager.model.TaskStatus;
+import com.veri.taskmanager.repository.TaskArchiveRepository;
+import com.veri.taskmanager.repository.TaskRepository;
+import com.veri.taskmanager.tags.TaskTagService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+@Service
+public class TaskArchivalService {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskArchiveRepository taskArchiveRepository;
+
+    @Autowired
+    private TaskTagService taskTagService;
+
+    /**
+     * Moves the next batch of completed tasks older than {@code cutoff} with an id above {@code afterId}.
+     * Rows are locked only for the duration of this one batch.
+     *
+     * @return the ids that were moved, in ascending order
+     */
+    @Transactional
+    public List<Long> archiveBatch(LocalDateTime cutoff, long afterId, int batchSize) {
+        List<Long> ids = taskRepository.lockArchivableIds(TaskStatus.COMPLETED, cutoff, afterId,
+                PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        taskArchiveRepository.copyFromTasks(ids, LocalDateTime.now());
+        taskTagService.removeArchived(ids);
+        taskRepository.deleteByIdIn(ids);
+        return ids;
+    }
+}
@@ -0,0 +1,172 @@
+package com.veri.taskmanager.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Encoded {@code GET /api/tasks} responses per user, bounded by total bytes with Caffeine's W-TinyLFU
+ * policy. One entry holds every list variant (format, fields, filter) a user has asked for, so a
+ * single invalidation drops them all. A load that overlaps a write to the same user is returned but
+ * not stored: loads read the user's write stamp first and only store if it is still unchanged.
+ */
+@Component
+public class TaskListCache {
+
+    private static final int STAMP_STRIPES = 1024;
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+    private static final int VARIANT_OVERHEAD_BYTES = 64;
+
+    private final boolean enabled;
+    private final Cache<Long, UserLists> cache;
+    private final AtomicLongArray writeStamps = new AtomicLongArray(STAMP_STRIPES);
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final DistributionSummary evictedBytes;
+
+    public TaskListCache(MeterRegistry meterRegistry,
+                         @Value("${task.list-cache.enabled:true}") boolean enabled,
+                         @Value("${task.list-cache.max-weight-bytes:67108864}") long maxWeightBytes) {
+        this.enabled = enabled;
+        this.hits = Counter.builder("tasks.list-cache.gets").tag("result", "hit")
+                .description("Task list requests answered from encoded bytes")
+                .register(meterRegistry);
+        this.misses = Counter.builder("tasks.list-cache.gets").tag("result", "miss")
+                .description("Task list requests that loaded and encoded the list")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("tasks.list-cache.evictions")
+                .description("Users evicted from the task list cache by size")
+                .register(meterRegistry);
+        this.evictedBytes = DistributionSummary.builder("tasks.list-cache.eviction.weight")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .executor(Runnable::run)
+                .weigher((Long userId, UserLists lists) -> lists.weight)
+                .removalListener((Long userId, UserLists lists, RemovalCause cause) -> {
+                    if (cause.wasEvicted() && lists != null) {
+                        evictions.increment();
+                        evictedBytes.record(lists.weight);
+                    }
+                })
+                .build();
+
+        Gauge.builder("tasks.list-cache.weight", this, TaskListCache::weightedSize)
+                .baseUnit("bytes")
+                .description("Estimated memory held by cached task lists")
+                .register(meterRegistry);
+        Gauge.builder("tasks.list-cache.hit-ratio", this, TaskListCache::hitRatio)
+                .register(meterRegistry);
+    }
+
+    public byte[] get(long userId, String variant, Supplier<byte[]> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        UserLists lists = cache.getIfPresent(userId);
+        byte[] cached = lists != null ? lists.get(variant) : null;
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        int stripe = stripe(userId);
+        long stamp = writeStamps.get(stripe);
+        byte[] encoded = loader.get();
+        cache.asMap().compute(userId, (id, current) -> {
+            if (writeStamps.get(stripe) != stamp) {
+                return current;
+            }
+            return current == null ? new UserLists(variant, encoded) : current.with(variant, encoded);
+        });
+        return encoded;
+    }
+
+    public void invalidate(long userId) {
+        writeStamps.incrementAndGet(stripe(userId));
+        cache.invalidate(userId);
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < STAMP_STRIPES; i++) {
+            writeStamps.incrementAndGet(i);
+        }
+        cache.invalidateAll();
+    }
+
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    long weightedSize() {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0))
+                .orElse(0L);
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private static int stripe(long userId) {
+        return (int) (userId ^ (userId >>> 32)) & (STAMP_STRIPES - 1);
+    }
+
+    private static final class UserLists {
+        private final String[] variants;
+        private final byte[][] payloads;
+        private final int weight;
+
+        private UserLists(String variant, byte[] payload) {
+            this(new String[] {variant}, new byte[][] {payload});
+        }
+
+        private UserLists(String[] variants, byte[][] payloads) {
+            this.variants = variants;
+            this.payloads = payloads;
+            int total = ENTRY_OVERHEAD_BYTES;
+            for (int i = 0; i < variants.length; i++) {
+                total += VARIANT_OVERHEAD_BYTES + variants[i].length() + payloads[i].length;
+            }
+            this.weight = total;
+        }
+
+        private byte[] get(String variant) {
+            for (int i = 0; i < variants.length; i++) {
+                if (variants[i].equals(variant)) {
+                    return payloads[i];
+                }
+            }
+            return null;
+        }
+
+        private UserLists with(String variant, byte[] payload) {
+            for (int i = 0; i < variants.length; i++) {
+                if (variants[i].equals(variant)) {
+                    byte[][] replaced = payloads.clone();
+                    replaced[i] = payload;
+                    return new UserLists(variants, replaced);
+                }
+            }
+            String[] grownVariants = Arrays.copyOf(variants, variants.length + 1);
+            byte[][] grownPayloads = Arrays.copyOf(payloads, payloads.length + 1);
+            grownVariants[variants.length] = variant;
+            grownPayloads[payloads.length] = payload;
+            return new UserLists(grownVariants, grownPayloads);
+        }
+    }
+}
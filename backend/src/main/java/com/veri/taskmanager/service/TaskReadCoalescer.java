@@ -0,0 +1,81 @@
+package com.veri.taskmanager.service;
+
+import com.veri.taskmanager.dto.TaskResponse;
+import com.veri.taskmanager.util.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Shares one store call between identical reads that arrive for the same user at the same time,
+ * e.g. several tabs loading at once or aggressive client retries. Writes detach the user's
+ * in-flight calls after commit.
+ */
+@Component
+public class TaskReadCoalescer {
+
+    private final boolean enabled;
+    private final SingleFlight<ReadKey, byte[]> lists = new SingleFlight<>();
+    private final SingleFlight<ReadKey, TaskResponse> tasks = new SingleFlight<>();
+
+    public TaskReadCoalescer(MeterRegistry meterRegistry,
+                             @Value("${task.read-coalescing.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+        FunctionCounter.builder("tasks.reads.coalesced", lists, SingleFlight::getCoalescedCount)
+                .tag("read", "list")
+                .description("Reads that joined an identical in-flight read instead of querying")
+                .register(meterRegistry);
+        FunctionCounter.builder("tasks.reads.coalesced", tasks, SingleFlight::getCoalescedCount)
+                .tag("read", "task")
+                .description("Reads that joined an identical in-flight read instead of querying")
+                .register(meterRegistry);
+    }
+
+    public byte[] list(long userId, String variant, Supplier<byte[]> loader) {
+        return enabled ? lists.execute(new ReadKey(userId, variant), loader) : loader.get();
+    }
+
+    public TaskResponse task(long userId, long taskId, String variant, Supplier<TaskResponse> loader) {
+        return enabled ? tasks.execute(new ReadKey(userId, taskId + ":" + variant), loader) : loader.get();
+    }
+
+    public void invalidate(long userId) {
+        lists.forget(key -> key.userId == userId);
+        tasks.forget(key -> key.userId == userId);
+    }
+
+    public long getCoalescedCount() {
+        return lists.getCoalescedCount() + tasks.getCoalescedCount();
+    }
+
+    private static final class ReadKey {
+        private final long userId;
+        private final Object read;
+
+        private ReadKey(long userId, Object read) {
+            this.userId = userId;
+            this.read = read;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof ReadKey)) {
+                return false;
+            }
+            ReadKey key = (ReadKey) other;
+            return userId == key.userId && read.equals(key.read);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, read);
+        }
+    }
+}
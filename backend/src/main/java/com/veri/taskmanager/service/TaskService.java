@@ -1,21 +1,52 @@
 package com.veri.taskmanager.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.veri.taskmanager.dto.BulkStatusResponse;
+import com.veri.taskmanager.dto.StandardResponse;
+import com.veri.taskmanager.dto.TaskFields;
+import com.veri.taskmanager.dto.TaskLookupResult;
+import com.veri.taskmanager.dto.TaskProjection;
+import com.veri.taskmanager.dto.TaskReminder;
 import com.veri.taskmanager.dto.TaskRequest;
 import com.veri.taskmanager.dto.TaskResponse;
-import com.veri.taskmanager.model.Task;
+import com.veri.taskmanager.journal.JournalField;
+import com.veri.taskmanager.journal.JournalOp;
+import com.veri.taskmanager.journal.JournalRecord;
+import com.veri.taskmanager.journal.TaskJournal;
 import com.veri.taskmanager.model.TaskStatus;
 import com.veri.taskmanager.model.User;
-import com.veri.taskmanager.repository.TaskRepository;
+import com.veri.taskmanager.reminder.ReminderScheduler;
 import com.veri.taskmanager.repository.UserRepository;
+import com.veri.taskmanager.security.CustomUserDetails;
+import com.veri.taskmanager.sharding.ShardContext;
+import com.veri.taskmanager.store.TaskStore;
+import com.veri.taskmanager.tags.TagFilter;
+import com.veri.taskmanager.tags.TaskTagIndex;
+import com.veri.taskmanager.tags.TaskTagService;
+import com.veri.taskmanager.util.AfterCommit;
+import com.veri.taskmanager.util.PayloadWriters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class TaskService {
@@ -23,103 +54,300 @@ public class TaskService {
     private static final Logger logger = LoggerFactory.getLogger(TaskService.class);
 
     @Autowired
-    private TaskRepository taskRepository;
+    private TaskStore taskStore;
 
     @Autowired
     private UserRepository userRepository;
 
-    public List<TaskResponse> getAllTasks() {
+    @Autowired
+    private TaskJournal taskJournal;
+
+    @Autowired
+    private TaskListCache taskListCache;
+
+    @Autowired
+    private PayloadWriters payloadWriters;
+
+    @Autowired
+    private TaskReadCoalescer taskReadCoalescer;
+
+    @Autowired
+    private ObjectProvider<ReminderScheduler> reminderScheduler;
+
+    @Autowired
+    private TaskTagService taskTagService;
+
+    @Autowired
+    private TaskTagIndex taskTagIndex;
+
+    @Value("${task.batch-get.max-ids:500}")
+    private int maxBatchIds;
+
+    /**
+     * The task list as an encoded {@code StandardResponse} in {@code mediaType}. Served from
+     * {@link TaskListCache} when the user's list has not changed since it was last encoded. Not
+     * transactional: a cache hit needs no connection, and encoding runs after the store's read-only
+     * transaction has released it.
+     */
+    public byte[] getTaskListPayload(TaskStatus status, TaskFields fields, boolean includeArchived,
+                                     MediaType mediaType) {
+        Long userId = getCurrentUserId();
+        String variant = mediaType.getSubtype() + ":" + fields.key() + ":"
+                + (status != null ? status.name() : includeArchived ? "archived" : "");
+
+        return taskListCache.get(userId, variant, () -> taskReadCoalescer.list(userId, variant, () -> {
+            List<TaskResponse> tasks = status != null
+                    ? getTasksByStatus(status, fields)
+                    : getAllTasks(fields, includeArchived);
+            return payloadWriters.writeTaskList(StandardResponse.success("Tasks retrieved successfully", tasks),
+                    mediaType);
+        }));
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getAllTasks(TaskFields fields, boolean includeArchived) {
         String username = getCurrentUsername();
-        User user = getUserByUsername(username);
+        Long userId = getCurrentUserId();
 
         logger.info("Getting all tasks for user: {}", username);
 
-        List<Task> tasks = taskRepository.findByUserId(user.getId());
-        return tasks.stream()
-                .map(this::mapToTaskResponse)
-                .collect(Collectors.toList());
+        return withTags(userId, fields, taskStore.findAll(userId, fields, includeArchived));
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getTasksByStatus(TaskStatus status, TaskFields fields) {
+        String username = getCurrentUsername();
+        Long userId = getCurrentUserId();
+
+        logger.info("Getting {} tasks for user: {}", status, username);
+
+        return withTags(userId, fields, taskStore.findByStatus(userId, status, fields));
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getRecentlyUpdatedTasks(LocalDateTime before, int limit) {
+        String username = getCurrentUsername();
+        Long userId = getCurrentUserId();
+
+        logger.info("Getting {} tasks updated before {} for user: {}", limit, before, username);
+
+        return withTags(userId,
+                taskStore.findUpdatedBefore(userId, before != null ? before : LocalDateTime.now().plusSeconds(1), limit));
+    }
+
+    /**
+     * Tasks whose tags match {@code filter}, e.g. {@code work AND urgent NOT blocked}, in id order.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getTasksByTags(String filter, TaskFields fields) {
+        String username = getCurrentUsername();
+        Long userId = getCurrentUserId();
+        TagFilter tagFilter = TagFilter.parse(filter);
+
+        logger.info("Getting tasks tagged {} for user: {}", filter, username);
+
+        long[] ids = taskTagIndex.filter(userId, tagFilter);
+        if (ids.length == 0) {
+            return Collections.emptyList();
+        }
+        List<Long> taskIds = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            taskIds.add(id);
+        }
+        return withTags(userId, fields, taskStore.findByIds(userId, taskIds, fields));
     }
 
-    public TaskResponse getTaskById(Long taskId) {
+    // Not transactional: callers coalesced onto one load would each hold a connection while they wait.
+    public TaskResponse getTaskById(Long taskId, TaskFields fields) {
         String username = getCurrentUsername();
-        User user = getUserByUsername(username);
+        Long userId = getCurrentUserId();
 
         logger.info("Getting task {} for user: {}", taskId, username);
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
+        return taskReadCoalescer.task(userId, taskId, fields.key(), () -> taskStore.findById(taskId, userId, fields)
+                .map(task -> fields.includes(TaskFields.Field.TAGS) ? withTags(userId, task) : task)
+                .orElseThrow(() -> new RuntimeException("Task not found")));
+    }
 
-        if (!task.getUser().getId().equals(user.getId())) {
-            logger.warn("User {} attempted to access task {} owned by user {}",
-                       username, taskId, task.getUser().getUsername());
-            throw new RuntimeException("Task not found");
+    /**
+     * Looks up {@code taskIds} with owner-scoped {@code in} queries and answers in request order, with
+     * a not-found entry for each id the user does not own.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskLookupResult> getTasksByIds(List<Long> taskIds, TaskFields fields) {
+        if (taskIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one task id is required");
+        }
+        if (taskIds.size() > maxBatchIds) {
+            throw new IllegalArgumentException("At most " + maxBatchIds + " task ids per request");
+        }
+        if (taskIds.contains(null)) {
+            throw new IllegalArgumentException("Invalid task id");
         }
+        String username = getCurrentUsername();
+        Long userId = getCurrentUserId();
+
+        logger.info("Getting {} tasks by id for user: {}", taskIds.size(), username);
 
-        return mapToTaskResponse(task);
+        Map<Long, TaskResponse> found = new HashMap<>();
+        for (TaskResponse task : withTags(userId, fields, taskStore.findByIds(userId, taskIds, fields))) {
+            found.put(task.getId(), task);
+        }
+        List<TaskLookupResult> results = new ArrayList<>(taskIds.size());
+        for (Long id : taskIds) {
+            TaskResponse task = found.get(id);
+            results.add(new TaskLookupResult(id, task != null, task));
+        }
+        return results;
     }
 
+    // Not transactional here: under group commit the insert runs on the writer thread, and an open
+    // transaction would hold a connection while waiting for it. The store writes the tags in the
+    // transaction that inserts the task, in either mode.
     public TaskResponse createTask(TaskRequest request) {
         String username = getCurrentUsername();
-        User user = getUserByUsername(username);
+        Long userId = getCurrentUserId();
+        TaskStatus status = request.getStatus() != null ? request.getStatus() : TaskStatus.PENDING;
 
-        logger.info("Creating task for user: {}", username);
-
-        Task task = new Task();
-        task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
-        task.setStatus(request.getStatus() != null ? request.getStatus() : TaskStatus.PENDING);
-        task.setUser(user);
+        Set<String> tags = TaskTagIndex.normalize(request.getTags());
 
-        Task savedTask = taskRepository.save(task);
-        logger.info("Task created with ID {} for user: {}", savedTask.getId(), username);
+        logger.info("Creating task for user: {}", username);
 
-        return mapToTaskResponse(savedTask);
+        if (taskJournal.isEnabled()) {
+            // createTask is not transactional, so check before the insert commits rather than when journaling.
+            TaskResponse draft = new TaskResponse(null, request.getTitle(), request.getDescription(), status, null,
+                    null, stored(request.getDueAt()), stored(request.getRemindAt()));
+            draft.setTags(tags.isEmpty() ? null : tags);
+            requireJournalable(journalRecord(JournalOp.CREATE, userId, draft));
+        }
+        TaskResponse task = taskStore.create(userId, request.getTitle(), request.getDescription(), status,
+                stored(request.getDueAt()), stored(request.getRemindAt()), created -> {
+                    if (!tags.isEmpty()) {
+                        created.setTags(taskTagService.replace(userId, created.getId(), tags));
+                    }
+                });
+        logger.info("Task created with ID {} for user: {}", task.getId(), username);
+        journal(JournalOp.CREATE, userId, task);
+        invalidateReads(userId);
+        scheduleReminder(userId, task);
+
+        return task;
     }
 
+    @Transactional
     public TaskResponse updateTask(Long taskId, TaskRequest request) {
         String username = getCurrentUsername();
-        User user = getUserByUsername(username);
+        Long userId = getCurrentUserId();
+
+        Set<String> tags = TaskTagIndex.normalize(request.getTags());
 
         logger.info("Updating task {} for user: {}", taskId, username);
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
+        TaskResponse task = taskStore.update(taskId, userId, draft -> {
+            draft.setTitle(request.getTitle());
+            draft.setDescription(request.getDescription());
+            if (request.getStatus() != null) {
+                draft.setStatus(request.getStatus());
+            }
+            draft.setDueAt(stored(request.getDueAt()));
+            draft.setRemindAt(stored(request.getRemindAt()));
+        }).orElseThrow(() -> new RuntimeException("Task not found"));
+        setTags(userId, task, tags);
+
+        logger.info("Task {} updated for user: {}", taskId, username);
+        journal(JournalOp.UPDATE, userId, task);
+        invalidateReads(userId);
+        scheduleReminder(userId, task);
+
+        return task;
+    }
 
-        if (!task.getUser().getId().equals(user.getId())) {
-            logger.warn("User {} attempted to update task {} owned by user {}",
-                       username, taskId, task.getUser().getUsername());
+    public TaskResponse updateTaskStatus(Long taskId, TaskStatus status) {
+        String username = getCurrentUsername();
+        Long userId = getCurrentUserId();
+
+        logger.info("Setting status of task {} to {} for user: {}", taskId, status, username);
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!taskStore.updateStatus(taskId, userId, status, now)) {
             throw new RuntimeException("Task not found");
         }
+        journal(new JournalRecord(JournalOp.UPDATE, taskId, userId).with(JournalField.STATUS, status));
+        invalidateReads(userId);
+        // Only the columns this update wrote are known, so answer with just those.
+        TaskResponse updated = new TaskProjection();
+        updated.setId(taskId);
+        updated.setStatus(status);
+        updated.setUpdatedAt(now);
+        return updated;
+    }
+
+    public BulkStatusResponse updateTaskStatuses(List<Long> taskIds, TaskStatus status) {
+        String username = getCurrentUsername();
+        Long userId = getCurrentUserId();
+        Set<Long> ids = new LinkedHashSet<>(taskIds);
+
+        logger.info("Setting status of {} tasks to {} for user: {}", ids.size(), status, username);
+
+        int updated = taskStore.updateStatuses(ids, userId, status, LocalDateTime.now());
+        if (updated > 0) {
+            journal(new JournalRecord(JournalOp.BULK_STATUS, 0, userId)
+                    .with(JournalField.IDS, joinIds(ids))
+                    .with(JournalField.STATUS, status));
+            invalidateReads(userId);
+        }
+        return new BulkStatusResponse(ids.size(), updated);
+    }
+
+    @Transactional
+    public TaskResponse patchTask(Long taskId, JsonNode patch) {
+        String username = getCurrentUsername();
+        Long userId = getCurrentUserId();
 
-        task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
-        if (request.getStatus() != null) {
-            task.setStatus(request.getStatus());
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("Merge patch must be a JSON object");
         }
 
-        Task updatedTask = taskRepository.save(task);
-        logger.info("Task {} updated for user: {}", taskId, username);
+        Set<String> tags = patch.has("tags") ? parseTags(patch.get("tags")) : null;
+
+        logger.info("Patching task {} for user: {}", taskId, username);
 
-        return mapToTaskResponse(updatedTask);
+        TaskResponse task = taskStore.update(taskId, userId, draft -> applyMergePatch(draft, patch))
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+        if (tags != null) {
+            setTags(userId, task, tags);
+        } else {
+            withTags(userId, task);
+        }
+
+        logger.info("Task {} patched for user: {}", taskId, username);
+        journal(JournalOp.UPDATE, userId, task);
+        invalidateReads(userId);
+        scheduleReminder(userId, task);
+
+        return task;
     }
 
+    @Transactional
     public void deleteTask(Long taskId) {
         String username = getCurrentUsername();
-        User user = getUserByUsername(username);
+        Long userId = getCurrentUserId();
 
         logger.info("Deleting task {} for user: {}", taskId, username);
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
-
-        if (!task.getUser().getId().equals(user.getId())) {
-            logger.warn("User {} attempted to delete task {} owned by user {}",
-                       username, taskId, task.getUser().getUsername());
+        if (!taskStore.delete(taskId, userId)) {
             throw new RuntimeException("Task not found");
         }
+        taskTagService.remove(userId, taskId);
 
-        taskRepository.delete(task);
         logger.info("Task {} deleted for user: {}", taskId, username);
+        journal(new JournalRecord(JournalOp.DELETE, taskId, userId));
+        invalidateReads(userId);
+        ReminderScheduler scheduler = reminderScheduler.getIfAvailable();
+        if (scheduler != null) {
+            String shard = ShardContext.current();
+            AfterCommit.run(() -> scheduler.cancel(shard, taskId));
+        }
     }
 
     private String getCurrentUsername() {
@@ -127,19 +355,182 @@ public class TaskService {
         return authentication.getName();
     }
 
+    private Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof CustomUserDetails) {
+            return ((CustomUserDetails) authentication.getPrincipal()).getUser().getId();
+        }
+        return getUserByUsername(authentication.getName()).getId();
+    }
+
     private User getUserByUsername(String username) {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
-    private TaskResponse mapToTaskResponse(Task task) {
-        return new TaskResponse(
-                task.getId(),
-                task.getTitle(),
-                task.getDescription(),
-                task.getStatus(),
-                task.getCreatedAt(),
-                task.getUpdatedAt()
-        );
+    private void applyMergePatch(TaskResponse draft, JsonNode patch) {
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            switch (field.getKey()) {
+                case "title":
+                    if (!value.isTextual() || value.asText().isBlank()) {
+                        throw new IllegalArgumentException("Title is required");
+                    }
+                    if (value.asText().length() > TaskRequest.MAX_TITLE_LENGTH) {
+                        throw new IllegalArgumentException("Title must be at most 255 characters");
+                    }
+                    draft.setTitle(value.asText());
+                    break;
+                case "description":
+                    if (!value.isNull() && value.asText().length() > TaskRequest.MAX_DESCRIPTION_LENGTH) {
+                        throw new IllegalArgumentException("Description must be at most 10000 characters");
+                    }
+                    draft.setDescription(value.isNull() ? null : value.asText());
+                    break;
+                case "status":
+                    draft.setStatus(parseStatus(value));
+                    break;
+                case "dueAt":
+                    draft.setDueAt(parseDateTime(field.getKey(), value));
+                    break;
+                case "remindAt":
+                    draft.setRemindAt(parseDateTime(field.getKey(), value));
+                    break;
+                case "tags":
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown field: " + field.getKey());
+            }
+        }
+    }
+
+    private TaskStatus parseStatus(JsonNode value) {
+        if (value.isTextual()) {
+            for (TaskStatus status : TaskStatus.values()) {
+                if (status.name().equals(value.asText())) {
+                    return status;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Invalid status: " + value);
+    }
+
+    private Set<String> parseTags(JsonNode value) {
+        if (value.isNull()) {
+            return Collections.emptySet();
+        }
+        if (!value.isArray()) {
+            throw new IllegalArgumentException("Tags must be an array");
+        }
+        List<String> tags = new ArrayList<>(value.size());
+        for (JsonNode tag : value) {
+            if (!tag.isTextual()) {
+                throw new IllegalArgumentException("Invalid tag: " + tag);
+            }
+            tags.add(tag.asText());
+        }
+        return TaskTagIndex.normalize(tags);
+    }
+
+    private void setTags(Long userId, TaskResponse task, Set<String> tags) {
+        Set<String> stored = taskTagService.replace(userId, task.getId(), tags);
+        task.setTags(stored.isEmpty() ? null : stored);
+    }
+
+    private TaskResponse withTags(Long userId, TaskResponse task) {
+        taskTagIndex.attach(userId, Collections.singletonList(task));
+        return task;
+    }
+
+    private List<TaskResponse> withTags(Long userId, List<TaskResponse> tasks) {
+        taskTagIndex.attach(userId, tasks);
+        return tasks;
+    }
+
+    private List<TaskResponse> withTags(Long userId, TaskFields fields, List<TaskResponse> tasks) {
+        return fields.includes(TaskFields.Field.TAGS) ? withTags(userId, tasks) : tasks;
+    }
+
+    // Timestamps are stored with microsecond precision; the reminder clear matches remind_at exactly, so
+    // the value kept in the scheduler must be the one the database holds.
+    private static LocalDateTime stored(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private LocalDateTime parseDateTime(String name, JsonNode value) {
+        if (value.isNull()) {
+            return null;
+        }
+        if (!value.isTextual()) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+        try {
+            return stored(LocalDateTime.parse(value.asText()));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private void journal(JournalOp op, Long userId, TaskResponse task) {
+        if (taskJournal.isEnabled()) {
+            journal(journalRecord(op, userId, task));
+        }
+    }
+
+    private static JournalRecord journalRecord(JournalOp op, Long userId, TaskResponse task) {
+        return new JournalRecord(op, task.getId() != null ? task.getId() : 0, userId)
+                .with(JournalField.TITLE, task.getTitle())
+                .with(JournalField.DESCRIPTION, task.getDescription())
+                .with(JournalField.STATUS, task.getStatus())
+                .with(JournalField.DUE_AT, task.getDueAt())
+                .with(JournalField.REMIND_AT, task.getRemindAt())
+                .with(JournalField.TAGS, task.getTags() != null ? String.join(",", task.getTags()) : null);
+    }
+
+    /**
+     * Rejects a mutation whose journal record could never be written. Call it before the change commits:
+     * the journal writer can only drop a record that does not fit a segment.
+     */
+    private void requireJournalable(JournalRecord record) {
+        if (taskJournal.isEnabled() && !taskJournal.accepts(record)) {
+            throw new IllegalArgumentException("Task is too large to journal");
+        }
+    }
+
+    private void journal(JournalRecord record) {
+        if (taskJournal.isEnabled()) {
+            requireJournalable(record);
+            AfterCommit.run(() -> taskJournal.append(record));
+        }
+    }
+
+    private void scheduleReminder(Long userId, TaskResponse task) {
+        ReminderScheduler scheduler = reminderScheduler.getIfAvailable();
+        if (scheduler != null) {
+            String shard = ShardContext.current();
+            TaskReminder reminder = new TaskReminder(task.getId(), userId, task.getTitle(), task.getDueAt(),
+                    task.getRemindAt());
+            AfterCommit.run(() -> scheduler.schedule(shard, reminder));
+        }
+    }
+
+    private void invalidateReads(Long userId) {
+        AfterCommit.run(() -> {
+            taskReadCoalescer.invalidate(userId);
+            taskListCache.invalidate(userId);
+        });
+    }
+
+    private static String joinIds(Set<Long> ids) {
+        StringBuilder joined = new StringBuilder(ids.size() * 8);
+        for (Long id : ids) {
+            if (joined.length() > 0) {
+                joined.append(',');
+            }
+            joined.append(id);
+        }
+        return joined.toString();
     }
-}
\ No newline at end of file
+}
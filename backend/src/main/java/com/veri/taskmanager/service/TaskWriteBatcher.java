@@ -0,0 +1,268 @@
+package com.veri.taskmanager.service;
+
+import com.veri.taskmanager.dto.TaskResponse;
+import com.veri.taskmanager.model.Task;
+import com.veri.taskmanager.model.TaskStatus;
+import com.veri.taskmanager.repository.TaskRepository;
+import com.veri.taskmanager.repository.UserRepository;
+import com.veri.taskmanager.sharding.ShardContext;
+import com.veri.taskmanager.store.JpaTaskStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Group-commit write path for task creation, enabled with {@code task.write-mode=group-commit}.
+ * Callers enqueue and wait; a single writer thread drains up to {@code max-batch} requests or
+ * whatever arrived within {@code max-delay-ms}, inserts them with JDBC batching in one transaction
+ * and completes each caller's future with its assigned id. Under the {@code sharded} profile a batch
+ * is split by the callers' shards and committed once per shard.
+ */
+@Component
+public class TaskWriteBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskWriteBatcher.class);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${task.write-mode:direct}")
+    private String writeMode;
+
+    @Value("${task.group-commit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${task.group-commit.max-batch:256}")
+    private int maxBatch;
+
+    @Value("${task.group-commit.max-delay-ms:5}")
+    private long maxDelayMs;
+
+    @Value("${task.group-commit.wait-timeout-ms:5000}")
+    private long waitTimeoutMs;
+
+    private final Counter commits;
+    private final DistributionSummary batchSizes;
+
+    private BlockingQueue<PendingCreate> queue;
+    private TransactionTemplate transactionTemplate;
+    private Thread writer;
+    private volatile boolean running;
+
+    public TaskWriteBatcher(MeterRegistry meterRegistry) {
+        this.commits = Counter.builder("tasks.group-commit.commits")
+                .description("Transactions committed by the group-commit writer")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("tasks.group-commit.batch-size")
+                .description("Tasks inserted per group commit")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        running = true;
+        writer = new Thread(this::drainLoop, "task-group-commit");
+        writer.setDaemon(true);
+        writer.start();
+        logger.info("Group-commit task writer started (max batch {}, max delay {} ms)", maxBatch, maxDelayMs);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    public boolean isEnabled() {
+        return "group-commit".equals(writeMode);
+    }
+
+    public TaskResponse submit(Long userId, String title, String description, TaskStatus status,
+                               LocalDateTime dueAt, LocalDateTime remindAt) {
+        return submit(userId, title, description, status, dueAt, remindAt, task -> { });
+    }
+
+    /**
+     * Queues the insert and waits for it. {@code inTransaction} runs on the writer thread inside the batch
+     * transaction, so whatever it writes commits with the task.
+     */
+    public TaskResponse submit(Long userId, String title, String description, TaskStatus status,
+                               LocalDateTime dueAt, LocalDateTime remindAt, Consumer<TaskResponse> inTransaction) {
+        PendingCreate pending = new PendingCreate(ShardContext.current(), userId, title, description, status,
+                dueAt, remindAt, inTransaction);
+        if (!queue.offer(pending)) {
+            throw new WriteQueueFullException("Task write queue is full");
+        }
+        try {
+            return pending.future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new WriteTimeoutException(
+                    "Timed out waiting for the task to be written; it may still have been created", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for group commit", e);
+        }
+    }
+
+    private void drainLoop() {
+        List<PendingCreate> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingCreate first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingCreate next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flushByShard(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (Throwable e) {
+                // Whatever escaped flush must not kill the only writer: fail this batch and keep draining.
+                logger.error("Group commit of {} tasks failed unexpectedly", batch.size(), e);
+                for (PendingCreate pending : batch) {
+                    pending.future.completeExceptionally(e);
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flushByShard(List<PendingCreate> batch) {
+        if (batch.stream().allMatch(pending -> Objects.equals(pending.shard, batch.get(0).shard))) {
+            ShardContext.run(batch.get(0).shard, () -> flush(batch));
+            return;
+        }
+        Map<String, List<PendingCreate>> byShard = new LinkedHashMap<>();
+        for (PendingCreate pending : batch) {
+            byShard.computeIfAbsent(pending.shard, shard -> new ArrayList<>()).add(pending);
+        }
+        byShard.forEach((shard, pending) -> ShardContext.run(shard, () -> flush(pending)));
+    }
+
+    private void flush(List<PendingCreate> batch) {
+        List<TaskResponse> tasks;
+        try {
+            tasks = insert(batch);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                logger.error("Group commit of a task failed", e);
+                batch.get(0).future.completeExceptionally(e);
+                return;
+            }
+            // One bad row rolls back the whole batch; retry row by row so only its caller fails.
+            logger.warn("Group commit of {} tasks failed, retrying them one at a time", batch.size(), e);
+            for (PendingCreate pending : batch) {
+                flush(List.of(pending));
+            }
+            return;
+        }
+
+        commits.increment();
+        batchSizes.record(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).future.complete(tasks.get(i));
+        }
+    }
+
+    private List<TaskResponse> insert(List<PendingCreate> batch) {
+        return transactionTemplate.execute(status -> {
+            List<Task> tasks = new ArrayList<>(batch.size());
+            for (PendingCreate pending : batch) {
+                Task task = new Task();
+                task.setTitle(pending.title);
+                task.setDescription(pending.description);
+                task.setStatus(pending.status);
+                task.setDueAt(pending.dueAt);
+                task.setRemindAt(pending.remindAt);
+                task.setUser(userRepository.getReferenceById(pending.userId));
+                tasks.add(task);
+            }
+            taskRepository.saveAll(tasks);
+
+            List<TaskResponse> created = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                TaskResponse task = JpaTaskStore.toResponse(tasks.get(i));
+                batch.get(i).inTransaction.accept(task);
+                created.add(task);
+            }
+            return created;
+        });
+    }
+
+    private static final class PendingCreate {
+        private final String shard;
+        private final Long userId;
+        private final String title;
+        private final String description;
+        private final TaskStatus status;
+        private final LocalDateTime dueAt;
+        private final LocalDateTime remindAt;
+        private final Consumer<TaskResponse> inTransaction;
+        private final CompletableFuture<TaskResponse> future = new CompletableFuture<>();
+
+        private PendingCreate(String shard, Long userId, String title, String description, TaskStatus status,
+                              LocalDateTime dueAt, LocalDateTime remindAt, Consumer<TaskResponse> inTransaction) {
+            this.shard = shard;
+            this.userId = userId;
+            this.title = title;
+            this.description = description;
+            this.status = status;
+            this.dueAt = dueAt;
+            this.remindAt = remindAt;
+            this.inTransaction = inTransaction;
+        }
+    }
+}
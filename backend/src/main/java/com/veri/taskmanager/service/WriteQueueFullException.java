@@ -0,0 +1,8 @@
+package com.veri.taskmanager.service;
+
+public class WriteQueueFullException extends RuntimeException {
+
+    public WriteQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.veri.taskmanager.service;
+
+/**
+ * The caller stopped waiting for a queued write. The write is not cancelled and may still commit.
+ */
+public class WriteTimeoutException extends RuntimeException {
+
+    public WriteTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
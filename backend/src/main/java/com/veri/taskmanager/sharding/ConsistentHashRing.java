@@ -0,0 +1,62 @@
+package com.veri.taskmanager.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Consistent-hash ring over shard names. Each shard is placed at {@code virtualNodes} points so
+ * keys spread evenly, and adding or removing a shard only moves the keys between it and its
+ * neighbours. Points are kept in a sorted primitive array and looked up with a binary search.
+ */
+public final class ConsistentHashRing {
+
+    private final long[] points;
+    private final String[] owners;
+
+    public ConsistentHashRing(List<String> shards, int virtualNodes) {
+        if (shards.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("A hash ring needs at least one shard and one virtual node");
+        }
+        TreeMap<Long, String> ring = new TreeMap<>();
+        for (String shard : shards) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.putIfAbsent(hash(shard + "#" + i), shard);
+            }
+        }
+        points = new long[ring.size()];
+        owners = new String[ring.size()];
+        int i = 0;
+        for (Map.Entry<Long, String> point : ring.entrySet()) {
+            points[i] = point.getKey();
+            owners[i] = point.getValue();
+            i++;
+        }
+    }
+
+    public String shardFor(long key) {
+        int index = Arrays.binarySearch(points, mix(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    static long mix(long value) {
+        long z = value + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,49 @@
+package com.veri.taskmanager.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard selected for the current thread. {@link ShardRoutingDataSource} reads it whenever a
+ * connection is acquired, so it must be set before a transaction or entity manager touches the
+ * database; with no shard set, connections go to the directory database.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    public static void set(String shard) {
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static void run(String shard, Runnable action) {
+        call(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static <T> T call(String shard, Supplier<T> action) {
+        String previous = CURRENT.get();
+        set(shard);
+        try {
+            return action.get();
+        } finally {
+            set(previous);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.veri.taskmanager.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The directory database plus one pool, {@link JdbcTemplate} and transaction manager per shard.
+ * JPA goes through {@link ShardRoutingDataSource}; code that works on a named shard directly
+ * (rebalancing, maintenance jobs) uses these.
+ */
+public class ShardDataSources {
+
+    private final Map<String, Shard> shards = new LinkedHashMap<>();
+    private final Shard directory;
+
+    ShardDataSources(HikariDataSource directory, Map<String, HikariDataSource> shards) {
+        this.directory = new Shard(directory);
+        shards.forEach((name, dataSource) -> this.shards.put(name, new Shard(dataSource)));
+    }
+
+    public List<String> getShardNames() {
+        return Collections.unmodifiableList(new ArrayList<>(shards.keySet()));
+    }
+
+    public DataSource getDirectory() {
+        return directory.dataSource;
+    }
+
+    public JdbcTemplate directoryJdbc() {
+        return directory.jdbc;
+    }
+
+    public DataSource dataSource(String shard) {
+        return get(shard).dataSource;
+    }
+
+    public JdbcTemplate jdbc(String shard) {
+        return get(shard).jdbc;
+    }
+
+    public TransactionTemplate transaction(String shard) {
+        return get(shard).transaction;
+    }
+
+    Map<Object, Object> routingTargets() {
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        shards.forEach((name, shard) -> targets.put(name, shard.dataSource));
+        return targets;
+    }
+
+    public void close() {
+        shards.values().forEach(shard -> shard.dataSource.close());
+        directory.dataSource.close();
+    }
+
+    private Shard get(String shard) {
+        Shard found = shards.get(shard);
+        if (found == null) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        return found;
+    }
+
+    private static final class Shard {
+        private final HikariDataSource dataSource;
+        private final JdbcTemplate jdbc;
+        private final TransactionTemplate transaction;
+
+        private Shard(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+            this.jdbc = new JdbcTemplate(dataSource);
+            this.transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        }
+    }
+}
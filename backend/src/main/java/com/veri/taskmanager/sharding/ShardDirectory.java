@@ -0,0 +1,131 @@
+package com.veri.taskmanager.sharding;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Authoritative user-to-shard map, stored in the directory database. A user without an entry is
+ * placed by the hash ring on first access; after that the entry only changes through
+ * {@link ShardRebalancer}, so adding shards never strands existing data. Lookups are cached for
+ * {@code sharding.directory-cache-ttl-ms}, which bounds how long a node can route by a stale entry.
+ */
+@Component
+@Profile("sharded")
+public class ShardDirectory {
+
+    public enum State {
+        ACTIVE,
+        MIGRATING
+    }
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @Autowired
+    private ConsistentHashRing shardRing;
+
+    @Autowired
+    private ShardingProperties properties;
+
+    private final Map<Long, Placement> cache = new ConcurrentHashMap<>();
+
+    public Placement placementOf(long userId) {
+        Placement cached = cache.get(userId);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt < properties.getDirectoryCacheTtlMs()) {
+            return cached;
+        }
+        Placement placement = lookup(userId).orElseGet(() -> assign(userId));
+        cache.put(userId, placement);
+        return placement;
+    }
+
+    public Optional<Placement> lookup(long userId) {
+        return jdbc().query("select user_id, shard, state from shard_directory where user_id = ?", PLACEMENT, userId)
+                .stream()
+                .findFirst();
+    }
+
+    public void update(long userId, String shard, State state) {
+        int updated = jdbc().update("update shard_directory set shard = ?, state = ?, updated_at = ? where user_id = ?",
+                shard, state.name(), Timestamp.valueOf(LocalDateTime.now()), userId);
+        if (updated == 0) {
+            insert(userId, shard, state);
+        }
+        cache.remove(userId);
+    }
+
+    /** Entries whose shard differs from where the ring would place the user today. */
+    public List<Placement> findMisplaced() {
+        return jdbc().query("select user_id, shard, state from shard_directory order by user_id", PLACEMENT)
+                .stream()
+                .filter(placement -> !placement.getShard().equals(shardRing.shardFor(placement.getUserId())))
+                .collect(Collectors.toList());
+    }
+
+    public long getCacheTtlMs() {
+        return properties.getDirectoryCacheTtlMs();
+    }
+
+    private Placement assign(long userId) {
+        String shard = shardRing.shardFor(userId);
+        try {
+            insert(userId, shard, State.ACTIVE);
+        } catch (DuplicateKeyException e) {
+            return lookup(userId).orElseThrow(() -> e);
+        }
+        return new Placement(userId, shard, State.ACTIVE);
+    }
+
+    private void insert(long userId, String shard, State state) {
+        jdbc().update("insert into shard_directory (user_id, shard, state, updated_at) values (?, ?, ?, ?)",
+                userId, shard, state.name(), Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private JdbcTemplate jdbc() {
+        return shardDataSources.directoryJdbc();
+    }
+
+    private static final RowMapper<Placement> PLACEMENT = (rs, rowNum) ->
+            new Placement(rs.getLong(1), rs.getString(2), State.valueOf(rs.getString(3)));
+
+    public static final class Placement {
+        private final long userId;
+        private final String shard;
+        private final State state;
+        private final long loadedAt = System.currentTimeMillis();
+
+        Placement(long userId, String shard, State state) {
+            this.userId = userId;
+            this.shard = shard;
+            this.state = state;
+        }
+
+        public long getUserId() {
+            return userId;
+        }
+
+        public String getShard() {
+            return shard;
+        }
+
+        public State getState() {
+            return state;
+        }
+
+        public boolean isMigrating() {
+            return state == State.MIGRATING;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.veri.taskmanager.sharding;
+
+import com.veri.taskmanager.TaskmanagerApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+
+/**
+ * Moves users between shards while the application is running. Starts a non-web context with the
+ * {@code sharded} profile; the default shard urls use {@code AUTO_SERVER=TRUE}, so it can open the
+ * same H2 files as the live application. Extra {@code --key=value} arguments override properties,
+ * e.g. {@code --sharding.shards=shard0,shard1,shard2,shard3} after adding a shard.
+ *
+ * <pre>
+ * rebalance                 move every user whose entry no longer matches the hash ring
+ * move [userId] [shard]     move one user
+ * </pre>
+ */
+public final class ShardRebalanceCli {
+
+    private ShardRebalanceCli() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0 || ("move".equals(args[0]) && args.length < 3)) {
+            System.err.println("usage: ShardRebalanceCli rebalance | move [userId] [shard]");
+            System.exit(2);
+        }
+
+        String[] overrides = Arrays.copyOf(args, args.length + 3);
+        overrides[args.length] = "--journal.enabled=false";
+        overrides[args.length + 1] = "--task.archival.enabled=false";
+        overrides[args.length + 2] = "--spring.main.banner-mode=off";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskmanagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("sharded")
+                .run(overrides)) {
+            ShardRebalancer rebalancer = context.getBean(ShardRebalancer.class);
+            if ("rebalance".equals(args[0])) {
+                System.out.println("Moved " + rebalancer.rebalance() + " users");
+            } else if ("move".equals(args[0])) {
+                System.out.println("Copied " + rebalancer.moveUser(Long.parseLong(args[1]), args[2]) + " rows");
+            } else {
+                System.err.println("Unknown command: " + args[0]);
+                System.exit(2);
+            }
+        }
+    }
+}
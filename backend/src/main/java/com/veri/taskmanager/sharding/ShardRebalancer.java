@@ -0,0 +1,146 @@
+package com.veri.taskmanager.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves users' rows between shards while the application keeps serving them. A move marks the user
+ * MIGRATING (writes get 503, reads stay on the source), waits out the directory cache so no node
+ * still routes writes by the old entry, copies tasks, archived tasks, tags and idempotency keys in one
+ * target transaction, flips the directory entry and, after another cache period, deletes the
+ * source rows. A move interrupted before the flip is rolled back to the source and can be re-run.
+ */
+@Component
+@Profile("sharded")
+public class ShardRebalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    private static final String TASK_COLUMNS = "id, title, description, status, user_id, created_at, updated_at, due_at, remind_at";
+    private static final String ARCHIVE_COLUMNS = TASK_COLUMNS + ", archived_at";
+    private static final String TAG_COLUMNS = "task_id, tag, user_id";
+    private static final String IDEMPOTENCY_COLUMNS = "idem_key, fingerprint, status_code, location, body, expires_at";
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @Autowired
+    private ConsistentHashRing shardRing;
+
+    @Value("${sharding.rebalance.grace-ms:1000}")
+    private long graceMs;
+
+    /**
+     * Moves every user whose directory entry no longer matches the hash ring, e.g. after adding a shard.
+     *
+     * @return the number of users moved
+     */
+    public int rebalance() {
+        int moved = 0;
+        for (ShardDirectory.Placement placement : shardDirectory.findMisplaced()) {
+            moveUser(placement.getUserId(), shardRing.shardFor(placement.getUserId()));
+            moved++;
+        }
+        return moved;
+    }
+
+    /**
+     * @return the number of rows copied to {@code target}
+     */
+    public int moveUser(long userId, String target) {
+        shardDataSources.dataSource(target);
+        ShardDirectory.Placement current = shardDirectory.lookup(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User " + userId + " has no shard assignment"));
+        String source = current.getShard();
+        if (source.equals(target)) {
+            return 0;
+        }
+
+        logger.info("Moving user {} from {} to {}", userId, source, target);
+        shardDirectory.update(userId, source, ShardDirectory.State.MIGRATING);
+        int copied;
+        try {
+            pause();
+            copied = copy(userId, source, target);
+        } catch (RuntimeException e) {
+            shardDirectory.update(userId, source, ShardDirectory.State.ACTIVE);
+            throw e;
+        }
+        shardDirectory.update(userId, target, ShardDirectory.State.ACTIVE);
+
+        pause();
+        JdbcTemplate from = shardDataSources.jdbc(source);
+        shardDataSources.transaction(source).executeWithoutResult(status -> delete(from, userId, username(userId)));
+        logger.info("Moved {} rows for user {} from {} to {}", copied, userId, source, target);
+        return copied;
+    }
+
+    private int copy(long userId, String source, String target) {
+        JdbcTemplate from = shardDataSources.jdbc(source);
+        JdbcTemplate to = shardDataSources.jdbc(target);
+        String username = username(userId);
+
+        List<Object[]> tasks = from.query("select " + TASK_COLUMNS + " from tasks where user_id = ?", ROW, userId);
+        List<Object[]> archived = from.query("select " + ARCHIVE_COLUMNS + " from tasks_archive where user_id = ?",
+                ROW, userId);
+        List<Object[]> keys = username == null ? Collections.emptyList()
+                : from.query("select " + IDEMPOTENCY_COLUMNS + " from idempotency_keys where left(idem_key, ?) = ?",
+                        ROW, username.length() + 1, username + ":");
+        List<Object[]> tags = from.query("select " + TAG_COLUMNS + " from task_tags where user_id = ?", ROW, userId);
+
+        shardDataSources.transaction(target).executeWithoutResult(status -> {
+            delete(to, userId, username);
+            to.batchUpdate("insert into tasks (" + TASK_COLUMNS + ") values (?, ?, ?, ?, ?, ?, ?, ?, ?)", tasks);
+            to.batchUpdate("insert into tasks_archive (" + ARCHIVE_COLUMNS + ") values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", archived);
+            to.batchUpdate("insert into idempotency_keys (" + IDEMPOTENCY_COLUMNS + ") values (?, ?, ?, ?, ?, ?)", keys);
+            to.batchUpdate("insert into task_tags (" + TAG_COLUMNS + ") values (?, ?, ?)", tags);
+        });
+        return tasks.size() + archived.size() + keys.size() + tags.size();
+    }
+
+    private static void delete(JdbcTemplate jdbc, long userId, String username) {
+        jdbc.update("delete from task_tags where user_id = ?", userId);
+        jdbc.update("delete from tasks where user_id = ?", userId);
+        jdbc.update("delete from tasks_archive where user_id = ?", userId);
+        if (username != null) {
+            jdbc.update("delete from idempotency_keys where left(idem_key, ?) = ?", username.length() + 1, username + ":");
+        }
+    }
+
+    private String username(long userId) {
+        return shardDataSources.directoryJdbc()
+                .query("select username from users where id = ?", (rs, rowNum) -> rs.getString(1), userId)
+                .stream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(shardDirectory.getCacheTtlMs() + graceMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while moving shard data", e);
+        }
+    }
+
+    private static final RowMapper<Object[]> ROW = (rs, rowNum) -> {
+        Object[] row = new Object[rs.getMetaData().getColumnCount()];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = rs.getObject(i + 1);
+        }
+        return row;
+    };
+}
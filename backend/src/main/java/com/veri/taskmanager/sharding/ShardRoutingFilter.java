@@ -0,0 +1,70 @@
+package com.veri.taskmanager.sharding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veri.taskmanager.dto.StandardResponse;
+import com.veri.taskmanager.security.CustomUserDetails;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Selects the authenticated user's shard for the rest of the request. Registered as a plain servlet
+ * filter, so it runs after the security filter chain has resolved the principal. Writes are
+ * rejected with 503 while the user's tasks are being moved; reads keep going to the source shard.
+ */
+@Component
+@Profile("sharded")
+public class ShardRoutingFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof CustomUserDetails)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Long userId = ((CustomUserDetails) authentication.getPrincipal()).getUser().getId();
+        ShardDirectory.Placement placement = shardDirectory.placementOf(userId);
+        if (placement.isMigrating() && !isRead(request)) {
+            long retryAfterSeconds = Math.max(1, (shardDirectory.getCacheTtlMs() + 999) / 1000);
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    StandardResponse.error("Tasks are being moved, please retry shortly", request.getRequestURI()));
+            return;
+        }
+
+        ShardContext.set(placement.getShard());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ShardContext.clear();
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+    }
+}
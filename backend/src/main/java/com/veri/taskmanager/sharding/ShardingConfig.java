@@ -0,0 +1,84 @@
+package com.veri.taskmanager.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wiring for the {@code sharded} profile: a directory database holding users and the user-to-shard
+ * map, and N shard databases holding tasks. Schemas are created here rather than by Hibernate
+ * because each database only gets the tables it owns.
+ */
+@Configuration
+@Profile("sharded")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    public static final String DIRECTORY = "directory";
+
+    @Bean(destroyMethod = "close")
+    public ShardDataSources shardDataSources(ShardingProperties properties) {
+        List<String> names = properties.getShards();
+        if (names.isEmpty()) {
+            throw new IllegalStateException("sharding.shards must list at least one shard");
+        }
+
+        HikariDataSource directory = pool(properties, DIRECTORY);
+        initialize(directory, 1, "sharding/directory-schema.sql", "sharding/shard-schema.sql");
+
+        Map<String, HikariDataSource> shards = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            HikariDataSource shard = pool(properties, names.get(i));
+            initialize(shard, (i + 1) * properties.getSequenceBlock() + 1, "sharding/shard-schema.sql");
+            shards.put(names.get(i), shard);
+        }
+        return new ShardDataSources(directory, shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shardDataSources) {
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(shardDataSources.routingTargets());
+        routing.setDefaultTargetDataSource(shardDataSources.getDirectory());
+        routing.setLenientFallback(false);
+        return routing;
+    }
+
+    @Bean
+    public ConsistentHashRing shardRing(ShardingProperties properties) {
+        return new ConsistentHashRing(properties.getShards(), properties.getVirtualNodes());
+    }
+
+    private static HikariDataSource pool(ShardingProperties properties, String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("shard-" + name);
+        dataSource.setJdbcUrl(String.format(properties.getUrlTemplate(), name));
+        dataSource.setUsername(properties.getUsername());
+        dataSource.setPassword(properties.getPassword());
+        dataSource.setMaximumPoolSize(properties.getPoolSize());
+        return dataSource;
+    }
+
+    private static void initialize(DataSource dataSource, long firstTaskId, String... schemas) {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+        for (String schema : schemas) {
+            populator.addScript(new ClassPathResource(schema));
+        }
+        populator.execute(dataSource);
+        // Every database gets the tasks sequence so ids stay unique across shards and after a user moves.
+        new JdbcTemplate(dataSource).execute("create sequence if not exists task_seq start with "
+                + firstTaskId + " increment by 50");
+    }
+}
@@ -0,0 +1,31 @@
+package com.veri.taskmanager.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "sharding")
+public class ShardingProperties {
+
+    /** Shard names, also used as the database name in {@link #urlTemplate}. */
+    private List<String> shards = new ArrayList<>();
+
+    /** JDBC url with a {@code %s} placeholder for the shard (or {@code directory}) name. */
+    private String urlTemplate = "jdbc:h2:file:./data/shards/%s;AUTO_SERVER=TRUE";
+
+    private String username = "sa";
+
+    private String password = "";
+
+    private int poolSize = 10;
+
+    private int virtualNodes = 128;
+
+    private long directoryCacheTtlMs = 2000;
+
+    /** Size of each shard's task id range; shard {@code i} starts at {@code (i + 1) * sequenceBlock}. */
+    private long sequenceBlock = 1_000_000_000_000L;
+}
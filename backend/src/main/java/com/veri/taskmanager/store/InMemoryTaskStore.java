@@ -0,0 +1,350 @@
+package com.veri.taskmanager.store;
+
+import com.veri.taskmanager.dto.TaskFields;
+import com.veri.taskmanager.dto.TaskReminder;
+import com.veri.taskmanager.dto.TaskResponse;
+import com.veri.taskmanager.model.TaskStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Task engine that keeps every task in a {@link TaskIndex} on the heap. Writes go to the write-ahead
+ * log first and are then applied under the write lock; reads only take the read lock. A snapshot is
+ * taken every {@code task.store.memory.snapshot-interval-ms}: the log is rotated to a new generation
+ * under the lock, the snapshot is written outside it, and older logs and snapshots are deleted.
+ * Startup loads the newest snapshot and replays the logs written after it.
+ */
+@Component
+@Profile("memory-store")
+public class InMemoryTaskStore implements TaskStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryTaskStore.class);
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String LOG_PREFIX = "wal-";
+
+    @Value("${task.store.memory.directory:data/task-store}")
+    private String directory;
+
+    @Value("${task.store.memory.wal-fsync:false}")
+    private boolean walFsync;
+
+    private final TaskIndex index = new TaskIndex();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Path storeDirectory;
+    private TaskStoreLog log;
+    private long generation;
+    private long nextId;
+
+    @PostConstruct
+    public void load() throws IOException {
+        long started = System.nanoTime();
+        storeDirectory = Paths.get(directory).toAbsolutePath();
+        Files.createDirectories(storeDirectory);
+
+        long snapshotGeneration = 0;
+        List<Long> snapshots = generations(SNAPSHOT_PREFIX);
+        if (!snapshots.isEmpty()) {
+            snapshotGeneration = snapshots.get(snapshots.size() - 1);
+            nextId = TaskSnapshot.read(file(SNAPSHOT_PREFIX, snapshotGeneration), index);
+        }
+
+        int replayed = 0;
+        List<Long> logs = generations(LOG_PREFIX);
+        for (long logGeneration : logs) {
+            if (logGeneration >= snapshotGeneration) {
+                replayed += TaskStoreLog.replay(file(LOG_PREFIX, logGeneration), index);
+            }
+        }
+        nextId = Math.max(nextId, index.getMaxId() + 1);
+
+        generation = Math.max(snapshotGeneration, logs.isEmpty() ? 0 : logs.get(logs.size() - 1)) + 1;
+        log = TaskStoreLog.open(file(LOG_PREFIX, generation), walFsync);
+        logger.info("Loaded {} tasks into memory from {} (snapshot generation {}, {} log entries replayed) in {} ms",
+                index.size(), storeDirectory, snapshotGeneration, replayed, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        snapshot();
+        log.close();
+    }
+
+    @Scheduled(fixedDelayString = "${task.store.memory.snapshot-interval-ms:300000}",
+               initialDelayString = "${task.store.memory.snapshot-interval-ms:300000}")
+    public synchronized void snapshot() throws IOException {
+        List<StoredTask> tasks;
+        long snapshotGeneration;
+        long snapshotNextId;
+        lock.writeLock().lock();
+        try {
+            tasks = index.snapshot();
+            snapshotNextId = nextId;
+            log.close();
+            generation++;
+            log = TaskStoreLog.open(file(LOG_PREFIX, generation), walFsync);
+            snapshotGeneration = generation;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long started = System.nanoTime();
+        TaskSnapshot.write(file(SNAPSHOT_PREFIX, snapshotGeneration), snapshotNextId, tasks);
+        for (long old : generations(SNAPSHOT_PREFIX)) {
+            if (old < snapshotGeneration) {
+                Files.deleteIfExists(file(SNAPSHOT_PREFIX, old));
+            }
+        }
+        for (long old : generations(LOG_PREFIX)) {
+            if (old < snapshotGeneration) {
+                Files.deleteIfExists(file(LOG_PREFIX, old));
+            }
+        }
+        logger.info("Snapshot of {} tasks written at generation {} in {} ms",
+                tasks.size(), snapshotGeneration, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public List<TaskResponse> findAll(Long userId, TaskFields fields, boolean includeArchived) {
+        lock.readLock().lock();
+        try {
+            UserTasks tasks = index.user(userId);
+            if (tasks == null) {
+                return Collections.emptyList();
+            }
+            List<TaskResponse> responses = new ArrayList<>(tasks.size());
+            tasks.forEach(task -> responses.add(task.toResponse(fields)));
+            return responses;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TaskResponse> findByStatus(Long userId, TaskStatus status, TaskFields fields) {
+        lock.readLock().lock();
+        try {
+            UserTasks tasks = index.user(userId);
+            if (tasks == null) {
+                return Collections.emptyList();
+            }
+            List<TaskResponse> responses = new ArrayList<>(tasks.countWithStatus(status));
+            tasks.forEachWithStatus(status, task -> responses.add(task.toResponse(fields)));
+            return responses;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TaskResponse> findUpdatedBefore(Long userId, LocalDateTime before, int limit) {
+        lock.readLock().lock();
+        try {
+            UserTasks tasks = index.user(userId);
+            if (tasks == null) {
+                return Collections.emptyList();
+            }
+            List<TaskResponse> responses = new ArrayList<>(Math.min(limit, tasks.size()));
+            tasks.forEachUpdatedBefore(StoredTask.toMillis(before), limit, task -> responses.add(task.toResponse(TaskFields.SUMMARY)));
+            return responses;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<TaskResponse> findById(Long id, Long userId, TaskFields fields) {
+        lock.readLock().lock();
+        try {
+            StoredTask task = index.get(id, userId);
+            return task == null ? Optional.empty() : Optional.of(task.toResponse(fields));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TaskResponse> findByIds(Long userId, Collection<Long> ids, TaskFields fields) {
+        lock.readLock().lock();
+        try {
+            List<TaskResponse> responses = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                StoredTask task = index.get(id, userId);
+                if (task != null) {
+                    responses.add(task.toResponse(fields));
+                }
+            }
+            responses.sort(Comparator.comparing(TaskResponse::getId));
+            return responses;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public TaskResponse create(Long userId, String title, String description, TaskStatus status,
+                               LocalDateTime dueAt, LocalDateTime remindAt, Consumer<TaskResponse> inTransaction) {
+        long now = StoredTask.toMillis(LocalDateTime.now());
+        TaskResponse created;
+        lock.writeLock().lock();
+        try {
+            StoredTask task = new StoredTask(nextId, userId, title, description, status, now, now,
+                    StoredTask.toNullableMillis(dueAt), StoredTask.toNullableMillis(remindAt));
+            write(task);
+            nextId++;
+            created = task.toResponse(TaskFields.ALL);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        inTransaction.accept(created);
+        return created;
+    }
+
+    @Override
+    public Optional<TaskResponse> update(Long id, Long userId, Consumer<TaskResponse> changes) {
+        lock.writeLock().lock();
+        try {
+            StoredTask current = index.get(id, userId);
+            if (current == null) {
+                return Optional.empty();
+            }
+            TaskResponse draft = current.toResponse(TaskFields.ALL);
+            changes.accept(draft);
+            StoredTask updated = current.with(draft.getTitle(), draft.getDescription(), draft.getStatus(),
+                    StoredTask.toNullableMillis(draft.getDueAt()), StoredTask.toNullableMillis(draft.getRemindAt()),
+                    StoredTask.toMillis(LocalDateTime.now()));
+            write(updated);
+            return Optional.of(updated.toResponse(TaskFields.ALL));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean updateStatus(Long id, Long userId, TaskStatus status, LocalDateTime updatedAt) {
+        lock.writeLock().lock();
+        try {
+            StoredTask current = index.get(id, userId);
+            if (current == null) {
+                return false;
+            }
+            write(current.with(current.title, current.description, status, StoredTask.toMillis(updatedAt)));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int updateStatuses(Collection<Long> ids, Long userId, TaskStatus status, LocalDateTime updatedAt) {
+        long millis = StoredTask.toMillis(updatedAt);
+        int updated = 0;
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                StoredTask current = index.get(id, userId);
+                if (current != null) {
+                    write(current.with(current.title, current.description, status, millis));
+                    updated++;
+                }
+            }
+            return updated;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(Long id, Long userId) {
+        lock.writeLock().lock();
+        try {
+            if (index.get(id, userId) == null) {
+                return false;
+            }
+            try {
+                log.remove(id, userId);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            index.remove(id, userId);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<TaskReminder> findRemindersBefore(LocalDateTime until, int limit) {
+        lock.readLock().lock();
+        try {
+            List<TaskReminder> reminders = new ArrayList<>();
+            index.forEachReminderBefore(StoredTask.toMillis(until), limit, task -> reminders.add(task.toReminder()));
+            return reminders;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean clearReminder(Long id, Long userId, LocalDateTime remindAt) {
+        lock.writeLock().lock();
+        try {
+            StoredTask current = index.get(id, userId);
+            if (current == null || !current.hasPendingReminder() || current.remindAt != StoredTask.toMillis(remindAt)) {
+                return false;
+            }
+            write(current.with(current.title, current.description, current.status, current.dueAt,
+                    StoredTask.NONE, current.updatedAt));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void write(StoredTask task) {
+        try {
+            log.put(task);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        index.put(task);
+    }
+
+    private Path file(String prefix, long fileGeneration) {
+        return storeDirectory.resolve(String.format("%s%010d.%s", prefix,
+                fileGeneration, SNAPSHOT_PREFIX.equals(prefix) ? "bin" : "log"));
+    }
+
+    private List<Long> generations(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(storeDirectory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && !name.endsWith(".tmp"))
+                    .map(name -> Long.parseLong(name.substring(prefix.length(), name.indexOf('.'))))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
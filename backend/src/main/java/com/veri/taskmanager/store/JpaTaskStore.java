@@ -0,0 +1,270 @@
+package com.veri.taskmanager.store;
+
+import com.veri.taskmanager.dto.TaskFields;
+import com.veri.taskmanager.dto.TaskReminder;
+import com.veri.taskmanager.dto.TaskResponse;
+import com.veri.taskmanager.model.Task;
+import com.veri.taskmanager.model.TaskStatus;
+import com.veri.taskmanager.repository.TaskRepository;
+import com.veri.taskmanager.repository.UserRepository;
+import com.veri.taskmanager.service.TaskWriteBatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+@Component
+@Profile("!memory-store")
+public class JpaTaskStore implements TaskStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(JpaTaskStore.class);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskWriteBatcher taskWriteBatcher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${task.batch-get.chunk-size:100}")
+    private int inChunkSize;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> findAll(Long userId, TaskFields fields, boolean includeArchived) {
+        List<TaskResponse> tasks = select(fields, "Task t where t.user.id = :userId",
+                query -> query.setParameter("userId", userId));
+        if (!includeArchived) {
+            return tasks;
+        }
+
+        List<TaskResponse> archived = select(fields, "TaskArchive t where t.userId = :userId",
+                query -> query.setParameter("userId", userId));
+        List<TaskResponse> all = new ArrayList<>(tasks.size() + archived.size());
+        all.addAll(archived);
+        all.addAll(tasks);
+        all.sort(Comparator.comparing(TaskResponse::getId));
+        return all;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> findByStatus(Long userId, TaskStatus status, TaskFields fields) {
+        return select(fields, "Task t where t.user.id = :userId and t.status = :status",
+                query -> query.setParameter("userId", userId).setParameter("status", status));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> findUpdatedBefore(Long userId, LocalDateTime before, int limit) {
+        return taskRepository.findSummariesUpdatedBefore(userId, before, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<TaskResponse> findById(Long id, Long userId, TaskFields fields) {
+        List<TaskResponse> found = select(fields, "Task t where t.id = :id and t.user.id = :userId",
+                query -> query.setParameter("id", id).setParameter("userId", userId));
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> findByIds(Long userId, Collection<Long> ids, TaskFields fields) {
+        List<Long> sorted = new ArrayList<>(new TreeSet<>(ids));
+        List<TaskResponse> found = new ArrayList<>(sorted.size());
+        for (int from = 0; from < sorted.size(); from += inChunkSize) {
+            List<Long> chunk = sorted.subList(from, Math.min(from + inChunkSize, sorted.size()));
+            found.addAll(select(fields, "Task t where t.user.id = :userId and t.id in (:ids)",
+                    query -> query.setParameter("userId", userId).setParameter("ids", chunk)));
+        }
+        return found;
+    }
+
+    @Override
+    public TaskResponse create(Long userId, String title, String description, TaskStatus status,
+                               LocalDateTime dueAt, LocalDateTime remindAt, Consumer<TaskResponse> inTransaction) {
+        if (taskWriteBatcher.isEnabled()) {
+            return taskWriteBatcher.submit(userId, title, description, status, dueAt, remindAt, inTransaction);
+        }
+
+        // Programmatic, because in group-commit mode no transaction may be open while waiting for the writer.
+        return new TransactionTemplate(transactionManager).execute(tx -> {
+            Task task = new Task();
+            task.setTitle(title);
+            task.setDescription(description);
+            task.setStatus(status);
+            task.setDueAt(dueAt);
+            task.setRemindAt(remindAt);
+            task.setUser(userRepository.getReferenceById(userId));
+
+            TaskResponse created = toResponse(taskRepository.save(task));
+            inTransaction.accept(created);
+            return created;
+        });
+    }
+
+    @Override
+    @Transactional
+    public Optional<TaskResponse> update(Long id, Long userId, Consumer<TaskResponse> changes) {
+        Optional<Task> found = findOwned(id, userId);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Task task = found.get();
+        TaskResponse draft = toResponse(task);
+        changes.accept(draft);
+        task.setTitle(draft.getTitle());
+        task.setDescription(draft.getDescription());
+        task.setStatus(draft.getStatus());
+        task.setDueAt(draft.getDueAt());
+        task.setRemindAt(draft.getRemindAt());
+
+        taskRepository.flush();
+        return Optional.of(toResponse(task));
+    }
+
+    @Override
+    @Transactional
+    public boolean updateStatus(Long id, Long userId, TaskStatus status, LocalDateTime updatedAt) {
+        return taskRepository.updateStatus(id, userId, status, updatedAt) > 0;
+    }
+
+    @Override
+    @Transactional
+    public int updateStatuses(Collection<Long> ids, Long userId, TaskStatus status, LocalDateTime updatedAt) {
+        return taskRepository.updateStatusIn(ids, userId, status, updatedAt);
+    }
+
+    @Override
+    @Transactional
+    public boolean delete(Long id, Long userId) {
+        Optional<Task> found = findOwned(id, userId);
+        found.ifPresent(taskRepository::delete);
+        return found.isPresent();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskReminder> findRemindersBefore(LocalDateTime until, int limit) {
+        return taskRepository.findRemindersBefore(until, TaskStatus.COMPLETED, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional
+    public boolean clearReminder(Long id, Long userId, LocalDateTime remindAt) {
+        return taskRepository.clearReminder(id, userId, remindAt, TaskStatus.COMPLETED) > 0;
+    }
+
+    // Fetches the owner in the same query, so the ownership check never initializes a lazy proxy.
+    private Optional<Task> findOwned(Long id, Long userId) {
+        Optional<Task> found = taskRepository.findWithUserById(id);
+        if (found.isPresent() && !found.get().getUser().getId().equals(userId)) {
+            logger.warn("User {} attempted to access task {} owned by user {}",
+                       userId, id, found.get().getUser().getId());
+            return Optional.empty();
+        }
+        return found;
+    }
+
+    /**
+     * Runs {@code select <selected columns> from <from> order by t.id}, so only the requested columns
+     * are read, and maps each row to a response with the other fields left unset.
+     */
+    private List<TaskResponse> select(TaskFields fields, String from, Consumer<TypedQuery<Tuple>> parameters) {
+        List<TaskFields.Field> columns = new ArrayList<>(fields.getFields().size());
+        StringBuilder jpql = new StringBuilder("select ");
+        for (TaskFields.Field field : fields.getFields()) {
+            if (field != TaskFields.Field.TAGS) {
+                jpql.append(columns.isEmpty() ? "t." : ", t.").append(field.getProperty());
+                columns.add(field);
+            }
+        }
+        jpql.append(" from ").append(from).append(" order by t.id");
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class);
+        parameters.accept(query);
+        List<Tuple> rows = query.getResultList();
+        List<TaskResponse> responses = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            TaskResponse response = fields.newResponse();
+            for (int i = 0; i < columns.size(); i++) {
+                set(response, columns.get(i), row.get(i));
+            }
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    private static void set(TaskResponse response, TaskFields.Field field, Object value) {
+        switch (field) {
+            case ID:
+                response.setId((Long) value);
+                break;
+            case TITLE:
+                response.setTitle((String) value);
+                break;
+            case DESCRIPTION:
+                response.setDescription((String) value);
+                break;
+            case STATUS:
+                response.setStatus((TaskStatus) value);
+                break;
+            case CREATED_AT:
+                response.setCreatedAt((LocalDateTime) value);
+                break;
+            case UPDATED_AT:
+                response.setUpdatedAt((LocalDateTime) value);
+                break;
+            case DUE_AT:
+                response.setDueAt((LocalDateTime) value);
+                break;
+            case REMIND_AT:
+                response.setRemindAt((LocalDateTime) value);
+                break;
+            default:
+                throw new IllegalArgumentException("Not a column: " + field);
+        }
+    }
+
+    public static TaskResponse toResponse(Task task) {
+        return new TaskResponse(
+                task.getId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getStatus(),
+                task.getCreatedAt(),
+                task.getUpdatedAt(),
+                task.getDueAt(),
+                task.getRemindAt()
+        );
+    }
+}
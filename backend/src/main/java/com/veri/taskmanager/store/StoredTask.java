@@ -0,0 +1,142 @@
+package com.veri.taskmanager.store;
+
+import com.veri.taskmanager.dto.TaskFields;
+import com.veri.taskmanager.dto.TaskReminder;
+import com.veri.taskmanager.dto.TaskResponse;
+import com.veri.taskmanager.model.TaskStatus;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Immutable task row held by the in-memory engine. Timestamps are local date-times encoded as epoch
+ * millis (read as UTC, so the conversion is lossless apart from sub-millisecond precision) so a
+ * task costs one object plus its strings. An unset due date or reminder is {@link #NONE}.
+ */
+public final class StoredTask {
+
+    static final long NONE = Long.MIN_VALUE;
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    final long id;
+    final long userId;
+    final String title;
+    final String description;
+    final TaskStatus status;
+    final long createdAt;
+    final long updatedAt;
+    final long dueAt;
+    final long remindAt;
+
+    public StoredTask(long id, long userId, String title, String description, TaskStatus status,
+                      long createdAt, long updatedAt) {
+        this(id, userId, title, description, status, createdAt, updatedAt, NONE, NONE);
+    }
+
+    public StoredTask(long id, long userId, String title, String description, TaskStatus status,
+                      long createdAt, long updatedAt, long dueAt, long remindAt) {
+        this.id = id;
+        this.userId = userId;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.dueAt = dueAt;
+        this.remindAt = remindAt;
+    }
+
+    StoredTask with(String title, String description, TaskStatus status, long updatedAt) {
+        return with(title, description, status, dueAt, remindAt, updatedAt);
+    }
+
+    StoredTask with(String title, String description, TaskStatus status, long dueAt, long remindAt, long updatedAt) {
+        return new StoredTask(id, userId, title, description, status, createdAt, updatedAt, dueAt, remindAt);
+    }
+
+    boolean hasPendingReminder() {
+        return remindAt != NONE && status != TaskStatus.COMPLETED;
+    }
+
+    TaskResponse toResponse(TaskFields fields) {
+        return fields.project(new TaskResponse(id, title, fields.includes(TaskFields.Field.DESCRIPTION) ? description : null,
+                status, toDateTime(createdAt), toDateTime(updatedAt), toNullableDateTime(dueAt), toNullableDateTime(remindAt)));
+    }
+
+    TaskReminder toReminder() {
+        return new TaskReminder(id, userId, title, toNullableDateTime(dueAt), toDateTime(remindAt));
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(id);
+        out.writeLong(userId);
+        writeString(out, title);
+        writeString(out, description);
+        out.writeByte(status.ordinal());
+        out.writeLong(createdAt);
+        out.writeLong(updatedAt);
+        out.writeLong(dueAt);
+        out.writeLong(remindAt);
+    }
+
+    /**
+     * Reads a task written by {@link #writeTo}; {@code withDates} is false for entries written before
+     * due dates and reminders were stored.
+     */
+    static StoredTask readFrom(DataInput in, boolean withDates) throws IOException {
+        long id = in.readLong();
+        long userId = in.readLong();
+        String title = readString(in);
+        String description = readString(in);
+        TaskStatus status = STATUSES[in.readByte()];
+        long createdAt = in.readLong();
+        long updatedAt = in.readLong();
+        if (!withDates) {
+            return new StoredTask(id, userId, title, description, status, createdAt, updatedAt);
+        }
+        return new StoredTask(id, userId, title, description, status, createdAt, updatedAt,
+                in.readLong(), in.readLong());
+    }
+
+    static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    static long toNullableMillis(LocalDateTime dateTime) {
+        return dateTime == null ? NONE : toMillis(dateTime);
+    }
+
+    static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    static LocalDateTime toNullableDateTime(long millis) {
+        return millis == NONE ? null : toDateTime(millis);
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,95 @@
+package com.veri.taskmanager.store;
+
+import com.veri.taskmanager.util.LongObjectHashMap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * In-memory task tables: user id to {@link UserTasks}, all keyed by primitive longs, plus the pending
+ * reminders of all users ordered by {@code (remindAt, id)}.
+ * Not thread-safe; {@link InMemoryTaskStore} guards it with a read/write lock.
+ */
+public class TaskIndex {
+
+    private static final Comparator<StoredTask> BY_REMINDER =
+            Comparator.<StoredTask>comparingLong(task -> task.remindAt).thenComparingLong(task -> task.id);
+
+    private final LongObjectHashMap<UserTasks> users = new LongObjectHashMap<>();
+    private final TreeSet<StoredTask> reminders = new TreeSet<>(BY_REMINDER);
+    private int size;
+    private long maxId;
+
+    UserTasks user(long userId) {
+        return users.get(userId);
+    }
+
+    public StoredTask get(long id, long userId) {
+        UserTasks tasks = users.get(userId);
+        return tasks == null ? null : tasks.get(id);
+    }
+
+    public void put(StoredTask task) {
+        UserTasks tasks = users.computeIfAbsent(task.userId, key -> new UserTasks());
+        int before = tasks.size();
+        StoredTask previous = tasks.get(task.id);
+        if (previous != null && previous.hasPendingReminder()) {
+            reminders.remove(previous);
+        }
+        if (task.hasPendingReminder()) {
+            reminders.add(task);
+        }
+        tasks.put(task);
+        size += tasks.size() - before;
+        maxId = Math.max(maxId, task.id);
+    }
+
+    public StoredTask remove(long id, long userId) {
+        UserTasks tasks = users.get(userId);
+        StoredTask removed = tasks == null ? null : tasks.remove(id);
+        if (removed != null) {
+            size--;
+            if (removed.hasPendingReminder()) {
+                reminders.remove(removed);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Visits up to {@code limit} pending reminders due strictly before {@code until}, earliest first.
+     */
+    void forEachReminderBefore(long until, int limit, Consumer<StoredTask> consumer) {
+        int visited = 0;
+        for (StoredTask task : reminders) {
+            if (task.remindAt >= until || visited++ >= limit) {
+                return;
+            }
+            consumer.accept(task);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getMaxId() {
+        return maxId;
+    }
+
+    List<StoredTask> snapshot() {
+        List<StoredTask> all = new ArrayList<>(size);
+        users.forEachValue(tasks -> tasks.forEach(all::add));
+        return all;
+    }
+
+    void clear() {
+        users.clear();
+        reminders.clear();
+        size = 0;
+        maxId = 0;
+    }
+}
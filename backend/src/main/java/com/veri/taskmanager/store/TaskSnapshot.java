@@ -0,0 +1,62 @@
+package com.veri.taskmanager.store;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Full dump of the in-memory engine. Written to a temporary file, synced, then atomically renamed,
+ * so a crash mid-snapshot leaves the previous snapshot in place. Version 1 snapshots predate due
+ * dates and reminders and are still readable.
+ */
+final class TaskSnapshot {
+
+    private static final int MAGIC = 0x54534E50;
+    private static final int VERSION = 2;
+
+    private TaskSnapshot() {
+    }
+
+    static void write(Path path, long nextId, List<StoredTask> tasks) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(nextId);
+            out.writeInt(tasks.size());
+            for (StoredTask task : tasks) {
+                task.writeTo(out);
+            }
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Loads the snapshot into the index and returns the next id recorded with it.
+     */
+    static long read(Path path, TaskIndex index) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            int magic = in.readInt();
+            int version = in.readInt();
+            if (magic != MAGIC || version < 1 || version > VERSION) {
+                throw new IOException("Not a task snapshot: " + path);
+            }
+            long nextId = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                index.put(StoredTask.readFrom(in, version >= 2));
+            }
+            return nextId;
+        }
+    }
+}
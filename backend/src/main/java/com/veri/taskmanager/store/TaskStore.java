@@ -0,0 +1,82 @@
+package com.veri.taskmanager.store;
+
+import com.veri.taskmanager.dto.TaskFields;
+import com.veri.taskmanager.dto.TaskReminder;
+import com.veri.taskmanager.dto.TaskResponse;
+import com.veri.taskmanager.model.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Storage engine behind {@link com.veri.taskmanager.service.TaskService}. Every operation is scoped to
+ * the owning user; a task owned by someone else behaves as if it did not exist.
+ * {@link JpaTaskStore} is the default, {@link InMemoryTaskStore} is selected by the
+ * {@code memory-store} profile. Reads take a {@link TaskFields} selection and leave the fields outside
+ * it unset; the tags field is filled in by the service.
+ */
+public interface TaskStore {
+
+    List<TaskResponse> findAll(Long userId, TaskFields fields, boolean includeArchived);
+
+    List<TaskResponse> findByStatus(Long userId, TaskStatus status, TaskFields fields);
+
+    /**
+     * Tasks last updated before {@code before}, newest first, without descriptions.
+     */
+    List<TaskResponse> findUpdatedBefore(Long userId, LocalDateTime before, int limit);
+
+    default Optional<TaskResponse> findById(Long id, Long userId) {
+        return findById(id, userId, TaskFields.ALL);
+    }
+
+    Optional<TaskResponse> findById(Long id, Long userId, TaskFields fields);
+
+    /**
+     * The user's tasks among {@code ids}, in id order; ids of missing or foreign tasks are skipped.
+     * {@link JpaTaskStore} splits long id lists into several {@code in} queries.
+     */
+    List<TaskResponse> findByIds(Long userId, Collection<Long> ids, TaskFields fields);
+
+    default TaskResponse create(Long userId, String title, String description, TaskStatus status) {
+        return create(userId, title, description, status, null, null);
+    }
+
+    default TaskResponse create(Long userId, String title, String description, TaskStatus status,
+                                LocalDateTime dueAt, LocalDateTime remindAt) {
+        return create(userId, title, description, status, dueAt, remindAt, task -> { });
+    }
+
+    /**
+     * Inserts the task and passes it to {@code inTransaction} inside the inserting transaction, so rows
+     * written there commit or roll back together with the task.
+     */
+    TaskResponse create(Long userId, String title, String description, TaskStatus status,
+                        LocalDateTime dueAt, LocalDateTime remindAt, Consumer<TaskResponse> inTransaction);
+
+    /**
+     * Applies {@code changes} to the current title, description, status, due date and reminder of the
+     * task and stores the result.
+     */
+    Optional<TaskResponse> update(Long id, Long userId, Consumer<TaskResponse> changes);
+
+    boolean updateStatus(Long id, Long userId, TaskStatus status, LocalDateTime updatedAt);
+
+    int updateStatuses(Collection<Long> ids, Long userId, TaskStatus status, LocalDateTime updatedAt);
+
+    boolean delete(Long id, Long userId);
+
+    /**
+     * Pending reminders of tasks that are not completed, due before {@code until}, earliest first, across all users.
+     */
+    List<TaskReminder> findRemindersBefore(LocalDateTime until, int limit);
+
+    /**
+     * Clears the task's reminder if it is still set to {@code remindAt} and the task is not completed.
+     * Returns whether it was cleared, i.e. whether the reminder should be delivered.
+     */
+    boolean clearReminder(Long id, Long userId, LocalDateTime remindAt);
+}
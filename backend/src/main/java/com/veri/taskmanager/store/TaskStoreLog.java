@@ -0,0 +1,136 @@
+package com.veri.taskmanager.store;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead log of the in-memory engine. Each entry is framed as {@code [int length][int crc32][payload]}
+ * and is written before the change is applied in memory. Replay stops at the first torn entry and
+ * truncates the file there. Puts are written as {@code PUT}; {@code LEGACY_PUT} entries from logs
+ * written before due dates and reminders were stored are still replayed.
+ */
+final class TaskStoreLog implements Closeable {
+
+    private static final byte LEGACY_PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte PUT = 3;
+
+    private final FileOutputStream file;
+    private final DataOutputStream out;
+    private final boolean fsync;
+    private final ByteArrayOutputStream entry = new ByteArrayOutputStream(256);
+    private final DataOutputStream entryOut = new DataOutputStream(entry);
+    private final CRC32 crc = new CRC32();
+
+    private TaskStoreLog(Path path, boolean fsync) throws IOException {
+        this.file = new FileOutputStream(path.toFile(), true);
+        this.out = new DataOutputStream(file);
+        this.fsync = fsync;
+    }
+
+    static TaskStoreLog open(Path path, boolean fsync) throws IOException {
+        return new TaskStoreLog(path, fsync);
+    }
+
+    void put(StoredTask task) throws IOException {
+        entry.reset();
+        entryOut.writeByte(PUT);
+        task.writeTo(entryOut);
+        write();
+    }
+
+    void remove(long id, long userId) throws IOException {
+        entry.reset();
+        entryOut.writeByte(REMOVE);
+        entryOut.writeLong(id);
+        entryOut.writeLong(userId);
+        write();
+    }
+
+    private void write() throws IOException {
+        byte[] payload = entry.toByteArray();
+        crc.reset();
+        crc.update(payload, 0, payload.length);
+        out.writeInt(payload.length);
+        out.writeInt((int) crc.getValue());
+        out.write(payload);
+        out.flush();
+        if (fsync) {
+            file.getFD().sync();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.getFD().sync();
+        out.close();
+    }
+
+    /**
+     * Applies every intact entry of the log to the index and returns the number applied.
+     */
+    static int replay(Path path, TaskIndex index) throws IOException {
+        long fileSize = Files.size(path);
+        long valid = 0;
+        int applied = 0;
+        try (InputStream stream = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+            CRC32 crc = new CRC32();
+            while (true) {
+                int length;
+                int expectedCrc;
+                byte[] payload;
+                try {
+                    length = in.readInt();
+                    expectedCrc = in.readInt();
+                    if (length <= 0 || valid + 8 + length > fileSize) {
+                        break;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    break;
+                }
+                crc.reset();
+                crc.update(payload, 0, payload.length);
+                if ((int) crc.getValue() != expectedCrc) {
+                    break;
+                }
+                apply(payload, index);
+                valid += 8 + length;
+                applied++;
+            }
+        }
+        if (valid < fileSize) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(valid);
+            }
+        }
+        return applied;
+    }
+
+    private static void apply(byte[] payload, TaskIndex index) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte op = in.readByte();
+        if (op == PUT || op == LEGACY_PUT) {
+            index.put(StoredTask.readFrom(in, op == PUT));
+        } else if (op == REMOVE) {
+            index.remove(in.readLong(), in.readLong());
+        } else {
+            throw new IOException("Unknown log entry type " + op);
+        }
+    }
+}
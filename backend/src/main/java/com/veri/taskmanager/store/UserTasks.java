@@ -0,0 +1,209 @@
+package com.veri.taskmanager.store;
+
+import com.veri.taskmanager.model.TaskStatus;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.Consumer;
+
+/**
+ * One user's tasks. Tasks sit in slots ordered by id (ids only grow, so creation appends); deleted
+ * slots are left empty until more than half the slots are empty. Each status has a bitset over the
+ * slots, and a parallel pair of sorted arrays orders tasks by {@code (updatedAt, id)} for paging.
+ */
+final class UserTasks {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private long[] ids = new long[8];
+    private StoredTask[] tasks = new StoredTask[8];
+    private int slots;
+    private int live;
+
+    private final BitSet[] byStatus = new BitSet[STATUSES.length];
+
+    private long[] orderUpdatedAt = new long[8];
+    private long[] orderIds = new long[8];
+    private int orderSize;
+
+    UserTasks() {
+        for (int i = 0; i < byStatus.length; i++) {
+            byStatus[i] = new BitSet();
+        }
+    }
+
+    int size() {
+        return live;
+    }
+
+    StoredTask get(long id) {
+        int slot = Arrays.binarySearch(ids, 0, slots, id);
+        return slot >= 0 ? tasks[slot] : null;
+    }
+
+    void put(StoredTask task) {
+        int slot = Arrays.binarySearch(ids, 0, slots, task.id);
+        StoredTask previous = slot >= 0 ? tasks[slot] : null;
+        if (previous != null) {
+            tasks[slot] = task;
+            if (previous.status != task.status) {
+                byStatus[previous.status.ordinal()].clear(slot);
+                byStatus[task.status.ordinal()].set(slot);
+            }
+            if (previous.updatedAt != task.updatedAt) {
+                removeOrder(previous.updatedAt, previous.id);
+                insertOrder(task.updatedAt, task.id);
+            }
+            return;
+        }
+
+        if (slot >= 0) {
+            tasks[slot] = task;
+            byStatus[task.status.ordinal()].set(slot);
+        } else if (-slot - 1 == slots) {
+            ensureSlots(slots + 1);
+            ids[slots] = task.id;
+            tasks[slots] = task;
+            byStatus[task.status.ordinal()].set(slots);
+            slots++;
+        } else {
+            int at = -slot - 1;
+            ensureSlots(slots + 1);
+            System.arraycopy(ids, at, ids, at + 1, slots - at);
+            System.arraycopy(tasks, at, tasks, at + 1, slots - at);
+            ids[at] = task.id;
+            tasks[at] = task;
+            slots++;
+            rebuildStatusIndex();
+        }
+        live++;
+        insertOrder(task.updatedAt, task.id);
+    }
+
+    StoredTask remove(long id) {
+        int slot = Arrays.binarySearch(ids, 0, slots, id);
+        if (slot < 0 || tasks[slot] == null) {
+            return null;
+        }
+        StoredTask removed = tasks[slot];
+        tasks[slot] = null;
+        byStatus[removed.status.ordinal()].clear(slot);
+        removeOrder(removed.updatedAt, removed.id);
+        live--;
+        if (slots > 32 && slots - live > live) {
+            compact();
+        }
+        return removed;
+    }
+
+    void forEach(Consumer<StoredTask> consumer) {
+        for (int i = 0; i < slots; i++) {
+            if (tasks[i] != null) {
+                consumer.accept(tasks[i]);
+            }
+        }
+    }
+
+    void forEachWithStatus(TaskStatus status, Consumer<StoredTask> consumer) {
+        BitSet bits = byStatus[status.ordinal()];
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            consumer.accept(tasks[i]);
+        }
+    }
+
+    int countWithStatus(TaskStatus status) {
+        return byStatus[status.ordinal()].cardinality();
+    }
+
+    /**
+     * Visits up to {@code limit} tasks last updated strictly before {@code before}, newest first.
+     */
+    void forEachUpdatedBefore(long before, int limit, Consumer<StoredTask> consumer) {
+        int index = orderIndex(before, Long.MIN_VALUE);
+        int start = (index >= 0 ? index : -index - 1) - 1;
+        for (int i = start; i >= 0 && start - i < limit; i--) {
+            consumer.accept(get(orderIds[i]));
+        }
+    }
+
+    private void ensureSlots(int capacity) {
+        if (capacity > ids.length) {
+            int grown = Math.max(capacity, ids.length + (ids.length >> 1));
+            ids = Arrays.copyOf(ids, grown);
+            tasks = Arrays.copyOf(tasks, grown);
+        }
+    }
+
+    private void compact() {
+        int to = 0;
+        for (int from = 0; from < slots; from++) {
+            if (tasks[from] != null) {
+                ids[to] = ids[from];
+                tasks[to] = tasks[from];
+                to++;
+            }
+        }
+        Arrays.fill(tasks, to, slots, null);
+        slots = to;
+        int capacity = Math.max(8, slots + (slots >> 1));
+        if (capacity < ids.length) {
+            ids = Arrays.copyOf(ids, capacity);
+            tasks = Arrays.copyOf(tasks, capacity);
+        }
+        rebuildStatusIndex();
+    }
+
+    private void rebuildStatusIndex() {
+        for (BitSet bits : byStatus) {
+            bits.clear();
+        }
+        for (int i = 0; i < slots; i++) {
+            if (tasks[i] != null) {
+                byStatus[tasks[i].status.ordinal()].set(i);
+            }
+        }
+    }
+
+    private int orderIndex(long updatedAt, long id) {
+        int low = 0;
+        int high = orderSize - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = orderUpdatedAt[mid] != updatedAt
+                    ? Long.compare(orderUpdatedAt[mid], updatedAt)
+                    : Long.compare(orderIds[mid], id);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void insertOrder(long updatedAt, long id) {
+        int at = -orderIndex(updatedAt, id) - 1;
+        if (orderSize == orderIds.length) {
+            int grown = orderIds.length + (orderIds.length >> 1);
+            orderIds = Arrays.copyOf(orderIds, grown);
+            orderUpdatedAt = Arrays.copyOf(orderUpdatedAt, grown);
+        }
+        System.arraycopy(orderIds, at, orderIds, at + 1, orderSize - at);
+        System.arraycopy(orderUpdatedAt, at, orderUpdatedAt, at + 1, orderSize - at);
+        orderIds[at] = id;
+        orderUpdatedAt[at] = updatedAt;
+        orderSize++;
+    }
+
+    private void removeOrder(long updatedAt, long id) {
+        int at = orderIndex(updatedAt, id);
+        if (at < 0) {
+            return;
+        }
+        System.arraycopy(orderIds, at + 1, orderIds, at, orderSize - at - 1);
+        System.arraycopy(orderUpdatedAt, at + 1, orderUpdatedAt, at, orderSize - at - 1);
+        orderSize--;
+    }
+}
@@ -0,0 +1,171 @@
+package com.veri.taskmanager.tags;
+
+import com.veri.taskmanager.util.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Parsed tag filter such as {@code work AND urgent NOT blocked} or {@code (home OR errands) AND NOT done}.
+ * {@code AND} binds tighter than {@code OR}; {@code NOT} is binary and means "and not", so every filter
+ * is answered from the tag bitmaps alone without enumerating untagged tasks. Keywords are case-insensitive.
+ */
+public abstract class TagFilter {
+
+    private static final int MAX_LENGTH = 512;
+    private static final int MAX_TAGS = 32;
+
+    public static TagFilter parse(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("Tag filter is required");
+        }
+        if (expression.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Tag filter is longer than " + MAX_LENGTH + " characters");
+        }
+        Parser parser = new Parser(tokenize(expression));
+        TagFilter filter = parser.expression();
+        if (parser.position < parser.tokens.size()) {
+            throw new IllegalArgumentException("Unexpected '" + parser.tokens.get(parser.position) + "' in tag filter");
+        }
+        return filter;
+    }
+
+    /**
+     * Evaluates the filter over {@code bitmaps}, which returns the bitmap of a tag (empty if unknown).
+     * The result may be one of those bitmaps, so it must not be modified.
+     */
+    public abstract RoaringBitmap evaluate(Function<String, RoaringBitmap> bitmaps);
+
+    private static List<String> tokenize(String expression) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < expression.length(); i++) {
+            char c = expression.charAt(i);
+            if (Character.isWhitespace(c) || c == '(' || c == ')') {
+                if (word.length() > 0) {
+                    tokens.add(word.toString());
+                    word.setLength(0);
+                }
+                if (c == '(' || c == ')') {
+                    tokens.add(String.valueOf(c));
+                }
+            } else {
+                word.append(c);
+            }
+        }
+        if (word.length() > 0) {
+            tokens.add(word.toString());
+        }
+        return tokens;
+    }
+
+    private static final class Parser {
+
+        private final List<String> tokens;
+        private int position;
+        private int tags;
+
+        private Parser(List<String> tokens) {
+            this.tokens = tokens;
+        }
+
+        TagFilter expression() {
+            TagFilter left = term();
+            while (accept("OR")) {
+                left = new Combined(Combined.Op.OR, left, term());
+            }
+            return left;
+        }
+
+        TagFilter term() {
+            TagFilter left = factor();
+            while (true) {
+                if (accept("AND")) {
+                    left = new Combined(accept("NOT") ? Combined.Op.AND_NOT : Combined.Op.AND, left, factor());
+                } else if (accept("NOT")) {
+                    left = new Combined(Combined.Op.AND_NOT, left, factor());
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        TagFilter factor() {
+            if (position == tokens.size()) {
+                throw new IllegalArgumentException("Tag filter ends unexpectedly");
+            }
+            String token = tokens.get(position++);
+            if (token.equals("(")) {
+                TagFilter inner = expression();
+                if (!accept(")")) {
+                    throw new IllegalArgumentException("Missing ')' in tag filter");
+                }
+                return inner;
+            }
+            if (token.equals(")") || isKeyword(token)) {
+                throw new IllegalArgumentException("Expected a tag but found '" + token + "'");
+            }
+            if (++tags > MAX_TAGS) {
+                throw new IllegalArgumentException("Tag filter uses more than " + MAX_TAGS + " tags");
+            }
+            return new Tag(TaskTagIndex.normalizeTag(token));
+        }
+
+        private boolean accept(String expected) {
+            if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(expected)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private static boolean isKeyword(String token) {
+            String upper = token.toUpperCase(Locale.ROOT);
+            return upper.equals("AND") || upper.equals("OR") || upper.equals("NOT");
+        }
+    }
+
+    private static final class Tag extends TagFilter {
+
+        private final String tag;
+
+        private Tag(String tag) {
+            this.tag = tag;
+        }
+
+        @Override
+        public RoaringBitmap evaluate(Function<String, RoaringBitmap> bitmaps) {
+            return bitmaps.apply(tag);
+        }
+    }
+
+    private static final class Combined extends TagFilter {
+
+        private enum Op { AND, OR, AND_NOT }
+
+        private final Op op;
+        private final TagFilter left;
+        private final TagFilter right;
+
+        private Combined(Op op, TagFilter left, TagFilter right) {
+            this.op = op;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public RoaringBitmap evaluate(Function<String, RoaringBitmap> bitmaps) {
+            RoaringBitmap first = left.evaluate(bitmaps);
+            if (op != Op.OR && first.isEmpty()) {
+                return first;
+            }
+            RoaringBitmap second = right.evaluate(bitmaps);
+            if (op == Op.AND) {
+                return RoaringBitmap.and(first, second);
+            }
+            return op == Op.OR ? RoaringBitmap.or(first, second) : RoaringBitmap.andNot(first, second);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.veri.taskmanager.tags;
+
+import com.veri.taskmanager.dto.TaskResponse;
+import com.veri.taskmanager.util.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory tag index. Each user's tagged tasks get small dense ordinals, and every tag maps to a
+ * {@link RoaringBitmap} of those ordinals, so a {@link TagFilter} is a handful of bitmap operations
+ * whose result is mapped back to task ids. Ordinals of untagged or deleted tasks are reused.
+ * {@link TaskTagService} keeps it in step with {@code task_tags}.
+ */
+@Component
+public class TaskTagIndex {
+
+    public static final int MAX_TAGS_PER_TASK = 20;
+    public static final int MAX_TAG_LENGTH = 32;
+
+    private static final Pattern TAG = Pattern.compile("[a-z0-9][a-z0-9_.:-]*");
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final Map<Long, UserTags> users = new ConcurrentHashMap<>();
+
+    /**
+     * Lower-cases and validates tags, dropping duplicates. A null collection means no tags.
+     */
+    public static Set<String> normalize(Collection<String> tags) {
+        if (tags == null) {
+            return Collections.emptySet();
+        }
+        Set<String> normalized = new TreeSet<>();
+        for (String tag : tags) {
+            normalized.add(normalizeTag(tag));
+        }
+        if (normalized.size() > MAX_TAGS_PER_TASK) {
+            throw new IllegalArgumentException("A task can have at most " + MAX_TAGS_PER_TASK + " tags");
+        }
+        return normalized;
+    }
+
+    static String normalizeTag(String tag) {
+        String normalized = tag == null ? "" : tag.trim().toLowerCase(Locale.ROOT);
+        if (normalized.length() > MAX_TAG_LENGTH || !TAG.matcher(normalized).matches()) {
+            throw new IllegalArgumentException("Invalid tag: " + tag);
+        }
+        return normalized;
+    }
+
+    /**
+     * Replaces the task's tags; an empty set removes the task from the index.
+     */
+    public void put(long userId, long taskId, Set<String> tags) {
+        if (tags.isEmpty()) {
+            remove(userId, taskId);
+            return;
+        }
+        UserTags user = users.computeIfAbsent(userId, key -> new UserTags());
+        synchronized (user) {
+            user.put(taskId, tags);
+        }
+    }
+
+    public void remove(long userId, long taskId) {
+        UserTags user = users.get(userId);
+        if (user != null) {
+            synchronized (user) {
+                user.remove(taskId);
+            }
+        }
+    }
+
+    public Set<String> tags(long userId, long taskId) {
+        UserTags user = users.get(userId);
+        if (user == null) {
+            return Collections.emptySet();
+        }
+        synchronized (user) {
+            TaggedTask task = user.tasks.get(taskId);
+            return task == null ? Collections.emptySet() : task.tags;
+        }
+    }
+
+    /**
+     * Sets the tags of each response from the index; tasks without tags are left without.
+     */
+    public void attach(long userId, Collection<TaskResponse> tasks) {
+        UserTags user = users.get(userId);
+        if (user == null) {
+            return;
+        }
+        synchronized (user) {
+            for (TaskResponse response : tasks) {
+                TaggedTask task = user.tasks.get(response.getId());
+                if (task != null) {
+                    response.setTags(task.tags);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ids of the user's tasks matching {@code filter}, ascending.
+     */
+    public long[] filter(long userId, TagFilter filter) {
+        UserTags user = users.get(userId);
+        if (user == null) {
+            return new long[0];
+        }
+        synchronized (user) {
+            RoaringBitmap matches = filter.evaluate(tag -> user.byTag.getOrDefault(tag, EMPTY));
+            long[] ids = new long[matches.cardinality()];
+            int[] next = {0};
+            matches.forEach(ordinal -> ids[next[0]++] = user.taskIds[ordinal]);
+            Arrays.sort(ids);
+            return ids;
+        }
+    }
+
+    public int taggedTasks() {
+        int count = 0;
+        for (UserTags user : users.values()) {
+            synchronized (user) {
+                count += user.tasks.size();
+            }
+        }
+        return count;
+    }
+
+    public void clear() {
+        users.clear();
+    }
+
+    private static final class TaggedTask {
+
+        private final int ordinal;
+        private final Set<String> tags;
+
+        private TaggedTask(int ordinal, Set<String> tags) {
+            this.ordinal = ordinal;
+            this.tags = tags;
+        }
+    }
+
+    private static final class UserTags {
+
+        private final Map<String, RoaringBitmap> byTag = new HashMap<>();
+        private final Map<Long, TaggedTask> tasks = new HashMap<>();
+        private long[] taskIds = new long[8];
+        private int ordinals;
+        private int[] free = new int[8];
+        private int freeCount;
+
+        void put(long taskId, Set<String> tags) {
+            TaggedTask previous = tasks.get(taskId);
+            int ordinal;
+            if (previous != null) {
+                ordinal = previous.ordinal;
+                for (String tag : previous.tags) {
+                    if (!tags.contains(tag)) {
+                        clearBit(tag, ordinal);
+                    }
+                }
+            } else {
+                ordinal = allocate(taskId);
+            }
+            for (String tag : tags) {
+                if (previous == null || !previous.tags.contains(tag)) {
+                    byTag.computeIfAbsent(tag, key -> new RoaringBitmap()).add(ordinal);
+                }
+            }
+            tasks.put(taskId, new TaggedTask(ordinal, Collections.unmodifiableSet(new TreeSet<>(tags))));
+        }
+
+        void remove(long taskId) {
+            TaggedTask previous = tasks.remove(taskId);
+            if (previous == null) {
+                return;
+            }
+            for (String tag : previous.tags) {
+                clearBit(tag, previous.ordinal);
+            }
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, freeCount * 2);
+            }
+            free[freeCount++] = previous.ordinal;
+        }
+
+        private int allocate(long taskId) {
+            int ordinal;
+            if (freeCount > 0) {
+                ordinal = free[--freeCount];
+            } else {
+                ordinal = ordinals++;
+                if (ordinal == taskIds.length) {
+                    taskIds = Arrays.copyOf(taskIds, ordinal * 2);
+                }
+            }
+            taskIds[ordinal] = taskId;
+            return ordinal;
+        }
+
+        private void clearBit(String tag, int ordinal) {
+            RoaringBitmap bitmap = byTag.get(tag);
+            if (bitmap != null) {
+                bitmap.remove(ordinal);
+                if (bitmap.isEmpty()) {
+                    byTag.remove(tag);
+                }
+            }
+        }
+    }
+}
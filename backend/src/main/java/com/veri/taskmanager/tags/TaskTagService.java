@@ -0,0 +1,150 @@
+package com.veri.taskmanager.tags;
+
+import com.veri.taskmanager.model.TaskTag;
+import com.veri.taskmanager.repository.TaskTagRepository;
+import com.veri.taskmanager.sharding.ShardContext;
+import com.veri.taskmanager.sharding.ShardDataSources;
+import com.veri.taskmanager.util.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Persists task tags in {@code task_tags} and mirrors every change into {@link TaskTagIndex} once the
+ * transaction commits. The index is rebuilt from all shards at startup.
+ */
+@Service
+public class TaskTagService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskTagService.class);
+
+    @Autowired
+    private TaskTagRepository taskTagRepository;
+
+    @Autowired
+    private ObjectProvider<ShardDataSources> shardDataSources;
+
+    @Value("${task.tags.rebuild-batch:10000}")
+    private int rebuildBatch;
+
+    private final TaskTagIndex taskTagIndex;
+
+    public TaskTagService(MeterRegistry meterRegistry, TaskTagIndex taskTagIndex) {
+        this.taskTagIndex = taskTagIndex;
+        Gauge.builder("tasks.tags.indexed", taskTagIndex, TaskTagIndex::taggedTasks)
+                .description("Tagged tasks held in the in-memory tag index")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        long started = System.nanoTime();
+        taskTagIndex.clear();
+        long rows = 0;
+        for (String shard : shards()) {
+            rows += ShardContext.call(shard, this::load);
+        }
+        logger.info("Rebuilt tag index from {} tags ({} tagged tasks) in {} ms",
+                rows, taskTagIndex.taggedTasks(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Replaces the task's tags unless they are unchanged, and returns the normalized set.
+     */
+    @Transactional
+    public Set<String> replace(Long userId, Long taskId, Collection<String> tags) {
+        Set<String> normalized = TaskTagIndex.normalize(tags);
+        if (normalized.equals(taskTagIndex.tags(userId, taskId))) {
+            return normalized;
+        }
+        taskTagRepository.deleteByTask(taskId, userId);
+        if (!normalized.isEmpty()) {
+            List<TaskTag> rows = new ArrayList<>(normalized.size());
+            for (String tag : normalized) {
+                rows.add(new TaskTag(taskId, tag, userId));
+            }
+            taskTagRepository.saveAll(rows);
+        }
+        AfterCommit.run(() -> taskTagIndex.put(userId, taskId, normalized));
+        return normalized;
+    }
+
+    @Transactional
+    public void remove(Long userId, Long taskId) {
+        if (!taskTagIndex.tags(userId, taskId).isEmpty()) {
+            taskTagRepository.deleteByTask(taskId, userId);
+            AfterCommit.run(() -> taskTagIndex.remove(userId, taskId));
+        }
+    }
+
+    /**
+     * Drops the tags of tasks that are being moved to the archive; archived tasks keep no tags.
+     */
+    @Transactional
+    public void removeArchived(Collection<Long> taskIds) {
+        List<TaskTag> rows = taskTagRepository.findByTaskIdIn(taskIds);
+        if (rows.isEmpty()) {
+            return;
+        }
+        taskTagRepository.deleteByTaskIdIn(taskIds);
+        AfterCommit.run(() -> {
+            for (TaskTag row : rows) {
+                taskTagIndex.remove(row.getUserId(), row.getTaskId());
+            }
+        });
+    }
+
+    private long load() {
+        long rows = 0;
+        long afterTaskId = 0;
+        List<TaskTag> page;
+        do {
+            page = taskTagRepository.findByTaskIdGreaterThanOrderByTaskIdAsc(afterTaskId, PageRequest.of(0, rebuildBatch));
+            int complete = page.size();
+            if (page.size() == rebuildBatch) {
+                long last = page.get(page.size() - 1).getTaskId();
+                while (complete > 0 && page.get(complete - 1).getTaskId() == last) {
+                    complete--;
+                }
+                if (complete == 0) {
+                    throw new IllegalStateException("task.tags.rebuild-batch is smaller than the tags of one task");
+                }
+            }
+            int from = 0;
+            while (from < complete) {
+                TaskTag first = page.get(from);
+                Set<String> tags = new TreeSet<>();
+                int to = from;
+                while (to < complete && page.get(to).getTaskId().equals(first.getTaskId())) {
+                    tags.add(page.get(to).getTag());
+                    to++;
+                }
+                taskTagIndex.put(first.getUserId(), first.getTaskId(), tags);
+                afterTaskId = first.getTaskId();
+                from = to;
+            }
+            rows += complete;
+        } while (page.size() == rebuildBatch);
+        return rows;
+    }
+
+    private List<String> shards() {
+        ShardDataSources sharded = shardDataSources.getIfAvailable();
+        return sharded != null ? sharded.getShardNames() : Collections.singletonList(null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.veri.taskmanager.timing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.veri.taskmanager.Jwt")
+@Label("JWT Operation")
+@Description("A JwtUtil call: token signing, parsing or validation")
+@Category({"Task Manager", "Security"})
+@StackTrace(false)
+public class JwtEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Request Id")
+    public String requestId;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,93 @@
+package com.veri.taskmanager.timing;
+
+import java.util.Locale;
+
+/**
+ * Time spent per phase of the current request, kept in a thread-local by {@link ServerTimingFilter}.
+ * Only the outermost entry into a phase is timed, so a store call that goes through a Spring Data
+ * repository counts once. Phases can nest in each other: service time includes its repository time.
+ * Calls on threads without a request in progress are no-ops.
+ */
+public final class RequestTiming {
+
+    public enum Phase {
+        AUTH("auth"),
+        SERVICE("service"),
+        REPOSITORY("repository"),
+        SERIALIZATION("serialization");
+
+        private final String metric;
+
+        Phase(String metric) {
+            this.metric = metric;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt;
+    private final long[] totals = new long[PHASES.length];
+    private final long[] openedAt = new long[PHASES.length];
+    private final int[] depth = new int[PHASES.length];
+
+    RequestTiming(long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public void enter(Phase phase) {
+        int i = phase.ordinal();
+        if (depth[i]++ == 0) {
+            openedAt[i] = System.nanoTime();
+        }
+    }
+
+    public void exit(Phase phase) {
+        int i = phase.ordinal();
+        if (--depth[i] == 0) {
+            totals[i] += System.nanoTime() - openedAt[i];
+        }
+    }
+
+    public long getNanos(Phase phase) {
+        return totals[phase.ordinal()];
+    }
+
+    /**
+     * The {@code Server-Timing} header value: {@code filter} is the time since the request entered
+     * the filter chain, followed by every phase that was entered, in milliseconds.
+     */
+    String toHeader(long now) {
+        StringBuilder header = new StringBuilder(96);
+        append(header, "filter", now - startedAt);
+        for (Phase phase : PHASES) {
+            long total = totals[phase.ordinal()];
+            if (depth[phase.ordinal()] > 0) {
+                total += now - openedAt[phase.ordinal()];
+            }
+            if (total > 0) {
+                header.append(", ");
+                append(header, phase.metric, total);
+            }
+        }
+        return header.toString();
+    }
+
+    private static void append(StringBuilder header, String metric, long nanos) {
+        header.append(metric).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+    }
+}
@@ -0,0 +1,96 @@
+package com.veri.taskmanager.timing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Adds a {@code Server-Timing} header with the per-phase breakdown from {@link RequestTiming}. The
+ * header has to go out before the body, so it is written when the response body is first opened
+ * and covers everything up to that point, including payloads encoded by {@code PayloadWriters}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "timing.server-timing.enabled", havingValue = "true")
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.begin();
+        TimingResponse timed = new TimingResponse(response, timing);
+        try {
+            filterChain.doFilter(request, timed);
+        } finally {
+            timed.writeHeader();
+            RequestTiming.end();
+        }
+    }
+
+    private static final class TimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestTiming timing;
+        private boolean written;
+
+        private TimingResponse(HttpServletResponse response, RequestTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        private void writeHeader() {
+            if (!written && !isCommitted()) {
+                setHeader(HEADER, timing.toHeader(System.nanoTime()));
+            }
+            written = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeader();
+            super.sendRedirect(location);
+        }
+    }
+}
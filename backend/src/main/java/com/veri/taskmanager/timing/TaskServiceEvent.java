@@ -0,0 +1,24 @@
+package com.veri.taskmanager.timing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.veri.taskmanager.TaskService")
+@Label("Task Service Operation")
+@Description("A public TaskService call")
+@Category({"Task Manager", "Service"})
+@StackTrace(false)
+public class TaskServiceEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Request Id")
+    public String requestId;
+
+    @Label("Failed")
+    public boolean failed;
+}
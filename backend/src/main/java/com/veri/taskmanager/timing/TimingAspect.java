@@ -0,0 +1,94 @@
+package com.veri.taskmanager.timing;
+
+import com.veri.taskmanager.logging.CorrelationIdFilter;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+/**
+ * Attributes time to {@link RequestTiming} phases and emits Flight Recorder events for
+ * {@code TaskService} and {@code JwtUtil} calls. Only registered when {@code Server-Timing} or JFR
+ * events are turned on, so the beans are not proxied for it otherwise.
+ */
+@Aspect
+@Component
+@ConditionalOnExpression("${timing.server-timing.enabled:false} or ${timing.jfr.enabled:false}")
+public class TimingAspect {
+
+    @Value("${timing.jfr.enabled:false}")
+    private boolean jfrEnabled;
+
+    @Around("execution(public * com.veri.taskmanager.service.TaskService.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        TaskServiceEvent event = jfrEnabled ? new TaskServiceEvent() : null;
+        if (event == null || !event.isEnabled()) {
+            return timed(RequestTiming.Phase.SERVICE, joinPoint);
+        }
+
+        event.operation = joinPoint.getSignature().getName();
+        event.requestId = MDC.get(CorrelationIdFilter.MDC_KEY);
+        event.begin();
+        try {
+            return timed(RequestTiming.Phase.SERVICE, joinPoint);
+        } catch (Throwable e) {
+            event.failed = true;
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Around("execution(public * com.veri.taskmanager.security.JwtUtil.*(..))")
+    public Object timeJwt(ProceedingJoinPoint joinPoint) throws Throwable {
+        JwtEvent event = jfrEnabled ? new JwtEvent() : null;
+        if (event == null || !event.isEnabled()) {
+            return timed(RequestTiming.Phase.AUTH, joinPoint);
+        }
+
+        event.operation = joinPoint.getSignature().getName();
+        event.requestId = MDC.get(CorrelationIdFilter.MDC_KEY);
+        event.begin();
+        try {
+            return timed(RequestTiming.Phase.AUTH, joinPoint);
+        } catch (Throwable e) {
+            event.failed = true;
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Around("execution(public * com.veri.taskmanager.security.CustomUserDetailsService.loadUserByUsername(..))"
+            + " || execution(public * com.veri.taskmanager.security.TokenRevocationService.isRevoked(..))")
+    public Object timeAuth(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timed(RequestTiming.Phase.AUTH, joinPoint);
+    }
+
+    @Around("execution(public * com.veri.taskmanager.store.TaskStore+.*(..))"
+            + " || execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timed(RequestTiming.Phase.REPOSITORY, joinPoint);
+    }
+
+    @Around("execution(public * com.veri.taskmanager.util.PayloadWriters.write*(..))")
+    public Object timeSerialization(ProceedingJoinPoint joinPoint) throws Throwable {
+        return timed(RequestTiming.Phase.SERIALIZATION, joinPoint);
+    }
+
+    private static Object timed(RequestTiming.Phase phase, ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            return joinPoint.proceed();
+        }
+        timing.enter(phase);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timing.exit(phase);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.veri.taskmanager.util;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * Open-addressing hash map keyed by primitive {@code long}, so lookups never box the key.
+ * Null values are not allowed; an empty value slot marks a free bucket. Not thread-safe.
+ */
+public class LongObjectHashMap<V> {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    public LongObjectHashMap() {
+        this(16);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        for (int i = index(key); ; i = (i + 1) & mask) {
+            Object value = values[i];
+            if (value == null) {
+                return null;
+            }
+            if (keys[i] == key) {
+                return (V) value;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        for (int i = index(key); ; i = (i + 1) & mask) {
+            if (values[i] == null) {
+                keys[i] = key;
+                values[i] = value;
+                if (++size >= resizeAt) {
+                    rehash(values.length << 1);
+                }
+                return null;
+            }
+            if (keys[i] == key) {
+                V previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+        }
+    }
+
+    public V computeIfAbsent(long key, LongFunction<V> factory) {
+        V value = get(key);
+        if (value == null) {
+            value = factory.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<V> consumer) {
+        for (Object value : values) {
+            if (value != null) {
+                consumer.accept((V) value);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private int index(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                put(oldKeys[i], (V) oldValues[i]);
+            }
+        }
+    }
+}
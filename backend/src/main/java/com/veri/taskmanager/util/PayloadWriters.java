@@ -0,0 +1,101 @@
+package com.veri.taskmanager.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.veri.taskmanager.config.WebConfig;
+import com.veri.taskmanager.dto.StandardResponse;
+import com.veri.taskmanager.dto.TaskResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class PayloadWriters {
+
+    public static final TypeReference<StandardResponse<List<TaskResponse>>> TASK_LIST_TYPE =
+            new TypeReference<StandardResponse<List<TaskResponse>>>() {};
+    public static final TypeReference<StandardResponse<TaskResponse>> TASK_TYPE =
+            new TypeReference<StandardResponse<TaskResponse>>() {};
+
+    private final ObjectWriter jsonTaskList;
+    private final ObjectWriter cborTaskList;
+    private final ObjectWriter smileTaskList;
+    private final ObjectWriter jsonTask;
+    private final ObjectWriter cborTask;
+    private final ObjectWriter smileTask;
+
+    @Autowired
+    public PayloadWriters(ObjectMapper objectMapper,
+                          MappingJackson2CborHttpMessageConverter cborConverter,
+                          MappingJackson2SmileHttpMessageConverter smileConverter) {
+        this(objectMapper, cborConverter.getObjectMapper(), smileConverter.getObjectMapper());
+    }
+
+    public PayloadWriters(ObjectMapper json, ObjectMapper cbor, ObjectMapper smile) {
+        this.jsonTaskList = json.writerFor(TASK_LIST_TYPE);
+        this.cborTaskList = cbor.writerFor(TASK_LIST_TYPE);
+        this.smileTaskList = smile.writerFor(TASK_LIST_TYPE);
+        this.jsonTask = json.writerFor(TASK_TYPE);
+        this.cborTask = cbor.writerFor(TASK_TYPE);
+        this.smileTask = smile.writerFor(TASK_TYPE);
+    }
+
+    /**
+     * Picks CBOR, Smile or JSON for the parsed {@code Accept} header; JSON when the header is absent.
+     * Returns {@code null} when none of the accepted types can be produced.
+     */
+    public static MediaType negotiate(List<MediaType> accepted) {
+        if (accepted.isEmpty()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MediaType.sortBySpecificityAndQuality(accepted);
+        for (MediaType mediaType : accepted) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR) && !mediaType.isWildcardSubtype()) {
+                return MediaType.APPLICATION_CBOR;
+            }
+            if (mediaType.isCompatibleWith(WebConfig.APPLICATION_SMILE) && !mediaType.isWildcardSubtype()) {
+                return WebConfig.APPLICATION_SMILE;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return MediaType.APPLICATION_JSON;
+            }
+        }
+        return null;
+    }
+
+    public byte[] writeTaskList(StandardResponse<List<TaskResponse>> response, MediaType mediaType) {
+        return write(select(mediaType, jsonTaskList, cborTaskList, smileTaskList), response);
+    }
+
+    public byte[] writeTask(StandardResponse<TaskResponse> response, MediaType mediaType) {
+        return write(select(mediaType, jsonTask, cborTask, smileTask), response);
+    }
+
+    private ObjectWriter select(MediaType mediaType, ObjectWriter json, ObjectWriter cbor, ObjectWriter smile) {
+        if (MediaType.APPLICATION_CBOR.includes(mediaType)) {
+            return cbor;
+        }
+        if (WebConfig.APPLICATION_SMILE.includes(mediaType)) {
+            return smile;
+        }
+        return json;
+    }
+
+    private byte[] write(ObjectWriter writer, Object value) {
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode response payload", e);
+        }
+    }
+}
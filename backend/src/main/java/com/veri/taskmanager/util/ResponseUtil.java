@@ -3,6 +3,7 @@ package com.veri.taskmanager.util;
 import com.veri.taskmanager.dto.StandardResponse;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -67,6 +68,43 @@ public class ResponseUtil {
                 .body(response);
     }
 
+    public static <T> ResponseEntity<StandardResponse<T>> conflict(String message) {
+        StandardResponse<T> response = StandardResponse.error(message);
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(response);
+    }
+
+    public static <T> ResponseEntity<StandardResponse<T>> unprocessableEntity(String message) {
+        StandardResponse<T> response = StandardResponse.error(message);
+        return ResponseEntity
+                .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(response);
+    }
+
+    /**
+     * The body is pinned to JSON, because the request's Accept header is the one that could not be served.
+     */
+    public static <T> ResponseEntity<StandardResponse<T>> notAcceptable(String message) {
+        StandardResponse<T> response = StandardResponse.error(message);
+        return ResponseEntity
+                .status(HttpStatus.NOT_ACCEPTABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response);
+    }
+
+    public static <T> ResponseEntity<StandardResponse<T>> serviceUnavailable(String message, long retryAfterSeconds) {
+        StandardResponse<T> response = StandardResponse.error(message);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .headers(headers)
+                .body(response);
+    }
+
     public static <T> ResponseEntity<StandardResponse<T>> withPagination(String message, T data,
             int page, int size, long totalElements, int totalPages, boolean first, boolean last) {
 
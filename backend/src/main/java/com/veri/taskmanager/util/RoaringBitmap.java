@@ -0,0 +1,439 @@
+package com.veri.taskmanager.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative ints in the Roaring layout: values are split by their upper 16 bits
+ * into containers, and each container holds the lower 16 bits either as a sorted array (up to 4096
+ * values) or as a 65536-bit bitmap. {@link #and}, {@link #or} and {@link #andNot} work container by
+ * container and return new bitmaps. Not thread-safe.
+ */
+public class RoaringBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    public void add(int value) {
+        checkValue(value);
+        char key = (char) (value >>> 16);
+        int index = indexOf(key);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, key, new ArrayContainer());
+        }
+        containers[index] = containers[index].add((char) value);
+    }
+
+    public void remove(int value) {
+        checkValue(value);
+        int index = indexOf((char) (value >>> 16));
+        if (index >= 0) {
+            Container container = containers[index].remove((char) value);
+            if (container.cardinality() == 0) {
+                removeContainer(index);
+            } else {
+                containers[index] = container;
+            }
+        }
+    }
+
+    public boolean contains(int value) {
+        int index = value < 0 ? -1 : indexOf((char) (value >>> 16));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Visits the values in ascending order.
+     */
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, consumer);
+        }
+    }
+
+    public int[] toArray() {
+        int[] values = new int[cardinality()];
+        int[] next = {0};
+        forEach(value -> values[next[0]++] = value);
+        return values;
+    }
+
+    public static RoaringBitmap and(RoaringBitmap left, RoaringBitmap right) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < left.size && j < right.size) {
+            if (left.keys[i] < right.keys[j]) {
+                i++;
+            } else if (left.keys[i] > right.keys[j]) {
+                j++;
+            } else {
+                result.appendIfNotEmpty(left.keys[i], left.containers[i].and(right.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public static RoaringBitmap or(RoaringBitmap left, RoaringBitmap right) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < left.size || j < right.size) {
+            if (j == right.size || (i < left.size && left.keys[i] < right.keys[j])) {
+                result.appendIfNotEmpty(left.keys[i], left.containers[i].copy());
+                i++;
+            } else if (i == left.size || left.keys[i] > right.keys[j]) {
+                result.appendIfNotEmpty(right.keys[j], right.containers[j].copy());
+                j++;
+            } else {
+                result.appendIfNotEmpty(left.keys[i], left.containers[i].or(right.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Values of {@code left} that are not in {@code right}.
+     */
+    public static RoaringBitmap andNot(RoaringBitmap left, RoaringBitmap right) {
+        RoaringBitmap result = new RoaringBitmap();
+        int j = 0;
+        for (int i = 0; i < left.size; i++) {
+            while (j < right.size && right.keys[j] < left.keys[i]) {
+                j++;
+            }
+            if (j < right.size && right.keys[j] == left.keys[i]) {
+                result.appendIfNotEmpty(left.keys[i], left.containers[i].andNot(right.containers[j]));
+            } else {
+                result.appendIfNotEmpty(left.keys[i], left.containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    private static void checkValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + value);
+        }
+    }
+
+    private int indexOf(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insertContainer(int index, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private void removeContainer(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        containers[--size] = null;
+    }
+
+    private void appendIfNotEmpty(char key, Container container) {
+        if (container.cardinality() > 0) {
+            insertContainer(size, key, container);
+        }
+    }
+
+    private abstract static class Container {
+
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        abstract void forEach(int high, IntConsumer consumer);
+
+        abstract Container copy();
+
+        abstract Container and(Container other);
+
+        abstract Container or(Container other);
+
+        abstract Container andNot(Container other);
+    }
+
+    private static final class ArrayContainer extends Container {
+
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.max(4, Math.min(ARRAY_MAX, cardinality * 2)));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer consumer) {
+            for (int i = 0; i < cardinality; i++) {
+                consumer.accept(high | values[i]);
+            }
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(1, cardinality)), cardinality);
+        }
+
+        @Override
+        Container and(Container other) {
+            char[] result = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) {
+                    result[count++] = values[i];
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.or(this);
+            }
+            ArrayContainer right = (ArrayContainer) other;
+            char[] merged = new char[cardinality + right.cardinality];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < right.cardinality) {
+                if (j == right.cardinality || (i < cardinality && values[i] < right.values[j])) {
+                    merged[count++] = values[i++];
+                } else if (i == cardinality || values[i] > right.values[j]) {
+                    merged[count++] = right.values[j++];
+                } else {
+                    merged[count++] = values[i++];
+                    j++;
+                }
+            }
+            ArrayContainer result = new ArrayContainer(merged, count);
+            return count > ARRAY_MAX ? result.toBitmap() : result;
+        }
+
+        @Override
+        Container andNot(Container other) {
+            char[] result = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (!other.contains(values[i])) {
+                    result[count++] = values[i];
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.set(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer() {
+            this(new long[BITMAP_WORDS], 0);
+        }
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        void set(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) == 0) {
+                words[value >>> 6] |= bit;
+                cardinality++;
+            }
+        }
+
+        @Override
+        Container add(char value) {
+            set(value);
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) != 0) {
+                words[value >>> 6] &= ~bit;
+                cardinality--;
+            }
+            return cardinality <= ARRAY_MAX ? toArray() : this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer consumer) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    consumer.accept(high | (i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            long[] right = ((BitmapContainer) other).words;
+            long[] result = new long[BITMAP_WORDS];
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result[i] = words[i] & right[i];
+            }
+            return normalized(result);
+        }
+
+        @Override
+        Container or(Container other) {
+            BitmapContainer result = (BitmapContainer) copy();
+            if (other instanceof ArrayContainer) {
+                ArrayContainer right = (ArrayContainer) other;
+                for (int i = 0; i < right.cardinality; i++) {
+                    result.set(right.values[i]);
+                }
+                return result;
+            }
+            long[] right = ((BitmapContainer) other).words;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result.words[i] |= right[i];
+            }
+            return normalized(result.words);
+        }
+
+        @Override
+        Container andNot(Container other) {
+            long[] result = words.clone();
+            if (other instanceof ArrayContainer) {
+                ArrayContainer right = (ArrayContainer) other;
+                for (int i = 0; i < right.cardinality; i++) {
+                    result[right.values[i] >>> 6] &= ~(1L << right.values[i]);
+                }
+            } else {
+                long[] right = ((BitmapContainer) other).words;
+                for (int i = 0; i < BITMAP_WORDS; i++) {
+                    result[i] &= ~right[i];
+                }
+            }
+            return normalized(result);
+        }
+
+        private ArrayContainer toArray() {
+            char[] values = new char[cardinality];
+            int[] count = {0};
+            forEach(0, value -> values[count[0]++] = (char) value);
+            return new ArrayContainer(values, cardinality);
+        }
+
+        private static Container normalized(long[] words) {
+            int cardinality = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+            BitmapContainer bitmap = new BitmapContainer(words, cardinality);
+            return cardinality <= ARRAY_MAX ? bitmap.toArray() : bitmap;
+        }
+    }
+}
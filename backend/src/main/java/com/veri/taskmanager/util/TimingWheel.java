@@ -0,0 +1,203 @@
+package com.veri.taskmanager.util;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel. Level {@code i} has {@code 2^wheelBits} slots, each covering
+ * {@code 2^(wheelBits * i)} ticks; an entry goes into the lowest level whose span reaches its deadline,
+ * and is cascaded one level down when the clock reaches its slot. Deadlines beyond the top level wait
+ * in an overflow list that is re-placed whenever the top level cascades. Scheduling and cancelling are
+ * O(1) since every slot is a doubly-linked list. Deadlines are rounded up to the next tick, so an entry
+ * never expires early. Not thread-safe.
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelBits;
+    private final int mask;
+    private final int levels;
+    private final Timeout<T>[][] slots;
+    private final Timeout<T> overflow = new Timeout<>(null, 0, 0);
+    private final int[] occupancy;
+    private long pendingTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelBits, int levels, long nowMillis) {
+        if (tickMillis <= 0 || wheelBits <= 0 || levels <= 0 || wheelBits * levels >= 62) {
+            throw new IllegalArgumentException("Invalid timing wheel geometry");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelBits = wheelBits;
+        this.mask = (1 << wheelBits) - 1;
+        this.levels = levels;
+        this.slots = new Timeout[levels][1 << wheelBits];
+        for (Timeout<T>[] level : slots) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new Timeout<>(null, 0, 0);
+            }
+        }
+        this.occupancy = new int[levels + 1];
+        this.pendingTick = Math.floorDiv(nowMillis, tickMillis) + 1;
+    }
+
+    public Timeout<T> schedule(T value, long deadlineMillis) {
+        Timeout<T> timeout = new Timeout<>(value, deadlineMillis, -Math.floorDiv(-deadlineMillis, tickMillis));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    public boolean cancel(Timeout<T> timeout) {
+        if (!timeout.isScheduled()) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the clock to {@code nowMillis} and hands every entry whose deadline has passed to
+     * {@code expired}, earliest tick first. Returns the number of expired entries.
+     */
+    public int advance(long nowMillis, Consumer<Timeout<T>> expired) {
+        long nowTick = Math.floorDiv(nowMillis, tickMillis);
+        int count = 0;
+        while (pendingTick <= nowTick) {
+            if (size == 0) {
+                pendingTick = nowTick + 1;
+                break;
+            }
+            long tick = pendingTick;
+            if (aligned(tick, levels - 1) && overflow.next != overflow) {
+                cascade(overflow);
+            }
+            for (int level = levels - 1; level > 0; level--) {
+                if (aligned(tick, level)) {
+                    cascade(slots[level][(int) (tick >>> (wheelBits * level)) & mask]);
+                }
+            }
+            Timeout<T> head = slots[0][(int) tick & mask];
+            Timeout<T> entry = detach(head);
+            pendingTick = tick + 1;
+            while (entry != null) {
+                Timeout<T> next = entry.next;
+                entry.next = null;
+                size--;
+                count++;
+                expired.accept(entry);
+                entry = next;
+            }
+        }
+        return count;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getLevels() {
+        return levels;
+    }
+
+    /**
+     * Entries currently held at {@code level}; {@link #getLevels()} counts the overflow list.
+     */
+    public int occupancy(int level) {
+        return occupancy[level];
+    }
+
+    private boolean aligned(long tick, int level) {
+        return (tick & ((1L << (wheelBits * level)) - 1)) == 0;
+    }
+
+    private void place(Timeout<T> timeout) {
+        long tick = Math.max(timeout.deadlineTick, pendingTick);
+        long delta = tick - pendingTick;
+        for (int level = 0; level < levels; level++) {
+            if (delta < 1L << (wheelBits * (level + 1))) {
+                link(slots[level][(int) (tick >>> (wheelBits * level)) & mask], timeout, level);
+                return;
+            }
+        }
+        link(overflow, timeout, levels);
+    }
+
+    private void cascade(Timeout<T> head) {
+        Timeout<T> entry = detach(head);
+        while (entry != null) {
+            Timeout<T> next = entry.next;
+            place(entry);
+            entry = next;
+        }
+    }
+
+    private void link(Timeout<T> head, Timeout<T> timeout, int level) {
+        timeout.level = level;
+        timeout.prev = head.prev;
+        timeout.next = head;
+        head.prev.next = timeout;
+        head.prev = timeout;
+        occupancy[level]++;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+        occupancy[timeout.level]--;
+    }
+
+    /**
+     * Empties the slot and returns its entries as a null-terminated list linked through {@code next}.
+     * Detached entries are no longer scheduled, so a callback cancelling one of them is a no-op.
+     */
+    private Timeout<T> detach(Timeout<T> head) {
+        if (head.next == head) {
+            return null;
+        }
+        Timeout<T> first = head.next;
+        head.prev.next = null;
+        for (Timeout<T> entry = first; entry != null; entry = entry.next) {
+            entry.prev = null;
+            occupancy[entry.level]--;
+        }
+        head.next = head;
+        head.prev = head;
+        return first;
+    }
+
+    public static final class Timeout<T> {
+
+        private final T value;
+        private final long deadline;
+        private final long deadlineTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private int level;
+
+        private Timeout(T value, long deadline, long deadlineTick) {
+            this.value = value;
+            this.deadline = deadline;
+            this.deadlineTick = deadlineTick;
+            if (value == null) {
+                prev = this;
+                next = this;
+            }
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public boolean isScheduled() {
+            return prev != null;
+        }
+    }
+}
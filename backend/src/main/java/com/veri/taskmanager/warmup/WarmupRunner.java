@@ -0,0 +1,259 @@
+package com.veri.taskmanager.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veri.taskmanager.config.WebConfig;
+import com.veri.taskmanager.dto.StandardResponse;
+import com.veri.taskmanager.dto.TaskFields;
+import com.veri.taskmanager.dto.TaskRequest;
+import com.veri.taskmanager.dto.TaskResponse;
+import com.veri.taskmanager.model.TaskStatus;
+import com.veri.taskmanager.model.User;
+import com.veri.taskmanager.repository.UserRepository;
+import com.veri.taskmanager.security.CustomUserDetails;
+import com.veri.taskmanager.security.JwtUtil;
+import com.veri.taskmanager.security.TokenRevocationService;
+import com.veri.taskmanager.service.TaskListCache;
+import com.veri.taskmanager.service.TaskService;
+import com.veri.taskmanager.service.TaskWriteBatcher;
+import com.veri.taskmanager.store.JpaTaskStore;
+import com.veri.taskmanager.store.TaskStore;
+import com.veri.taskmanager.util.PayloadWriters;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs synthetic traffic through the service stack before the application reports itself ready, so
+ * token signing, Hibernate queries and Jackson encoding are compiled before real requests arrive.
+ * Application runners complete before readiness flips to {@code ACCEPTING_TRAFFIC}. Each iteration
+ * uses a scratch user inside a transaction that is rolled back, so nothing it writes is kept.
+ */
+@Component
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true")
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private static final String SCRATCH_PREFIX = "warmup-";
+    private static final MediaType[] FORMATS = {
+            MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, WebConfig.APPLICATION_SMILE};
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private TaskWriteBatcher taskWriteBatcher;
+
+    @Autowired
+    private TaskListCache taskListCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private PayloadWriters payloadWriters;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${warmup.duration-ms:20000}")
+    private long durationMs;
+
+    @Value("${warmup.iterations:5000}")
+    private int iterations;
+
+    @Value("${warmup.probe-samples:5}")
+    private int probeSamples;
+
+    private final List<TaskResponse> sample = sampleTasks();
+
+    private volatile int completedIterations;
+    private volatile long elapsedNanos;
+    private volatile long probeBeforeNanos;
+    private volatile long probeAfterNanos;
+
+    public WarmupRunner(MeterRegistry meterRegistry) {
+        TimeGauge.builder("startup.warmup.duration", this, TimeUnit.NANOSECONDS, runner -> runner.elapsedNanos)
+                .description("Time spent on synthetic warm-up traffic before accepting requests")
+                .register(meterRegistry);
+        TimeGauge.builder("startup.warmup.probe", this, TimeUnit.NANOSECONDS, runner -> runner.probeBeforeNanos)
+                .tag("phase", "before")
+                .description("Latency of one warm-up iteration")
+                .register(meterRegistry);
+        TimeGauge.builder("startup.warmup.probe", this, TimeUnit.NANOSECONDS, runner -> runner.probeAfterNanos)
+                .tag("phase", "after")
+                .description("Latency of one warm-up iteration")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        boolean writes = canRollBackWrites();
+        logger.info("Warming up for at most {} iterations or {} ms (task writes {})",
+                iterations, durationMs, writes ? "included" : "skipped");
+
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(durationMs);
+        try {
+            probeBeforeNanos = probe(writes);
+            int done = 1;
+            while (done < iterations && System.nanoTime() < deadline) {
+                iteration(writes);
+                done++;
+            }
+            completedIterations = done;
+            elapsedNanos = System.nanoTime() - started;
+            probeAfterNanos = medianProbe(writes);
+        } catch (RuntimeException e) {
+            elapsedNanos = System.nanoTime() - started;
+            logger.warn("Warm-up stopped after {} ms", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), e);
+            return;
+        }
+
+        logger.info("Warm-up ran {} iterations in {} ms; probe took {} µs before and {} µs after",
+                completedIterations, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                TimeUnit.NANOSECONDS.toMicros(probeBeforeNanos), TimeUnit.NANOSECONDS.toMicros(probeAfterNanos));
+    }
+
+    public int getCompletedIterations() {
+        return completedIterations;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getProbeBeforeNanos() {
+        return probeBeforeNanos;
+    }
+
+    public long getProbeAfterNanos() {
+        return probeAfterNanos;
+    }
+
+    /**
+     * Task writes only take part when they run in the caller's transaction. The in-memory store and
+     * the group-commit writer would keep them despite the rollback.
+     */
+    private boolean canRollBackWrites() {
+        return JpaTaskStore.class.isAssignableFrom(AopUtils.getTargetClass(taskStore)) && !taskWriteBatcher.isEnabled();
+    }
+
+    private long medianProbe(boolean writes) {
+        long[] samples = new long[Math.max(1, probeSamples)];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = probe(writes);
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+
+    private long probe(boolean writes) {
+        long started = System.nanoTime();
+        iteration(writes);
+        return System.nanoTime() - started;
+    }
+
+    private void iteration(boolean writes) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            User user = userRepository.save(new User(SCRATCH_PREFIX + UUID.randomUUID(), "!"));
+            CustomUserDetails userDetails = new CustomUserDetails(user);
+
+            String token = jwtUtil.generateToken(userDetails);
+            if (!jwtUtil.validateToken(token, userDetails)
+                    || tokenRevocationService.isRevoked(jwtUtil.extractClaim(token, claims -> claims))) {
+                throw new IllegalStateException("Warm-up token was rejected");
+            }
+
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+            try {
+                if (writes) {
+                    exerciseWrites();
+                }
+                for (MediaType format : FORMATS) {
+                    taskService.getTaskListPayload(null, TaskFields.ALL, false, format);
+                    payloadWriters.writeTaskList(StandardResponse.success("Tasks retrieved successfully", sample), format);
+                    payloadWriters.writeTask(StandardResponse.success("Task retrieved successfully", sample.get(0)), format);
+                }
+                taskService.getTasksByStatus(TaskStatus.COMPLETED, TaskFields.SUMMARY);
+                taskService.getRecentlyUpdatedTasks(null, 20);
+            } finally {
+                SecurityContextHolder.clearContext();
+                taskListCache.invalidate(user.getId());
+            }
+        });
+    }
+
+    private void exerciseWrites() {
+        TaskRequest request = readRequest("{\"title\":\"Warm-up task\",\"description\":\"Synthetic\",\"status\":\"PENDING\"}");
+        TaskResponse task = taskService.createTask(request);
+        request.setTitle("Warm-up task (edited)");
+        taskService.updateTask(task.getId(), request);
+        taskService.updateTaskStatus(task.getId(), TaskStatus.COMPLETED);
+        taskService.getTaskById(task.getId(), TaskFields.ALL);
+        taskService.getTaskListPayload(null, TaskFields.SUMMARY, false, MediaType.APPLICATION_JSON);
+        taskService.deleteTask(task.getId());
+    }
+
+    private TaskRequest readRequest(String json) {
+        try {
+            return objectMapper.readValue(json, TaskRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read warm-up request", e);
+        }
+    }
+
+    private static List<TaskResponse> sampleTasks() {
+        TaskStatus[] statuses = TaskStatus.values();
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskResponse> tasks = new ArrayList<>(50);
+        for (int i = 0; i < 50; i++) {
+            tasks.add(new TaskResponse((long) i + 1, "Task " + i, i % 2 == 0 ? null : "Description of task " + i,
+                    statuses[i % statuses.length], now.minusHours(i), now.minusMinutes(i)));
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,21 @@
+-- Users and the user-to-shard map. The directory also gets the shard tables (empty) so user cascades resolve.
+create table if not exists users (
+    id bigint generated by default as identity primary key,
+    username varchar(255) not null unique,
+    password varchar(255) not null,
+    created_at timestamp
+);
+
+create table if not exists shard_directory (
+    user_id bigint not null primary key,
+    shard varchar(64) not null,
+    state varchar(16) not null,
+    updated_at timestamp not null
+);
+
+create table if not exists revoked_tokens (
+    token_key varchar(320) not null primary key,
+    revoked_at bigint not null,
+    expires_at bigint not null
+);
+create index if not exists idx_revoked_tokens_expires_at on revoked_tokens (expires_at);
@@ -0,0 +1,46 @@
+-- Tables held on every shard. tasks.user_id has no foreign key because users live in the directory database.
+create table if not exists tasks (
+    id bigint not null primary key,
+    title varchar(255) not null,
+    description text,
+    status varchar(255) not null,
+    user_id bigint not null,
+    created_at timestamp,
+    updated_at timestamp,
+    due_at timestamp,
+    remind_at timestamp
+);
+create index if not exists idx_tasks_user_updated on tasks (user_id, updated_at);
+create index if not exists idx_tasks_remind_at on tasks (remind_at);
+
+create table if not exists task_tags (
+    task_id bigint not null,
+    tag varchar(32) not null,
+    user_id bigint not null,
+    primary key (task_id, tag)
+);
+create index if not exists idx_task_tags_user_id on task_tags (user_id);
+
+create table if not exists tasks_archive (
+    id bigint not null primary key,
+    title varchar(255) not null,
+    description text,
+    status varchar(255) not null,
+    user_id bigint not null,
+    created_at timestamp,
+    updated_at timestamp,
+    due_at timestamp,
+    remind_at timestamp,
+    archived_at timestamp not null
+);
+create index if not exists idx_tasks_archive_user_id on tasks_archive (user_id);
+
+create table if not exists idempotency_keys (
+    idem_key varchar(320) not null primary key,
+    fingerprint varchar(64) not null,
+    status_code integer,
+    location varchar(255),
+    body text,
+    expires_at bigint not null
+);
+create index if not exists idx_idempotency_keys_expires_at on idempotency_keys (expires_at);
@@ -0,0 +1,92 @@
+package com.veri.taskmanager.benchmark;
+
+import com.veri.taskmanager.TaskmanagerApplication;
+import com.veri.taskmanager.dto.TaskRequest;
+import com.veri.taskmanager.dto.TaskResponse;
+import com.veri.taskmanager.model.User;
+import com.veri.taskmanager.repository.UserRepository;
+import com.veri.taskmanager.security.CustomUserDetails;
+import com.veri.taskmanager.service.TaskService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Task creation throughput with one transaction per request versus group commit, under 32 concurrent callers.
+ * JMH reports tasks/s; the per-iteration line printed at teardown reports commits/s for the same window.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(1)
+public class GroupCommitBenchmark {
+
+    @Param({"direct", "group-commit"})
+    private String writeMode;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private Statistics statistics;
+    private User user;
+    private long iterationStart;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskmanagerApplication.class)
+                .properties("server.port=0", "spring.jpa.show-sql=false", "logging.level.root=WARN",
+                        "spring.datasource.url=jdbc:h2:file:./target/bench/groupcommit-" + writeMode + ";DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "task.write-mode=" + writeMode)
+                .run();
+        taskService = context.getBean(TaskService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        user = context.getBean(UserRepository.class).save(new User("bench-writer", "x"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        statistics.clear();
+        iterationStart = System.nanoTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportCommits() {
+        double seconds = (System.nanoTime() - iterationStart) / 1_000_000_000.0;
+        System.out.printf("%n%s: %.0f commits/s, %.0f tasks/s%n", writeMode,
+                statistics.getSuccessfulTransactionCount() / seconds, statistics.getEntityInsertCount() / seconds);
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+        private final TaskRequest request = new TaskRequest();
+
+        @Setup
+        public void authenticate(GroupCommitBenchmark benchmark) {
+            CustomUserDetails principal = new CustomUserDetails(benchmark.user);
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+            request.setTitle("Benchmark task");
+            request.setDescription("Created under load");
+        }
+    }
+
+    @Benchmark
+    public TaskResponse createTask(Caller caller) {
+        return taskService.createTask(caller.request);
+    }
+}
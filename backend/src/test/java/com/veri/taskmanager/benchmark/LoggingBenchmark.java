@@ -0,0 +1,98 @@
+package com.veri.taskmanager.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.veri.taskmanager.logging.CorrelationIdFilter;
+import com.veri.taskmanager.logging.SamplingTurboFilter;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.MDC;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caller throughput of a hot-path INFO line ({@code TaskService} style) under 8 threads: appending
+ * synchronously as before, through the bounded async appender from {@code logback-spring.xml}, and
+ * async with 1-in-100 INFO sampling. The sink is a file with a flush per event, like the console
+ * appender writing to a container's stdout pipe.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(8)
+@Fork(1)
+public class LoggingBenchmark {
+
+    @Param({"sync", "async", "async-sampled"})
+    private String pipeline;
+
+    private LoggerContext context;
+    private Logger logger;
+
+    @Setup
+    public void setUp() {
+        context = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} %5p [%X{requestId:-}] %t --- %-40.40logger{39} : %m%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile("target/bench/logging-" + pipeline + ".log");
+        file.setAppend(false);
+        file.setImmediateFlush(true);
+        file.setEncoder(encoder);
+        file.start();
+
+        Appender<ILoggingEvent> appender = file;
+        if (!"sync".equals(pipeline)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(8192 / 5);
+            async.setIncludeCallerData(false);
+            async.addAppender(file);
+            async.start();
+            appender = async;
+        }
+        if ("async-sampled".equals(pipeline)) {
+            SamplingTurboFilter sampling = new SamplingTurboFilter();
+            sampling.setLoggers("com.veri.taskmanager.service");
+            sampling.setLevel("INFO");
+            sampling.setEvery(100);
+            sampling.start();
+            context.addTurboFilter(sampling);
+        }
+
+        logger = context.getLogger("com.veri.taskmanager.service.TaskService");
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @State(Scope.Thread)
+    public static class Request {
+        @Setup
+        public void correlate() {
+            MDC.put(CorrelationIdFilter.MDC_KEY, Long.toHexString(ThreadLocalRandom.current().nextLong()));
+        }
+    }
+
+    @Benchmark
+    public void logHotPathLine(Request request) {
+        logger.info("Getting task {} for user: {}", ThreadLocalRandom.current().nextInt(10_000), "bench-user");
+    }
+}
@@ -0,0 +1,113 @@
+package com.veri.taskmanager.benchmark;
+
+import com.veri.taskmanager.TaskmanagerApplication;
+import com.veri.taskmanager.model.Task;
+import com.veri.taskmanager.model.User;
+import com.veri.taskmanager.repository.TaskRepository;
+import com.veri.taskmanager.repository.UserRepository;
+import com.veri.taskmanager.security.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GET /api/tasks} over HTTP with open-session-in-view on and off, 32 concurrent clients against
+ * an 8-connection pool. The list cache, read coalescing and load shedding are off so every request
+ * reaches the database. JMH reports requests/s; the line printed at each iteration's teardown reports
+ * how long requests held a pooled connection and waited to get one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(1)
+public class OpenSessionInViewBenchmark {
+
+    private static final int TASKS = 200;
+
+    @Param({"true", "false"})
+    private boolean openInView;
+
+    private ConfigurableApplicationContext context;
+    private MeterRegistry meterRegistry;
+    private HttpClient client;
+    private HttpRequest request;
+    private long usageCount;
+    private double usageMillis;
+    private double acquireMillis;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskmanagerApplication.class)
+                .properties("server.port=0", "spring.jpa.show-sql=false", "logging.level.root=WARN",
+                        "spring.jpa.open-in-view=" + openInView,
+                        "spring.datasource.hikari.maximum-pool-size=8",
+                        "task.list-cache.enabled=false", "task.read-coalescing.enabled=false",
+                        "limits.enabled=false")
+                .run();
+        meterRegistry = context.getBean(MeterRegistry.class);
+
+        User user = context.getBean(UserRepository.class).save(new User("bench-osiv", "x"));
+        List<Task> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(new Task("Task " + i, "Description ".repeat(1 + i % 20), user));
+        }
+        context.getBean(TaskRepository.class).saveAll(tasks);
+
+        String token = context.getBean(JwtUtil.class)
+                .generateToken(context.getBean(UserDetailsService.class).loadUserByUsername("bench-osiv"));
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks"))
+                .header("Authorization", "Bearer " + token)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        Timer usage = meterRegistry.find("hikaricp.connections.usage").timer();
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").timer();
+        usageCount = usage.count();
+        usageMillis = usage.totalTime(TimeUnit.MILLISECONDS);
+        acquireMillis = acquire.totalTime(TimeUnit.MILLISECONDS);
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportConnections() {
+        Timer usage = meterRegistry.find("hikaricp.connections.usage").timer();
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").timer();
+        long count = Math.max(1, usage.count() - usageCount);
+        System.out.printf("%nopen-in-view=%s: %d checkouts, %.2f ms held, %.2f ms waiting per checkout%n",
+                openInView, count, (usage.totalTime(TimeUnit.MILLISECONDS) - usageMillis) / count,
+                (acquire.totalTime(TimeUnit.MILLISECONDS) - acquireMillis) / count);
+    }
+
+    @Benchmark
+    public int listTasks() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /api/tasks returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
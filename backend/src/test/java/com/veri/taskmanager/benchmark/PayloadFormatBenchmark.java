@@ -0,0 +1,90 @@
+package com.veri.taskmanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.veri.taskmanager.dto.StandardResponse;
+import com.veri.taskmanager.dto.TaskResponse;
+import com.veri.taskmanager.model.TaskStatus;
+import com.veri.taskmanager.util.PayloadWriters;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encode/decode cost and wire size of a task list per negotiated format.
+ * Run with {@code mvn -Pbenchmark test -DskipTests -Dbenchmark.include=PayloadFormatBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadFormatBenchmark {
+
+    @Param({"application/json", "application/cbor", "application/x-jackson-smile"})
+    private String format;
+
+    @Param({"500"})
+    private int tasks;
+
+    private PayloadWriters writers;
+    private ObjectReader reader;
+    private MediaType mediaType;
+    private StandardResponse<List<TaskResponse>> payload;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper cbor = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+        writers = new PayloadWriters(json, cbor, smile);
+        mediaType = MediaType.parseMediaType(format);
+
+        ObjectMapper selected = MediaType.APPLICATION_CBOR.equals(mediaType) ? cbor
+                : MediaType.APPLICATION_JSON.equals(mediaType) ? json : smile;
+        reader = selected.readerFor(PayloadWriters.TASK_LIST_TYPE);
+
+        List<TaskResponse> data = new ArrayList<>(tasks);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < tasks; i++) {
+            data.add(new TaskResponse((long) i, "Task " + i,
+                    "Description for task " + i + " with a realistic amount of free text attached",
+                    i % 3 == 0 ? TaskStatus.COMPLETED : TaskStatus.PENDING,
+                    now.minusDays(i % 30), now.minusHours(i % 48)));
+        }
+        payload = StandardResponse.success("Tasks retrieved successfully", data);
+        encoded = writers.writeTaskList(payload, mediaType);
+
+        System.out.printf("%n%s: %d bytes raw, %d bytes gzip%n", format, encoded.length, gzip(encoded).length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return writers.writeTaskList(payload, mediaType);
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+
+    private static byte[] gzip(byte[] raw) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        }
+        return out.toByteArray();
+    }
+}
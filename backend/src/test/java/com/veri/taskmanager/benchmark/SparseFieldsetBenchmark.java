@@ -0,0 +1,83 @@
+package com.veri.taskmanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veri.taskmanager.TaskmanagerApplication;
+import com.veri.taskmanager.dto.TaskFields;
+import com.veri.taskmanager.model.TaskStatus;
+import com.veri.taskmanager.model.User;
+import com.veri.taskmanager.repository.UserRepository;
+import com.veri.taskmanager.store.TaskStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query plus JSON encoding of a large task list with every field, with the default summary and with
+ * {@code ?fields=id,title,status}. The encoded size of each variant is printed once during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SparseFieldsetBenchmark {
+
+    private static final TaskFields SPARSE = TaskFields.parse("id,title,status", TaskFields.SUMMARY);
+
+    @Param({"10000"})
+    private int tasks;
+
+    private ConfigurableApplicationContext context;
+    private TaskStore taskStore;
+    private ObjectMapper objectMapper;
+    private Long userId;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = new SpringApplicationBuilder(TaskmanagerApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run("--spring.jpa.show-sql=false", "--journal.enabled=false",
+                        "--spring.datasource.url=jdbc:h2:mem:fields-bench",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop");
+        taskStore = context.getBean(TaskStore.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        User user = context.getBean(UserRepository.class).save(new User("bench-" + tasks, "x"));
+        userId = user.getId();
+        for (int i = 0; i < tasks; i++) {
+            taskStore.create(userId, "Task " + i, "Description ".repeat(1 + i % 40),
+                    i % 3 == 0 ? TaskStatus.COMPLETED : TaskStatus.PENDING);
+        }
+
+        System.out.printf("%nResponse size for %d tasks: all=%d bytes, summary=%d bytes, id,title,status=%d bytes%n",
+                tasks, encode(TaskFields.ALL).length, encode(TaskFields.SUMMARY).length, encode(SPARSE).length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] allFields() throws IOException {
+        return encode(TaskFields.ALL);
+    }
+
+    @Benchmark
+    public byte[] summary() throws IOException {
+        return encode(TaskFields.SUMMARY);
+    }
+
+    @Benchmark
+    public byte[] idTitleStatus() throws IOException {
+        return encode(SPARSE);
+    }
+
+    private byte[] encode(TaskFields fields) throws IOException {
+        return objectMapper.writeValueAsBytes(taskStore.findAll(userId, fields, false));
+    }
+}
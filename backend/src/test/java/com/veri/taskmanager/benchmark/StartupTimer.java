@@ -0,0 +1,119 @@
+package com.veri.taskmanager.benchmark;
+
+import com.veri.taskmanager.TaskmanagerApplication;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from JVM launch to the first successful request ({@code GET /actuator/health}), measured on
+ * fresh child JVMs. When a class-data-sharing archive is given and exists, runs are repeated with it.
+ * Run through the {@code startup} Maven profile, which builds the archive first:
+ * {@code mvn -Pstartup test -DskipTests [-Dstartup.profiles=fast-startup] [-Dstartup.runs=5]}.
+ */
+public final class StartupTimer {
+
+    private static final long TIMEOUT_MS = TimeUnit.MINUTES.toMillis(2);
+
+    private StartupTimer() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String profiles = args.length > 0 ? args[0] : "";
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        Path archive = args.length > 2 ? Paths.get(args[2]) : null;
+
+        report("without CDS", measure(profiles, runs, null));
+        if (archive != null && Files.exists(archive)) {
+            report("with CDS", measure(profiles, runs, archive));
+        }
+    }
+
+    private static List<Long> measure(String profiles, int runs, Path archive) throws Exception {
+        List<Long> timings = new ArrayList<>(runs);
+        for (int i = 0; i < runs; i++) {
+            timings.add(timeToFirstRequest(profiles, archive));
+        }
+        return timings;
+    }
+
+    private static long timeToFirstRequest(String profiles, Path archive) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (archive != null) {
+            command.add("-XX:SharedArchiveFile=" + archive);
+        }
+        command.addAll(Arrays.asList("-cp", System.getProperty("java.class.path"),
+                TaskmanagerApplication.class.getName(),
+                "--server.port=" + port,
+                "--journal.enabled=false",
+                "--logging.level.root=WARN"));
+        if (!profiles.isEmpty()) {
+            command.add("--spring.profiles.active=" + profiles);
+        }
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            URL health = new URL("http://localhost:" + port + "/actuator/health");
+            while (!isUp(health)) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue());
+                }
+                if (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) > TIMEOUT_MS) {
+                    throw new IllegalStateException("Application did not answer within " + TIMEOUT_MS + " ms");
+                }
+                Thread.sleep(5);
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static boolean isUp(URL health) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) health.openConnection();
+            connection.setConnectTimeout(200);
+            connection.setReadTimeout(2000);
+            try {
+                return connection.getResponseCode() == 200;
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void report(String label, List<Long> timings) {
+        List<Long> sorted = new ArrayList<>(timings);
+        Collections.sort(sorted);
+        System.out.printf("Time to first request %s: median %d ms, min %d ms, max %d ms over %d runs %s%n",
+                label, sorted.get(sorted.size() / 2), sorted.get(0), sorted.get(sorted.size() - 1),
+                sorted.size(), timings);
+    }
+}
@@ -0,0 +1,48 @@
+package com.veri.taskmanager.benchmark;
+
+import com.veri.taskmanager.model.TaskStatus;
+import com.veri.taskmanager.store.StoredTask;
+import com.veri.taskmanager.store.TaskIndex;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * Retained heap per task in the in-memory engine. Loads {@code tasks} tasks spread over {@code users}
+ * users and compares used heap after full collections.
+ * Run with {@code java -cp target/test-classes:target/classes:<deps> com.veri.taskmanager.benchmark.TaskIndexFootprint 1000000 10000}.
+ */
+public final class TaskIndexFootprint {
+
+    private TaskIndexFootprint() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int tasks = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int users = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        TaskStatus[] statuses = TaskStatus.values();
+
+        long before = usedHeap();
+        TaskIndex index = new TaskIndex();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < tasks; i++) {
+            String description = i % 2 == 0 ? null : "Follow up with the team about item " + i;
+            index.put(new StoredTask(i + 1, 1 + i % users, "Task " + i, description,
+                    statuses[i % statuses.length], now - i, now - i));
+        }
+        long after = usedHeap();
+
+        long perTask = (after - before) / tasks;
+        System.out.printf("%d tasks over %d users: %d MB retained, %d bytes/task (strings included)%n",
+                index.size(), users, (after - before) >> 20, perTask);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
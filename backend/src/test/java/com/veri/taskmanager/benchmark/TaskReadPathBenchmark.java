@@ -0,0 +1,96 @@
+package com.veri.taskmanager.benchmark;
+
+import com.veri.taskmanager.TaskmanagerApplication;
+import com.veri.taskmanager.dto.TaskFields;
+import com.veri.taskmanager.dto.TaskResponse;
+import com.veri.taskmanager.model.Task;
+import com.veri.taskmanager.model.TaskStatus;
+import com.veri.taskmanager.model.User;
+import com.veri.taskmanager.repository.TaskRepository;
+import com.veri.taskmanager.repository.UserRepository;
+import com.veri.taskmanager.store.TaskStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Entity hydration versus the {@link TaskStore} projections used by the task endpoints.
+ * The benchmark profile attaches the gc profiler, so {@code gc.alloc.rate.norm} is the
+ * per-request allocation figure to compare.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskReadPathBenchmark {
+
+    @Param({"100", "1000"})
+    private int tasks;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private TaskStore taskStore;
+    private TransactionTemplate readOnly;
+    private Long userId;
+    private Long firstTaskId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskmanagerApplication.class)
+                .properties("server.port=0", "spring.jpa.show-sql=false", "logging.level.root=WARN")
+                .run();
+        taskRepository = context.getBean(TaskRepository.class);
+        taskStore = context.getBean(TaskStore.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        User user = context.getBean(UserRepository.class).save(new User("bench-" + tasks, "x"));
+        userId = user.getId();
+
+        List<Task> batch = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            Task task = new Task("Task " + i, "Description ".repeat(1 + i % 40), user);
+            task.setStatus(i % 3 == 0 ? TaskStatus.COMPLETED : TaskStatus.PENDING);
+            batch.add(task);
+        }
+        firstTaskId = taskRepository.saveAll(batch).get(0).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskResponse> managedEntities() {
+        return readOnly.execute(status -> taskRepository.findByUserId(userId).stream()
+                .map(task -> new TaskResponse(task.getId(), task.getTitle(), task.getDescription(),
+                        task.getStatus(), task.getCreatedAt(), task.getUpdatedAt()))
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<TaskResponse> fullProjection() {
+        return readOnly.execute(status -> taskStore.findAll(userId, TaskFields.ALL, false));
+    }
+
+    @Benchmark
+    public List<TaskResponse> summaryProjection() {
+        return readOnly.execute(status -> taskStore.findAll(userId, TaskFields.SUMMARY, false));
+    }
+
+    @Benchmark
+    public Optional<TaskResponse> singleTask() {
+        return readOnly.execute(status -> taskStore.findById(firstTaskId, userId));
+    }
+}
@@ -0,0 +1,91 @@
+package com.veri.taskmanager.benchmark;
+
+import com.veri.taskmanager.TaskmanagerApplication;
+import com.veri.taskmanager.dto.TaskFields;
+import com.veri.taskmanager.dto.TaskResponse;
+import com.veri.taskmanager.model.TaskStatus;
+import com.veri.taskmanager.model.User;
+import com.veri.taskmanager.repository.UserRepository;
+import com.veri.taskmanager.store.TaskStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read latency of the JPA store against the in-memory engine ({@code memory-store} profile) for one
+ * user's task list, a single task, a status filter and a page ordered by last update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskStoreBenchmark {
+
+    @Param({"jpa", "memory-store"})
+    private String store;
+
+    @Param({"100", "1000"})
+    private int tasks;
+
+    private ConfigurableApplicationContext context;
+    private TaskStore taskStore;
+    private Long userId;
+    private long firstId;
+
+    @Setup
+    public void setUp() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(TaskmanagerApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN");
+        if ("memory-store".equals(store)) {
+            builder.profiles("memory-store");
+        }
+        context = builder.run("--spring.jpa.show-sql=false", "--journal.enabled=false",
+                "--spring.datasource.url=jdbc:h2:mem:store-bench",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--task.store.memory.directory=target/bench/task-store-" + System.nanoTime());
+        taskStore = context.getBean(TaskStore.class);
+
+        User user = context.getBean(UserRepository.class).save(new User("bench-" + tasks, "x"));
+        userId = user.getId();
+        for (int i = 0; i < tasks; i++) {
+            TaskResponse task = taskStore.create(userId, "Task " + i, "Description ".repeat(1 + i % 40),
+                    i % 3 == 0 ? TaskStatus.COMPLETED : TaskStatus.PENDING);
+            if (i == 0) {
+                firstId = task.getId();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskResponse> listSummaries() {
+        return taskStore.findAll(userId, TaskFields.SUMMARY, false);
+    }
+
+    @Benchmark
+    public Optional<TaskResponse> getById() {
+        return taskStore.findById(firstId + ThreadLocalRandom.current().nextInt(tasks), userId);
+    }
+
+    @Benchmark
+    public List<TaskResponse> completedOnly() {
+        return taskStore.findByStatus(userId, TaskStatus.COMPLETED, TaskFields.SUMMARY);
+    }
+
+    @Benchmark
+    public List<TaskResponse> recentPage() {
+        return taskStore.findUpdatedBefore(userId, LocalDateTime.now(), 20);
+    }
+}
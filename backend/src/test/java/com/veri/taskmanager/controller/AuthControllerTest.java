@@ -5,21 +5,31 @@ import com.veri.taskmanager.dto.LoginRequest;
 import com.veri.taskmanager.dto.RegisterRequest;
 import com.veri.taskmanager.model.User;
 import com.veri.taskmanager.repository.UserRepository;
+import com.veri.taskmanager.security.JwtUtil;
+import com.veri.taskmanager.support.RequestBudget;
+import com.veri.taskmanager.support.RequestCostConfiguration;
+import com.veri.taskmanager.support.RequestCostMeter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.hamcrest.Matchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@Import(RequestCostConfiguration.class)
 class AuthControllerTest {
 
     @Autowired
@@ -34,6 +44,15 @@ class AuthControllerTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private RequestCostMeter requestCostMeter;
+
     @BeforeEach
     void setUp() {
         userRepository.deleteAll();
@@ -69,6 +88,22 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.error", is("Username already exists")));
     }
 
+    @Test
+    void shouldRegisterAndLoginInOneStatementEach() throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        requestCostMeter.measure(() -> mockMvc.perform(post("/auth/register")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"username\":\"budget" + next.incrementAndGet() + "\",\"password\":\"password123\"}"))
+                        .andExpect(status().isCreated()))
+                .assertWithin(RequestBudget.of("POST /auth/register").statements(1));
+
+        requestCostMeter.measure(() -> mockMvc.perform(post("/auth/login")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"username\":\"budget1\",\"password\":\"password123\"}"))
+                        .andExpect(status().isOk()))
+                .assertWithin(RequestBudget.of("POST /auth/login").statements(1));
+    }
+
     @Test
     void shouldLoginExistingUserSuccessfully() throws Exception {
         User user = new User("loginuser", passwordEncoder.encode("password123"));
@@ -138,4 +173,28 @@ class AuthControllerTest {
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldRejectTokenAfterLogout() throws Exception {
+        userRepository.save(new User("logoutuser", passwordEncoder.encode("password123")));
+        String token = jwtUtil.generateToken(userDetailsService.loadUserByUsername("logoutuser"));
+        String otherToken = jwtUtil.generateToken(userDetailsService.loadUserByUsername("logoutuser"));
+
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/auth/logout").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldRequireTokenToLogout() throws Exception {
+        mockMvc.perform(post("/auth/logout"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -1,6 +1,8 @@
 package com.veri.taskmanager.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.veri.taskmanager.dto.TaskRequest;
 import com.veri.taskmanager.model.Task;
 import com.veri.taskmanager.model.TaskStatus;
@@ -19,9 +21,13 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -81,6 +87,39 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.id", notNullValue()));
     }
 
+    @Test
+    void shouldReplayCreateWithSameIdempotencyKey() throws Exception {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Retried Task");
+
+        String first = mockMvc.perform(post("/api/tasks")
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("Idempotency-Key", "create-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(post("/api/tasks")
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("Idempotency-Key", "create-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.data.id", is(objectMapper.readTree(first).at("/data/id").intValue())));
+
+        assertEquals(1, taskRepository.findByUserId(testUser.getId()).size());
+
+        request.setTitle("Different Task");
+        mockMvc.perform(post("/api/tasks")
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("Idempotency-Key", "create-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
     @Test
     void shouldGetAllTasksForUser() throws Exception {
         Task task1 = new Task();
@@ -105,6 +144,144 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$[1].title", is("Task 2")));
     }
 
+    @Test
+    void shouldOmitDescriptionFromListUnlessRequested() throws Exception {
+        Task task = new Task("Listed Task", "Long description", testUser);
+        taskRepository.save(task);
+
+        mockMvc.perform(get("/api/tasks")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].title", is("Listed Task")))
+                .andExpect(jsonPath("$.data[0].description").doesNotExist());
+
+        mockMvc.perform(get("/api/tasks")
+                .param("fields", "id,title,description")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].description", is("Long description")));
+    }
+
+    @Test
+    void shouldNegotiateCborAndSmileTaskLists() throws Exception {
+        taskRepository.save(new Task("Binary Task", "Long description", testUser));
+
+        byte[] cbor = mockMvc.perform(get("/api/tasks")
+                .header("Authorization", "Bearer " + jwtToken)
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("Binary Task", new ObjectMapper(new CBORFactory()).readTree(cbor).at("/data/0/title").asText());
+
+        byte[] smile = mockMvc.perform(get("/api/tasks")
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("Accept", "application/xml;q=0.9, application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("Binary Task", new ObjectMapper(new SmileFactory()).readTree(smile).at("/data/0/title").asText());
+
+        mockMvc.perform(get("/api/tasks")
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("Accept", "*/*"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data[0].title", is("Binary Task")));
+    }
+
+    @Test
+    void shouldRejectUnsupportedOrMalformedAccept() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("Accept", "application/xml"))
+                .andExpect(status().isNotAcceptable());
+
+        mockMvc.perform(get("/api/tasks")
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("Accept", "application/json;q=0, text/html"))
+                .andExpect(status().isNotAcceptable());
+
+        mockMvc.perform(get("/api/tasks")
+                .header("Authorization", "Bearer " + jwtToken)
+                .header("Accept", "not a media type"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", startsWith("Invalid Accept header")));
+    }
+
+    @Test
+    void shouldKeepNullPropertiesOutsideProjections() throws Exception {
+        Task task = taskRepository.save(new Task("Full Task", null, testUser));
+
+        mockMvc.perform(get("/api/tasks/" + task.getId())
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasKey("description")))
+                .andExpect(jsonPath("$.data", hasKey("dueAt")));
+
+        mockMvc.perform(get("/api/tasks")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0]", not(hasKey("description"))))
+                .andExpect(jsonPath("$.data[0]", not(hasKey("dueAt"))));
+    }
+
+    @Test
+    void shouldReturnOnlyRequestedFields() throws Exception {
+        Task task = taskRepository.save(new Task("Sparse Task", "Long description", testUser));
+
+        mockMvc.perform(get("/api/tasks")
+                .param("fields", "title")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id", is(task.getId().intValue())))
+                .andExpect(jsonPath("$.data[0].title", is("Sparse Task")))
+                .andExpect(jsonPath("$.data[0].status").doesNotExist())
+                .andExpect(jsonPath("$.data[0].createdAt").doesNotExist());
+
+        mockMvc.perform(get("/api/tasks/" + task.getId())
+                .param("fields", "id,description")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.description", is("Long description")))
+                .andExpect(jsonPath("$.data.title").doesNotExist());
+
+        mockMvc.perform(get("/api/tasks")
+                .param("fields", "id,owner")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Unknown field: owner")));
+    }
+
+    @Test
+    void shouldGetTasksByIdsInRequestOrder() throws Exception {
+        Task first = taskRepository.save(new Task("First", "One", testUser));
+        Task second = taskRepository.save(new Task("Second", "Two", testUser));
+        User otherUser = userRepository.save(new User("otheruser", passwordEncoder.encode("password123")));
+        Task foreign = taskRepository.save(new Task("Foreign", "Not mine", otherUser));
+
+        mockMvc.perform(get("/api/tasks")
+                .param("ids", second.getId() + "," + foreign.getId() + ",999999," + first.getId())
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(4)))
+                .andExpect(jsonPath("$.data[0].id", is(second.getId().intValue())))
+                .andExpect(jsonPath("$.data[0].found", is(true)))
+                .andExpect(jsonPath("$.data[0].task.title", is("Second")))
+                .andExpect(jsonPath("$.data[0].task.description", is("Two")))
+                .andExpect(jsonPath("$.data[1].id", is(foreign.getId().intValue())))
+                .andExpect(jsonPath("$.data[1].found", is(false)))
+                .andExpect(jsonPath("$.data[1].task").doesNotExist())
+                .andExpect(jsonPath("$.data[2].found", is(false)))
+                .andExpect(jsonPath("$.data[3].task.title", is("First")));
+
+        mockMvc.perform(get("/api/tasks")
+                .param("ids", "")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldGetTaskByIdSuccessfully() throws Exception {
         Task task = new Task();
@@ -154,6 +331,117 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.status", is("COMPLETED")));
     }
 
+    @Test
+    void shouldUpdateTaskStatusWithPatch() throws Exception {
+        Task task = taskRepository.save(new Task("Status Task", "Description", testUser));
+
+        mockMvc.perform(patch("/api/tasks/" + task.getId() + "/status")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id", is(task.getId().intValue())))
+                .andExpect(jsonPath("$.data.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.data.updatedAt").exists())
+                .andExpect(jsonPath("$.data.title").doesNotExist())
+                .andExpect(jsonPath("$.data.description").doesNotExist())
+                .andExpect(jsonPath("$.data.createdAt").doesNotExist());
+
+        assertEquals(TaskStatus.COMPLETED, taskRepository.findById(task.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void shouldOnlyUpdateOwnTasksInBulkStatusPatch() throws Exception {
+        User otherUser = userRepository.save(new User("bulkother", passwordEncoder.encode("password123")));
+        Task own = taskRepository.save(new Task("Own", null, testUser));
+        Task foreign = taskRepository.save(new Task("Foreign", null, otherUser));
+
+        mockMvc.perform(patch("/api/tasks/status")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + own.getId() + "," + foreign.getId() + "],\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.requested", is(2)))
+                .andExpect(jsonPath("$.data.updated", is(1)));
+
+        assertEquals(TaskStatus.PENDING, taskRepository.findById(foreign.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void shouldApplyMergePatch() throws Exception {
+        Task task = taskRepository.save(new Task("Patch Me", "Keep me", testUser));
+
+        mockMvc.perform(patch("/api/tasks/" + task.getId())
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType("application/merge-patch+json")
+                .content("{\"title\":\"Patched\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.title", is("Patched")))
+                .andExpect(jsonPath("$.data.description", is("Keep me")));
+    }
+
+    @Test
+    void shouldFilterTasksByTagCombinations() throws Exception {
+        long match = createTagged("Ship release", "work", "Urgent");
+        createTagged("Blocked release", "work", "urgent", "blocked");
+        long other = createTagged("Groceries", "home");
+
+        mockMvc.perform(get("/api/tasks/tagged")
+                .param("filter", "work AND urgent NOT blocked")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].id", is((int) match)))
+                .andExpect(jsonPath("$.data[0].tags", contains("urgent", "work")));
+
+        mockMvc.perform(patch("/api/tasks/" + other)
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType("application/merge-patch+json")
+                .content("{\"tags\":[\"work\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.tags", contains("work")));
+
+        mockMvc.perform(get("/api/tasks/tagged")
+                .param("filter", "(home OR work) NOT urgent")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].id", contains((int) other)));
+
+        mockMvc.perform(get("/api/tasks/tagged")
+                .param("filter", "work AND")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRejectIncludeArchivedWithStatusOrTagFilter() throws Exception {
+        mockMvc.perform(get("/api/tasks")
+                .param("status", "COMPLETED")
+                .param("includeArchived", "true")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("status cannot be combined with includeArchived")));
+
+        mockMvc.perform(get("/api/tasks/tagged")
+                .param("filter", "work")
+                .param("includeArchived", "true")
+                .header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long createTagged(String title, String... tags) throws Exception {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(title);
+        request.setTags(new LinkedHashSet<>(Arrays.asList(tags)));
+        String body = mockMvc.perform(post("/api/tasks")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).at("/data/id").asLong();
+    }
+
     @Test
     void shouldDeleteTaskSuccessfully() throws Exception {
         Task task = new Task();
@@ -186,6 +474,26 @@ class TaskControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void shouldRejectOversizedDescription() throws Exception {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Long description");
+        request.setDescription("d".repeat(TaskRequest.MAX_DESCRIPTION_LENGTH + 1));
+
+        mockMvc.perform(post("/api/tasks")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        request.setDescription("d".repeat(TaskRequest.MAX_DESCRIPTION_LENGTH));
+        mockMvc.perform(post("/api/tasks")
+                .header("Authorization", "Bearer " + jwtToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+    }
+
     @Test
     void shouldNotAllowAccessToOtherUsersTasks() throws Exception {
         User otherUser = new User("otheruser", passwordEncoder.encode("password123"));
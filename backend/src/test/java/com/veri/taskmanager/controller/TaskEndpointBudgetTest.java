@@ -0,0 +1,114 @@
+package com.veri.taskmanager.controller;
+
+import com.veri.taskmanager.model.Task;
+import com.veri.taskmanager.model.TaskStatus;
+import com.veri.taskmanager.model.User;
+import com.veri.taskmanager.repository.TaskRepository;
+import com.veri.taskmanager.repository.UserRepository;
+import com.veri.taskmanager.security.JwtUtil;
+import com.veri.taskmanager.support.RequestBudget;
+import com.veri.taskmanager.support.RequestCostConfiguration;
+import com.veri.taskmanager.support.RequestCostMeter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement and allocation budgets for the task endpoints. The list cache is off so every list
+ * request reaches the database. Allocation budgets are the measured cost plus 25%, rounded up to
+ * 8 KB; the measurements were identical over repeated runs on JDK 17.
+ */
+@SpringBootTest(properties = "task.list-cache.enabled=false")
+@AutoConfigureMockMvc
+@Import(RequestCostConfiguration.class)
+class TaskEndpointBudgetTest {
+
+    private static final int TASKS = 100;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RequestCostMeter requestCostMeter;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    private String authorization;
+    private Long firstTaskId;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        User user = userRepository.save(new User("budgetuser", "password"));
+
+        List<Task> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setDescription("Description of task " + i);
+            task.setStatus(i % 3 == 0 ? TaskStatus.COMPLETED : TaskStatus.PENDING);
+            task.setUser(user);
+            tasks.add(task);
+        }
+        firstTaskId = taskRepository.saveAll(tasks).get(0).getId();
+        authorization = "Bearer " + jwtUtil.generateToken(userDetailsService.loadUserByUsername("budgetuser"));
+    }
+
+    @Test
+    void listTasksStaysWithinBudget() throws Exception {
+        requestCostMeter.measure(() -> mockMvc.perform(get("/api/tasks").header("Authorization", authorization))
+                        .andExpect(status().isOk()))
+                .assertWithin(RequestBudget.of("GET /api/tasks (" + TASKS + " tasks)").statements(2).allocatedKb(704)); // measured 561 KB
+    }
+
+    @Test
+    void getTaskStaysWithinBudget() throws Exception {
+        requestCostMeter.measure(() -> mockMvc.perform(get("/api/tasks/" + firstTaskId).header("Authorization", authorization))
+                        .andExpect(status().isOk()))
+                .assertWithin(RequestBudget.of("GET /api/tasks/{id}").statements(2).allocatedKb(232)); // measured 183 KB
+    }
+
+    @Test
+    void getTasksByIdsStaysWithinBudget() throws Exception {
+        StringBuilder ids = new StringBuilder();
+        for (int i = TASKS - 1; i >= 0; i--) {
+            ids.append(ids.length() > 0 ? "," : "").append(firstTaskId + i);
+        }
+        requestCostMeter.measure(() -> mockMvc.perform(get("/api/tasks").param("ids", ids.toString())
+                                .header("Authorization", authorization))
+                        .andExpect(status().isOk()))
+                .assertWithin(RequestBudget.of("GET /api/tasks?ids= (" + TASKS + " ids)").statements(2).allocatedKb(1008)); // measured 802 KB
+    }
+
+    @Test
+    void createTaskStaysWithinBudget() throws Exception {
+        requestCostMeter.measure(() -> mockMvc.perform(post("/api/tasks").header("Authorization", authorization)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"title\":\"Budgeted\",\"description\":\"Counted\"}"))
+                        .andExpect(status().isCreated()))
+                .assertWithin(RequestBudget.of("POST /api/tasks").statements(2).allocatedKb(368)); // measured 291 KB
+    }
+}
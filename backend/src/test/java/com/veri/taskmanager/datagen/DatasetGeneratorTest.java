@@ -0,0 +1,45 @@
+package com.veri.taskmanager.datagen;
+
+import com.veri.taskmanager.model.Task;
+import com.veri.taskmanager.model.User;
+import com.veri.taskmanager.repository.TaskRepository;
+import com.veri.taskmanager.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"datagen.enabled=true", "datagen.users=300", "datagen.seed=7", "datagen.threads=3",
+        "datagen.users-per-chunk=40", "datagen.batch-size=64", "datagen.anchor=2024-01-01T00:00:00",
+        "spring.datasource.url=jdbc:h2:mem:datagen-test"})
+class DatasetGeneratorTest {
+
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void shouldLoadDatasetAtStartupAndLeaveIdsForNewRows() throws Exception {
+        DatasetGenerator.Report report = datasetGenerator.getReport();
+        assertNotNull(report);
+        assertEquals(300, report.getUsers());
+        assertTrue(report.getTasks() > 0);
+        assertTrue(report.getRowsPerSecond() > 0);
+        assertEquals(300, userRepository.count());
+        assertEquals(report.getTasks(), taskRepository.count());
+
+        User user = userRepository.save(new User("after-load", "x"));
+        assertEquals(301, user.getId());
+        Task task = taskRepository.save(new Task("After load", null, user));
+        assertTrue(task.getId() > report.getTasks());
+
+        assertNull(datasetGenerator.generate());
+        assertEquals(301, userRepository.count());
+    }
+}
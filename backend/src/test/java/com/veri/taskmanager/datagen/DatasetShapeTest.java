@@ -0,0 +1,77 @@
+package com.veri.taskmanager.datagen;
+
+import com.veri.taskmanager.model.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetShapeTest {
+
+    private static final LocalDateTime ANCHOR = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final int USERS = 20_000;
+
+    @Test
+    void shouldSkewTasksPerUserAndMixStatusesAndDescriptions() {
+        DatasetShape shape = new DatasetShape(42, USERS, 20, 5000, 365, 0.6, ANCHOR);
+        DatasetShape.GeneratedTask task = new DatasetShape.GeneratedTask();
+        int[] counts = new int[USERS];
+        long tasks = 0;
+        long completed = 0;
+        long withoutDescription = 0;
+
+        for (int user = 0; user < USERS; user++) {
+            Random random = shape.random(user);
+            counts[user] = shape.tasksFor(random);
+            LocalDateTime signedUpAt = shape.signedUpAt(random);
+            for (int i = 0; i < counts[user]; i++) {
+                shape.nextTask(random, i, signedUpAt, task);
+                assertFalse(task.getCreatedAt().isBefore(signedUpAt));
+                assertFalse(task.getUpdatedAt().isBefore(task.getCreatedAt()));
+                assertFalse(task.getUpdatedAt().isAfter(ANCHOR));
+                tasks++;
+                completed += task.getStatus() == TaskStatus.COMPLETED ? 1 : 0;
+                withoutDescription += task.getDescription() == null ? 1 : 0;
+            }
+        }
+
+        Arrays.sort(counts);
+        long topTenth = 0;
+        for (int i = USERS - USERS / 10; i < USERS; i++) {
+            topTenth += counts[i];
+        }
+        assertTrue(tasks / (double) USERS > 15 && tasks / (double) USERS < 25, "mean " + tasks / (double) USERS);
+        assertTrue(topTenth > tasks / 2, "top tenth of users own " + topTenth + " of " + tasks);
+        assertEquals(0, counts[USERS / 10], "some users have no tasks");
+        assertEquals(0.6, completed / (double) tasks, 0.01);
+        assertEquals(0.2, withoutDescription / (double) tasks, 0.01);
+    }
+
+    @Test
+    void shouldGenerateTheSameRowsForTheSameSeed() {
+        assertEquals(rows(new DatasetShape(7, 100, 20, 5000, 365, 0.6, ANCHOR)),
+                rows(new DatasetShape(7, 100, 20, 5000, 365, 0.6, ANCHOR)));
+        assertNotEquals(rows(new DatasetShape(7, 100, 20, 5000, 365, 0.6, ANCHOR)),
+                rows(new DatasetShape(8, 100, 20, 5000, 365, 0.6, ANCHOR)));
+    }
+
+    private static List<DatasetShape.GeneratedTask> rows(DatasetShape shape) {
+        List<DatasetShape.GeneratedTask> rows = new ArrayList<>();
+        for (int user = shape.getUsers() - 1; user >= 0; user--) {
+            Random random = shape.random(user);
+            int count = shape.tasksFor(random);
+            LocalDateTime signedUpAt = shape.signedUpAt(random);
+            for (int i = 0; i < count; i++) {
+                DatasetShape.GeneratedTask task = new DatasetShape.GeneratedTask();
+                shape.nextTask(random, i, signedUpAt, task);
+                rows.add(task);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,76 @@
+package com.veri.taskmanager.idempotency;
+
+import com.veri.taskmanager.dto.StandardResponse;
+import com.veri.taskmanager.dto.TaskResponse;
+import com.veri.taskmanager.service.WriteTimeoutException;
+import com.veri.taskmanager.util.PayloadWriters;
+import com.veri.taskmanager.util.ResponseUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "idempotency.wait-timeout-ms=200")
+class IdempotencyServiceTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("idempotencyuser", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldKeepKeyPendingWhenWriteTimesOut() {
+        AtomicInteger runs = new AtomicInteger();
+        Supplier<ResponseEntity<StandardResponse<TaskResponse>>> timesOut = () -> {
+            runs.incrementAndGet();
+            throw new WriteTimeoutException("Timed out", null);
+        };
+
+        assertThrows(WriteTimeoutException.class,
+                () -> idempotencyService.execute("timeout-1", "body", PayloadWriters.TASK_TYPE, timesOut));
+        ResponseEntity<StandardResponse<TaskResponse>> retry =
+                idempotencyService.execute("timeout-1", "body", PayloadWriters.TASK_TYPE, timesOut);
+
+        assertEquals(HttpStatus.CONFLICT, retry.getStatusCode());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void shouldReleaseKeyWhenWriteFails() {
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class,
+                () -> idempotencyService.execute("failed-1", "body", PayloadWriters.TASK_TYPE, () -> {
+                    runs.incrementAndGet();
+                    throw new IllegalStateException("Rolled back");
+                }));
+        ResponseEntity<StandardResponse<TaskResponse>> retry =
+                idempotencyService.execute("failed-1", "body", PayloadWriters.TASK_TYPE, () -> {
+                    runs.incrementAndGet();
+                    return ResponseUtil.created("Task created successfully", null, 1L);
+                });
+
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals(2, runs.get());
+    }
+}
@@ -0,0 +1,98 @@
+package com.veri.taskmanager.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private TaskJournal journal(int segmentSize) throws Exception {
+        TaskJournal journal = new TaskJournal();
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "directory", directory.toString());
+        ReflectionTestUtils.setField(journal, "ringSize", 16);
+        ReflectionTestUtils.setField(journal, "segmentSize", segmentSize);
+        ReflectionTestUtils.setField(journal, "fsyncPolicy", TaskJournal.FsyncPolicy.ALWAYS);
+        ReflectionTestUtils.setField(journal, "fsyncIntervalMs", 1000L);
+        ReflectionTestUtils.setField(journal, "retentionSegments", 0);
+        journal.start();
+        return journal;
+    }
+
+    @Test
+    void shouldRecordMutationsInOrderAcrossSegmentsAndRestarts() throws Exception {
+        TaskJournal journal = journal(512);
+        for (long id = 1; id <= 50; id++) {
+            journal.append(new JournalRecord(JournalOp.CREATE, id, 7L)
+                    .with(JournalField.TITLE, "Task " + id)
+                    .with(JournalField.DESCRIPTION, null));
+        }
+        journal.stop();
+
+        journal = journal(512);
+        journal.append(new JournalRecord(JournalOp.DELETE, 1L, 7L));
+        journal.stop();
+
+        List<JournalRecord> records = new ArrayList<>();
+        long last = new JournalReader(directory).readFrom(1, records::add);
+
+        assertEquals(51, records.size());
+        assertEquals(51, last);
+        assertTrue(JournalSegment.list(directory).size() > 1);
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(i + 1, records.get(i).getSequence());
+        }
+        assertEquals("Task 50", records.get(49).getFields().get(JournalField.TITLE));
+        assertTrue(records.get(49).getFields().containsKey(JournalField.DESCRIPTION));
+        assertNull(records.get(49).getFields().get(JournalField.DESCRIPTION));
+        assertEquals(JournalOp.DELETE, records.get(50).getOp());
+    }
+
+    @Test
+    void shouldAcceptRecordsUpToOneSegment() throws Exception {
+        TaskJournal journal = journal(512);
+        JournalRecord empty = new JournalRecord(JournalOp.CREATE, 1L, 7L).with(JournalField.DESCRIPTION, "");
+        int largest = 512 - JournalRecord.HEADER_BYTES - empty.encodedSize();
+        JournalRecord fits = new JournalRecord(JournalOp.CREATE, 1L, 7L).with(JournalField.DESCRIPTION, "d".repeat(largest));
+        JournalRecord tooLarge = new JournalRecord(JournalOp.CREATE, 2L, 7L)
+                .with(JournalField.DESCRIPTION, "d".repeat(largest + 1));
+
+        assertTrue(journal.accepts(fits));
+        assertFalse(journal.accepts(tooLarge));
+
+        journal.append(new JournalRecord(JournalOp.DELETE, 3L, 7L));
+        journal.append(fits);
+        journal.stop();
+
+        List<JournalRecord> records = new ArrayList<>();
+        new JournalReader(directory).readFrom(1, records::add);
+
+        assertEquals(2, records.size());
+        assertEquals(largest, records.get(1).getFields().get(JournalField.DESCRIPTION).length());
+    }
+
+    @Test
+    void shouldReadSequenceRange() throws Exception {
+        TaskJournal journal = journal(4096);
+        for (long id = 1; id <= 10; id++) {
+            journal.append(new JournalRecord(JournalOp.UPDATE, id, 7L).with(JournalField.STATUS, "COMPLETED"));
+        }
+        journal.stop();
+
+        List<JournalRecord> records = new ArrayList<>();
+        new JournalReader(directory).read(4, 6, records::add);
+
+        assertEquals(3, records.size());
+        assertEquals(4, records.get(0).getTaskId());
+        assertEquals(6, records.get(2).getTaskId());
+    }
+}
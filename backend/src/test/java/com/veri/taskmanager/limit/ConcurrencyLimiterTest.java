@@ -0,0 +1,61 @@
+package com.veri.taskmanager.limit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimiterTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void shouldGrowWhileLatencyHoldsAndShrinkWhenItRises() {
+        GradientLimit limit = new GradientLimit(20, 4, 200, 1.5, 100);
+
+        for (int i = 0; i < 50; i++) {
+            limit.update(10 * MS, 5);
+        }
+        assertEquals(20, limit.getLimit(), "samples from a mostly idle server must not move the limit");
+
+        for (int i = 0; i < 50; i++) {
+            limit.update(10 * MS, limit.getLimit());
+        }
+        int grown = limit.getLimit();
+        assertTrue(grown > 40, "limit should grow under steady latency, was " + grown);
+
+        for (int i = 0; i < 20; i++) {
+            limit.update(100 * MS, limit.getLimit());
+        }
+        int shrunk = limit.getLimit();
+        assertTrue(shrunk < grown / 2, "limit should shrink when latency rises, was " + shrunk);
+        assertTrue(shrunk >= 4);
+
+        for (int i = 0; i < 200; i++) {
+            limit.update(100 * MS, limit.getLimit());
+        }
+        assertTrue(limit.getLimit() > shrunk, "limit should recover once the new latency is the baseline");
+    }
+
+    @Test
+    void shouldShedLowPriorityRequestsFirst() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(new GradientLimit(10, 10, 10, 1.5, 100), 0.5);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(false));
+        }
+        assertFalse(limiter.tryAcquire(false));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(true));
+        }
+        assertFalse(limiter.tryAcquire(true));
+        assertEquals(10, limiter.getInFlight());
+
+        limiter.release(0);
+        assertTrue(limiter.tryAcquire(true));
+        for (int i = 0; i < 10; i++) {
+            limiter.release(MS);
+        }
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(10, limiter.getLimit());
+    }
+}
@@ -0,0 +1,60 @@
+package com.veri.taskmanager.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SamplingTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    private SamplingTurboFilter filter(String level, int every) {
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setLoggers("com.veri.taskmanager.service, com.veri.taskmanager.store");
+        filter.setLevel(level);
+        filter.setEvery(every);
+        return filter;
+    }
+
+    private int accepted(SamplingTurboFilter filter, Logger logger, Level level, int events) {
+        int accepted = 0;
+        for (int i = 0; i < events; i++) {
+            if (filter.decide(null, logger, level, "Getting task {}", new Object[]{i}, null) == FilterReply.NEUTRAL) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    @Test
+    void shouldSampleOnlyTheConfiguredLevelAndLoggers() {
+        SamplingTurboFilter filter = filter("INFO", 100);
+        Logger service = context.getLogger("com.veri.taskmanager.service.TaskService");
+        Logger controller = context.getLogger("com.veri.taskmanager.controller.TaskController");
+
+        assertEquals(1000, accepted(filter, service, Level.INFO, 100_000), 150);
+        assertEquals(100_000, accepted(filter, service, Level.WARN, 100_000));
+        assertEquals(100_000, accepted(filter, controller, Level.INFO, 100_000));
+    }
+
+    @Test
+    void shouldPassEverythingWhenNotSampling() {
+        SamplingTurboFilter filter = filter("INFO", 1);
+        Logger service = context.getLogger("com.veri.taskmanager.service.TaskService");
+
+        assertEquals(1000, accepted(filter, service, Level.INFO, 1000));
+    }
+
+    @Test
+    void shouldOnlyAcceptSafeCorrelationIds() {
+        assertTrue(CorrelationIdFilter.isValid("3f2a-9b_c.1"));
+        assertFalse(CorrelationIdFilter.isValid(null));
+        assertFalse(CorrelationIdFilter.isValid(""));
+        assertFalse(CorrelationIdFilter.isValid("id\nforged log line"));
+        assertFalse(CorrelationIdFilter.isValid("x".repeat(65)));
+    }
+}
@@ -0,0 +1,171 @@
+package com.veri.taskmanager.reminder;
+
+import com.veri.taskmanager.dto.TaskReminder;
+import com.veri.taskmanager.dto.TaskRequest;
+import com.veri.taskmanager.dto.TaskResponse;
+import com.veri.taskmanager.model.Task;
+import com.veri.taskmanager.model.TaskStatus;
+import com.veri.taskmanager.model.User;
+import com.veri.taskmanager.repository.TaskRepository;
+import com.veri.taskmanager.repository.UserRepository;
+import com.veri.taskmanager.security.CustomUserDetails;
+import com.veri.taskmanager.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "task.reminders.sink=recording",
+        "task.reminders.tick-ms=20",
+        "task.reminders.window-ms=2000"
+})
+class ReminderSchedulerTest {
+
+    @Autowired
+    private ReminderScheduler reminderScheduler;
+
+    @Autowired
+    private RecordingSink sink;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        user = userRepository.save(new User("reminderuser", "password"));
+        sink.delivered.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldLoadDueReminderAndDeliverItExactlyOnce() throws Exception {
+        // Not handed to the scheduler: only a reload of the window can find it.
+        Task task = saveTask("Reloaded", LocalDateTime.now().plusNanos(1_500_000_000L));
+
+        awaitDelivery(task.getId());
+        Thread.sleep(1500);
+
+        assertEquals(1, Collections.frequency(sink.taskIds(), task.getId()));
+        assertNull(taskRepository.findById(task.getId()).orElseThrow().getRemindAt());
+    }
+
+    @Test
+    void shouldDropMovedCancelledAndStaleReminders() throws Exception {
+        LocalDateTime at = LocalDateTime.now().plusSeconds(1).truncatedTo(ChronoUnit.MICROS);
+        Task moved = schedule(saveTask("Moved", at));
+        Task cancelled = schedule(saveTask("Cancelled", at));
+        Task completed = schedule(saveTask("Completed", at));
+        Task due = schedule(saveTask("Due", at));
+
+        moved.setRemindAt(at.plusHours(1));
+        schedule(taskRepository.save(moved));
+        cancelled.setRemindAt(null);
+        taskRepository.save(cancelled);
+        reminderScheduler.cancel(null, cancelled.getId());
+        // Completed behind the scheduler's back: its wheel entry is stale and must be dropped when it fires.
+        completed.setStatus(TaskStatus.COMPLETED);
+        taskRepository.save(completed);
+
+        awaitDelivery(due.getId());
+        Thread.sleep(500);
+
+        assertEquals(List.of(due.getId()), sink.taskIds());
+        assertEquals(at.plusHours(1), taskRepository.findById(moved.getId()).orElseThrow().getRemindAt());
+    }
+
+    @Test
+    void shouldDeliverReminderScheduledThroughTaskService() throws Exception {
+        CustomUserDetails principal = new CustomUserDetails(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Through the service");
+        // Sub-microsecond digits that the database cannot store.
+        request.setRemindAt(LocalDateTime.now().plusSeconds(1).withNano(123_456_789));
+
+        TaskResponse task = taskService.createTask(request);
+
+        awaitDelivery(task.getId());
+        assertNull(taskRepository.findById(task.getId()).orElseThrow().getRemindAt());
+    }
+
+    private Task saveTask(String title, LocalDateTime remindAt) {
+        Task task = new Task(title, null, user);
+        task.setRemindAt(remindAt);
+        return taskRepository.save(task);
+    }
+
+    private Task schedule(Task task) {
+        reminderScheduler.schedule(null, new TaskReminder(task.getId(), user.getId(), task.getTitle(),
+                task.getDueAt(), task.getRemindAt()));
+        return task;
+    }
+
+    private void awaitDelivery(Long taskId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!sink.taskIds().contains(taskId)) {
+            assertTrue(System.currentTimeMillis() < deadline, "reminder of task " + taskId + " was not delivered");
+            Thread.sleep(20);
+        }
+    }
+
+    static class RecordingSink implements ReminderSink {
+
+        private final List<TaskReminder> delivered = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void deliver(TaskReminder reminder) {
+            delivered.add(reminder);
+        }
+
+        List<Long> taskIds() {
+            synchronized (delivered) {
+                List<Long> ids = new ArrayList<>();
+                for (TaskReminder reminder : delivered) {
+                    ids.add(reminder.getTaskId());
+                }
+                return ids;
+            }
+        }
+    }
+
+    // Benchmarks start the application from the test classpath, where this class is scanned too.
+    @TestConfiguration
+    @ConditionalOnProperty(name = "task.reminders.sink", havingValue = "recording")
+    static class RecordingSinkConfiguration {
+
+        @Bean
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.veri.taskmanager.security;
 
+import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.userdetails.User;
@@ -62,6 +63,16 @@ class JwtUtilTest {
         assertTrue(isValid);
     }
 
+    @Test
+    void shouldValidateClaimsParsedOnce() {
+        String token = jwtUtil.generateToken(userDetails);
+        Claims claims = jwtUtil.extractAllClaims(token);
+
+        assertEquals("testuser", claims.getSubject());
+        assertNotNull(claims.getId());
+        assertTrue(jwtUtil.validateToken(claims, userDetails));
+    }
+
     @Test
     void shouldFailValidationForWrongUsername() {
         String token = jwtUtil.generateToken(userDetails);
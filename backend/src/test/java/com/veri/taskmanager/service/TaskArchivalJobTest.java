@@ -0,0 +1,73 @@
+package com.veri.taskmanager.service;
+
+import com.veri.taskmanager.model.Task;
+import com.veri.taskmanager.model.TaskStatus;
+import com.veri.taskmanager.model.User;
+import com.veri.taskmanager.repository.TaskArchiveRepository;
+import com.veri.taskmanager.repository.TaskRepository;
+import com.veri.taskmanager.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "task.archival.batch-size=2")
+class TaskArchivalJobTest {
+
+    @Autowired
+    private TaskArchivalJob taskArchivalJob;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskArchiveRepository taskArchiveRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        taskArchiveRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        user = userRepository.save(new User("archiveuser", "password"));
+    }
+
+    @Test
+    void shouldMoveOldCompletedTasksInBatches() {
+        Task recentCompleted = saveTask("Recent", TaskStatus.COMPLETED, LocalDateTime.now());
+        Task oldPending = saveTask("Old pending", TaskStatus.PENDING, LocalDateTime.now().minusDays(90));
+        Task old1 = saveTask("Old 1", TaskStatus.COMPLETED, LocalDateTime.now().minusDays(90));
+        Task old2 = saveTask("Old 2", TaskStatus.COMPLETED, LocalDateTime.now().minusDays(60));
+        Task old3 = saveTask("Old 3", TaskStatus.COMPLETED, LocalDateTime.now().minusDays(45));
+
+        long moved = taskArchivalJob.archiveCompletedTasks();
+
+        assertEquals(3, moved);
+        assertTrue(taskRepository.existsById(recentCompleted.getId()));
+        assertTrue(taskRepository.existsById(oldPending.getId()));
+        assertFalse(taskRepository.existsById(old1.getId()));
+        assertTrue(taskArchiveRepository.existsById(old2.getId()));
+        assertEquals("Old 3", taskArchiveRepository.findById(old3.getId()).orElseThrow().getTitle());
+        assertEquals(user.getId(), taskArchiveRepository.findById(old3.getId()).orElseThrow().getUserId());
+    }
+
+    private Task saveTask(String title, TaskStatus status, LocalDateTime updatedAt) {
+        Task task = taskRepository.save(new Task(title, null, user));
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx ->
+                taskRepository.updateStatus(task.getId(), user.getId(), status, updatedAt));
+        return task;
+    }
+}
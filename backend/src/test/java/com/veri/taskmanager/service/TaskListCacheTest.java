@@ -0,0 +1,63 @@
+package com.veri.taskmanager.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskListCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldServeEncodedBytesUntilInvalidated() {
+        TaskListCache cache = new TaskListCache(meterRegistry, true, 1 << 20);
+        AtomicInteger loads = new AtomicInteger();
+
+        byte[] first = cache.get(1L, "json::", () -> new byte[] {(byte) loads.incrementAndGet()});
+        byte[] second = cache.get(1L, "json::", () -> new byte[] {(byte) loads.incrementAndGet()});
+        cache.get(1L, "json:d:", () -> new byte[] {(byte) loads.incrementAndGet()});
+
+        assertSame(first, second);
+        assertEquals(2, loads.get());
+
+        cache.invalidate(1L);
+        cache.get(1L, "json::", () -> new byte[] {(byte) loads.incrementAndGet()});
+        cache.get(1L, "json:d:", () -> new byte[] {(byte) loads.incrementAndGet()});
+        assertEquals(4, loads.get());
+        assertEquals(0.2, meterRegistry.get("tasks.list-cache.hit-ratio").gauge().value(), 0.001);
+    }
+
+    @Test
+    void shouldNotStoreLoadThatOverlapsAWrite() {
+        TaskListCache cache = new TaskListCache(meterRegistry, true, 1 << 20);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(7L, "json::", () -> {
+            loads.incrementAndGet();
+            cache.invalidate(7L);
+            return new byte[] {1};
+        });
+        cache.get(7L, "json::", () -> {
+            loads.incrementAndGet();
+            return new byte[] {2};
+        });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldEvictByEncodedSize() {
+        TaskListCache cache = new TaskListCache(meterRegistry, true, 64 * 1024);
+
+        for (long userId = 1; userId <= 100; userId++) {
+            cache.get(userId, "json::", () -> new byte[4096]);
+        }
+        cache.cleanUp();
+
+        assertTrue(cache.weightedSize() <= 64 * 1024);
+        assertTrue(meterRegistry.get("tasks.list-cache.evictions").counter().count() > 0);
+    }
+}
@@ -0,0 +1,133 @@
+package com.veri.taskmanager.service;
+
+import com.veri.taskmanager.dto.TaskResponse;
+import com.veri.taskmanager.model.TaskStatus;
+import com.veri.taskmanager.model.User;
+import com.veri.taskmanager.repository.TaskRepository;
+import com.veri.taskmanager.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "task.write-mode=group-commit",
+        "task.group-commit.max-delay-ms=200",
+        "journal.enabled=false"
+})
+class TaskWriteBatcherTest {
+
+    private static final int CALLERS = 8;
+
+    @Autowired
+    private TaskWriteBatcher taskWriteBatcher;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ExecutorService callers;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        user = userRepository.save(new User("batchuser", "password"));
+        callers = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void shouldReturnEachCallerItsOwnTask() throws Exception {
+        List<String> titles = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            titles.add("Batched " + i);
+        }
+        double batchesBefore = meterRegistry.get("tasks.group-commit.batch-size").summary().count();
+
+        List<Future<TaskResponse>> results = submitTogether(titles);
+
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < CALLERS; i++) {
+            TaskResponse task = results.get(i).get();
+            assertEquals(titles.get(i), task.getTitle());
+            assertEquals(titles.get(i), taskRepository.findById(task.getId()).orElseThrow().getTitle());
+            ids.add(task.getId());
+        }
+        assertEquals(CALLERS, ids.size());
+        assertTrue(meterRegistry.get("tasks.group-commit.batch-size").summary().count() - batchesBefore < CALLERS,
+                "callers should share commits");
+    }
+
+    @Test
+    void shouldFailOnlyTheCallerWithTheBadRow() throws Exception {
+        List<String> titles = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            titles.add(i == 3 ? "x".repeat(300) : "Batched " + i);
+        }
+
+        List<Future<TaskResponse>> results = submitTogether(titles);
+
+        for (int i = 0; i < CALLERS; i++) {
+            if (i == 3) {
+                Future<TaskResponse> bad = results.get(i);
+                assertThrows(ExecutionException.class, bad::get);
+            } else {
+                assertEquals(titles.get(i), results.get(i).get().getTitle());
+            }
+        }
+        assertEquals(CALLERS - 1, taskRepository.count());
+    }
+
+    @Test
+    void shouldKeepWritingAfterAnUnexpectedError() {
+        IllegalStateException failed = assertThrows(IllegalStateException.class,
+                () -> taskWriteBatcher.submit(user.getId(), "Errored", null, TaskStatus.PENDING, null, null,
+                        task -> {
+                            throw new AssertionError("boom");
+                        }));
+        assertTrue(failed.getCause() instanceof AssertionError);
+
+        TaskResponse task = taskWriteBatcher.submit(user.getId(), "After error", null, TaskStatus.PENDING, null, null);
+        assertEquals("After error", taskRepository.findById(task.getId()).orElseThrow().getTitle());
+    }
+
+    private List<Future<TaskResponse>> submitTogether(List<String> titles) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<TaskResponse>> results = new ArrayList<>();
+        for (String title : titles) {
+            Callable<TaskResponse> create = () -> {
+                start.await();
+                return taskWriteBatcher.submit(user.getId(), title, null, TaskStatus.PENDING, null, null);
+            };
+            results.add(callers.submit(create));
+        }
+        start.countDown();
+        return results;
+    }
+}
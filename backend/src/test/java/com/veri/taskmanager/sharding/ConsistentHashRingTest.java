@@ -0,0 +1,44 @@
+package com.veri.taskmanager.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    void shouldSpreadKeysEvenly() {
+        ConsistentHashRing ring = new ConsistentHashRing(Arrays.asList("shard0", "shard1", "shard2", "shard3"), 128);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (long key = 1; key <= KEYS; key++) {
+            counts.merge(ring.shardFor(key), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        counts.values().forEach(count -> assertEquals(KEYS / 4.0, count, KEYS / 4.0 * 0.1));
+    }
+
+    @Test
+    void shouldOnlyMoveKeysToAnAddedShard() {
+        ConsistentHashRing before = new ConsistentHashRing(Arrays.asList("shard0", "shard1", "shard2"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(Arrays.asList("shard0", "shard1", "shard2", "shard3"), 128);
+
+        int moved = 0;
+        for (long key = 1; key <= KEYS; key++) {
+            String target = after.shardFor(key);
+            if (!before.shardFor(key).equals(target)) {
+                assertEquals("shard3", target);
+                moved++;
+            }
+        }
+
+        assertEquals(KEYS / 4.0, moved, KEYS / 4.0 * 0.2);
+    }
+}
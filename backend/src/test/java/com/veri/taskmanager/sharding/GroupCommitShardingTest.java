@@ -0,0 +1,100 @@
+package com.veri.taskmanager.sharding;
+
+import com.veri.taskmanager.dto.TaskResponse;
+import com.veri.taskmanager.model.TaskStatus;
+import com.veri.taskmanager.model.User;
+import com.veri.taskmanager.repository.UserRepository;
+import com.veri.taskmanager.service.TaskWriteBatcher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "task.write-mode=group-commit",
+        "task.group-commit.max-delay-ms=200",
+        "journal.enabled=false",
+        "task.archival.enabled=false"
+})
+@ActiveProfiles("sharded")
+class GroupCommitShardingTest {
+
+    private static final int USERS = 9;
+
+    @TempDir
+    static Path dataDir;
+
+    @DynamicPropertySource
+    static void shardFiles(DynamicPropertyRegistry registry) {
+        registry.add("sharding.url-template", () -> "jdbc:h2:file:" + dataDir.toAbsolutePath() + "/%s");
+    }
+
+    @Autowired
+    private TaskWriteBatcher taskWriteBatcher;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @Test
+    void shouldCommitEachRowOnItsCallersShard() throws Exception {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(userRepository.save(new User("batchshard" + i, "password")));
+        }
+
+        ExecutorService callers = Executors.newFixedThreadPool(USERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<TaskResponse>> results = new ArrayList<>();
+            for (User user : users) {
+                String shard = shardDirectory.placementOf(user.getId()).getShard();
+                results.add(callers.submit(() -> {
+                    start.await();
+                    return ShardContext.call(shard, () -> taskWriteBatcher.submit(user.getId(),
+                            "Task of " + user.getUsername(), null, TaskStatus.PENDING, null, null));
+                }));
+            }
+            start.countDown();
+
+            Set<String> usedShards = new HashSet<>();
+            for (int i = 0; i < USERS; i++) {
+                User user = users.get(i);
+                assertEquals("Task of " + user.getUsername(), results.get(i).get().getTitle());
+                String shard = shardDirectory.placementOf(user.getId()).getShard();
+                usedShards.add(shard);
+                for (String name : shardDataSources.getShardNames()) {
+                    assertEquals(name.equals(shard) ? 1 : 0, countTasks(name, user.getId()), "tasks on " + name);
+                }
+            }
+            assertTrue(usedShards.size() > 1);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private int countTasks(String shard, Long userId) {
+        return shardDataSources.jdbc(shard).queryForObject("select count(*) from tasks where user_id = ?",
+                Integer.class, userId);
+    }
+}
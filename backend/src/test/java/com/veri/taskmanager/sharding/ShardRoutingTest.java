@@ -0,0 +1,154 @@
+package com.veri.taskmanager.sharding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veri.taskmanager.dto.TaskRequest;
+import com.veri.taskmanager.model.User;
+import com.veri.taskmanager.repository.UserRepository;
+import com.veri.taskmanager.security.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "sharding.directory-cache-ttl-ms=50",
+        "sharding.rebalance.grace-ms=0",
+        "journal.enabled=false",
+        "task.archival.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("sharded")
+class ShardRoutingTest {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @TempDir
+    static Path dataDir;
+
+    @DynamicPropertySource
+    static void shardFiles(DynamicPropertyRegistry registry) {
+        registry.add("sharding.url-template", () -> "jdbc:h2:file:" + dataDir.toAbsolutePath() + "/%s");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+
+    @Test
+    void shouldStoreEachUsersTasksOnTheirShard() throws Exception {
+        Set<String> usedShards = new HashSet<>();
+        for (int i = 0; i < 12; i++) {
+            User user = newUser();
+            createTask(token(user), "Task " + i).andExpect(status().isCreated());
+
+            String shard = shardDirectory.placementOf(user.getId()).getShard();
+            usedShards.add(shard);
+            for (String name : shardDataSources.getShardNames()) {
+                assertEquals(name.equals(shard) ? 1 : 0, countTasks(name, user.getId()), "tasks on " + name);
+            }
+        }
+        assertTrue(usedShards.size() > 1);
+    }
+
+    @Test
+    void shouldMoveUserToAnotherShard() throws Exception {
+        User user = newUser();
+        String token = token(user);
+        createTask(token, "Moving task").andExpect(status().isCreated());
+        String source = shardDirectory.placementOf(user.getId()).getShard();
+        String target = shardDataSources.getShardNames().stream()
+                .filter(name -> !name.equals(source))
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(1, shardRebalancer.moveUser(user.getId(), target));
+
+        assertEquals(0, countTasks(source, user.getId()));
+        assertEquals(1, countTasks(target, user.getId()));
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Moving task")));
+        createTask(token, "After move").andExpect(status().isCreated());
+        assertEquals(2, countTasks(target, user.getId()));
+    }
+
+    @Test
+    void shouldRejectWritesWhileUserIsMigrating() throws Exception {
+        User user = newUser();
+        String token = token(user);
+        String shard = shardDirectory.placementOf(user.getId()).getShard();
+        shardDirectory.update(user.getId(), shard, ShardDirectory.State.MIGRATING);
+
+        createTask(token, "Blocked")
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"));
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        shardDirectory.update(user.getId(), shard, ShardDirectory.State.ACTIVE);
+        createTask(token, "Allowed").andExpect(status().isCreated());
+    }
+
+    private User newUser() {
+        return userRepository.save(new User("sharduser" + USERS.incrementAndGet(), "password"));
+    }
+
+    private String token(User user) {
+        return jwtUtil.generateToken(userDetailsService.loadUserByUsername(user.getUsername()));
+    }
+
+    private ResultActions createTask(String token, String title) throws Exception {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(title);
+        return mockMvc.perform(post("/api/tasks")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+
+    private int countTasks(String shard, Long userId) {
+        return shardDataSources.jdbc(shard).queryForObject("select count(*) from tasks where user_id = ?",
+                Integer.class, userId);
+    }
+}
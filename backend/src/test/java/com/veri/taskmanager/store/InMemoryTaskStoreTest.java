@@ -0,0 +1,112 @@
+package com.veri.taskmanager.store;
+
+import com.veri.taskmanager.dto.TaskFields;
+import com.veri.taskmanager.dto.TaskReminder;
+import com.veri.taskmanager.dto.TaskResponse;
+import com.veri.taskmanager.model.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryTaskStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private InMemoryTaskStore open() throws Exception {
+        InMemoryTaskStore store = new InMemoryTaskStore();
+        ReflectionTestUtils.setField(store, "directory", directory.toString());
+        ReflectionTestUtils.setField(store, "walFsync", false);
+        store.load();
+        return store;
+    }
+
+    private static List<Long> ids(List<TaskResponse> tasks) {
+        return tasks.stream().map(TaskResponse::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void shouldScopeTasksToTheirOwner() throws Exception {
+        InMemoryTaskStore store = open();
+        TaskResponse mine = store.create(1L, "Mine", "desc", TaskStatus.PENDING);
+        store.create(2L, "Theirs", null, TaskStatus.PENDING);
+
+        assertEquals(1, store.findAll(1L, TaskFields.ALL, false).size());
+        assertTrue(store.findById(mine.getId(), 2L).isEmpty());
+        assertFalse(store.updateStatus(mine.getId(), 2L, TaskStatus.COMPLETED, LocalDateTime.now()));
+        assertFalse(store.delete(mine.getId(), 2L));
+        assertNull(store.findAll(1L, TaskFields.SUMMARY, false).get(0).getDescription());
+        store.close();
+    }
+
+    @Test
+    void shouldIndexByStatusAndLastUpdate() throws Exception {
+        InMemoryTaskStore store = open();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        long first = store.create(1L, "Task 0", null, TaskStatus.PENDING).getId();
+        for (int i = 1; i < 5; i++) {
+            store.create(1L, "Task " + i, null, TaskStatus.PENDING);
+        }
+        for (int i = 0; i < 5; i++) {
+            store.updateStatus(first + i, 1L, i % 2 == 0 ? TaskStatus.COMPLETED : TaskStatus.PENDING, base.plusMinutes(i));
+        }
+
+        assertEquals(Arrays.asList(first, first + 2, first + 4), ids(store.findByStatus(1L, TaskStatus.COMPLETED, TaskFields.SUMMARY)));
+        assertEquals(Arrays.asList(first + 3, first + 2), ids(store.findUpdatedBefore(1L, base.plusMinutes(4), 2)));
+
+        store.updateStatuses(Arrays.asList(first + 1, first + 3), 1L, TaskStatus.COMPLETED, base.plusMinutes(10));
+        assertEquals(5, store.findByStatus(1L, TaskStatus.COMPLETED, TaskFields.SUMMARY).size());
+        assertEquals(Arrays.asList(first + 3, first + 1, first + 4),
+                ids(store.findUpdatedBefore(1L, base.plusMinutes(11), 3)));
+        store.close();
+    }
+
+    @Test
+    void shouldRecoverFromLogAndSnapshot() throws Exception {
+        InMemoryTaskStore store = open();
+        TaskResponse kept = store.create(1L, "Kept", "before snapshot", TaskStatus.PENDING);
+        TaskResponse deleted = store.create(1L, "Deleted", null, TaskStatus.PENDING);
+        store.snapshot();
+        store.update(kept.getId(), 1L, draft -> draft.setTitle("Renamed"));
+        store.delete(deleted.getId(), 1L);
+
+        InMemoryTaskStore reopened = open();
+        List<TaskResponse> tasks = reopened.findAll(1L, TaskFields.ALL, false);
+        assertEquals(1, tasks.size());
+        assertEquals("Renamed", tasks.get(0).getTitle());
+        assertEquals("before snapshot", tasks.get(0).getDescription());
+        assertTrue(reopened.create(1L, "Next", null, TaskStatus.PENDING).getId() > deleted.getId());
+        reopened.close();
+    }
+
+    @Test
+    void shouldIndexPendingRemindersAndClearThemOnce() throws Exception {
+        InMemoryTaskStore store = open();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        TaskResponse later = store.create(2L, "Later", null, TaskStatus.PENDING, base.plusDays(1), base.plusMinutes(30));
+        TaskResponse soon = store.create(1L, "Soon", null, TaskStatus.PENDING, null, base.plusMinutes(5));
+        TaskResponse done = store.create(1L, "Done", null, TaskStatus.PENDING, null, base.plusMinutes(1));
+        store.updateStatus(done.getId(), 1L, TaskStatus.COMPLETED, base);
+
+        assertEquals(Arrays.asList(soon.getId(), later.getId()), store.findRemindersBefore(base.plusHours(1), 10).stream()
+                .map(TaskReminder::getTaskId).collect(Collectors.toList()));
+        assertFalse(store.clearReminder(soon.getId(), 1L, base.plusMinutes(6)));
+        assertTrue(store.clearReminder(soon.getId(), 1L, base.plusMinutes(5)));
+        assertFalse(store.clearReminder(soon.getId(), 1L, base.plusMinutes(5)));
+        assertFalse(store.clearReminder(done.getId(), 1L, base.plusMinutes(1)));
+
+        InMemoryTaskStore reopened = open();
+        assertEquals(1, reopened.findRemindersBefore(base.plusHours(1), 10).size());
+        assertNull(reopened.findById(soon.getId(), 1L).get().getRemindAt());
+        assertEquals(base.plusDays(1), reopened.findById(later.getId(), 2L).get().getDueAt());
+        reopened.close();
+    }
+}
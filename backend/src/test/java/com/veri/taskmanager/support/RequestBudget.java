@@ -0,0 +1,49 @@
+package com.veri.taskmanager.support;
+
+/**
+ * Upper bounds for one request, e.g. {@code RequestBudget.of("GET /api/tasks").statements(2).allocatedKb(2048)}.
+ */
+public final class RequestBudget {
+
+    private final String name;
+    private int maxStatements = Integer.MAX_VALUE;
+    private long maxAllocatedBytes = Long.MAX_VALUE;
+
+    private RequestBudget(String name) {
+        this.name = name;
+    }
+
+    public static RequestBudget of(String name) {
+        return new RequestBudget(name);
+    }
+
+    public RequestBudget statements(int max) {
+        this.maxStatements = max;
+        return this;
+    }
+
+    public RequestBudget allocatedKb(long max) {
+        this.maxAllocatedBytes = max * 1024;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+
+    public long getMaxAllocatedBytes() {
+        return maxAllocatedBytes;
+    }
+
+    String summary() {
+        return summary(maxStatements, maxAllocatedBytes);
+    }
+
+    static String summary(int statements, long allocatedBytes) {
+        return "statements=" + statements + "\nallocatedKb=" + allocatedBytes / 1024;
+    }
+}
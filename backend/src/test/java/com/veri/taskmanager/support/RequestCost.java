@@ -0,0 +1,71 @@
+package com.veri.taskmanager.support;
+
+import org.opentest4j.AssertionFailedError;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What one measured call cost: the SQL it executed (a JDBC batch counts once) and the bytes it
+ * allocated on the calling thread.
+ */
+public class RequestCost {
+
+    private final List<String> statements;
+    private final long allocatedBytes;
+
+    RequestCost(List<String> statements, long allocatedBytes) {
+        this.statements = Collections.unmodifiableList(statements);
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public List<String> getStatements() {
+        return statements;
+    }
+
+    public int getStatementCount() {
+        return statements.size();
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Fails with a budget-versus-actual diff, plus the statements that ran grouped by SQL text so
+     * repeated queries (an N+1) stand out.
+     */
+    public void assertWithin(RequestBudget budget) {
+        boolean tooManyStatements = getStatementCount() > budget.getMaxStatements();
+        boolean tooMuchAllocated = allocatedBytes > budget.getMaxAllocatedBytes();
+        if (!tooManyStatements && !tooMuchAllocated) {
+            return;
+        }
+
+        StringBuilder message = new StringBuilder(budget.getName()).append(" exceeded its budget\n");
+        message.append(String.format("  statements  budget %6d     actual %6d     %+d%s%n",
+                budget.getMaxStatements(), getStatementCount(), getStatementCount() - budget.getMaxStatements(),
+                tooManyStatements ? "   <-- over" : ""));
+        message.append(String.format("  allocated   budget %6d KB  actual %6d KB  %+d KB%s%n",
+                budget.getMaxAllocatedBytes() / 1024, allocatedBytes / 1024,
+                (allocatedBytes - budget.getMaxAllocatedBytes()) / 1024, tooMuchAllocated ? "   <-- over" : ""));
+        message.append("Statements executed:\n");
+        for (Map.Entry<String, Integer> statement : groupedStatements().entrySet()) {
+            message.append(String.format("  %3dx %s%s%n", statement.getValue(), statement.getKey(),
+                    statement.getValue() > 1 ? "   <-- repeated" : ""));
+        }
+
+        throw new AssertionFailedError(message.toString(), budget.summary(),
+                RequestBudget.summary(getStatementCount(), allocatedBytes));
+    }
+
+    private Map<String, Integer> groupedStatements() {
+        Map<String, Integer> grouped = new LinkedHashMap<>();
+        for (String statement : statements) {
+            grouped.merge(statement.replaceAll("\\s+", " ").trim(), 1, Integer::sum);
+        }
+        return grouped;
+    }
+}
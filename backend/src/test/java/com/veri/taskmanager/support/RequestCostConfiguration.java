@@ -0,0 +1,37 @@
+package com.veri.taskmanager.support;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps every {@link DataSource} in a datasource-proxy that reports executed statements to
+ * {@link RequestCostMeter}. Import it into a {@code @SpringBootTest} to measure request costs.
+ */
+@TestConfiguration
+public class RequestCostConfiguration {
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSources() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource) {
+                    return ProxyDataSourceBuilder.create((DataSource) bean)
+                            .name(beanName)
+                            .listener(RequestCostMeter.STATEMENTS)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public RequestCostMeter requestCostMeter() {
+        return new RequestCostMeter();
+    }
+}
@@ -0,0 +1,82 @@
+package com.veri.taskmanager.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the SQL statements and heap bytes allocated by one call on the calling thread. MockMvc
+ * runs the whole filter chain and controller on the test thread, so background work such as the
+ * journal writer or scheduled jobs is not counted.
+ */
+public class RequestCostMeter {
+
+    static final StatementRecorder STATEMENTS = new StatementRecorder();
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final int WARMUP_CALLS = 3;
+
+    public interface Call {
+        void run() throws Exception;
+    }
+
+    /**
+     * Runs {@code call} a few times unmeasured, so one-off class loading and caches do not count,
+     * then once more while recording statements and allocations.
+     */
+    public RequestCost measure(Call call) throws Exception {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            call.run();
+        }
+
+        if (!THREADS.isThreadAllocatedMemoryEnabled()) {
+            THREADS.setThreadAllocatedMemoryEnabled(true);
+        }
+        long threadId = Thread.currentThread().getId();
+        List<String> statements = STATEMENTS.start();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        try {
+            call.run();
+        } finally {
+            STATEMENTS.stop();
+        }
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new RequestCost(new ArrayList<>(statements), allocated);
+    }
+
+    static final class StatementRecorder implements QueryExecutionListener {
+
+        private final ThreadLocal<List<String>> current = new ThreadLocal<>();
+
+        List<String> start() {
+            List<String> statements = new ArrayList<>();
+            current.set(statements);
+            return statements;
+        }
+
+        void stop() {
+            current.remove();
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            List<String> statements = current.get();
+            if (statements == null) {
+                return;
+            }
+            for (QueryInfo query : queryInfoList) {
+                statements.add(query.getQuery());
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.veri.taskmanager.tags;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskTagIndexTest {
+
+    @Test
+    void shouldAnswerFiltersFromTagBitmaps() {
+        TaskTagIndex index = new TaskTagIndex();
+        index.put(1L, 10L, Set.of("work", "urgent"));
+        index.put(1L, 11L, Set.of("work", "urgent", "blocked"));
+        index.put(1L, 12L, Set.of("home"));
+        index.put(1L, 13L, Set.of("errands", "urgent"));
+        index.put(2L, 20L, Set.of("work", "urgent"));
+
+        assertArrayEquals(new long[]{10L}, index.filter(1L, TagFilter.parse("work AND urgent NOT blocked")));
+        assertArrayEquals(new long[]{12L, 13L}, index.filter(1L, TagFilter.parse("(home or errands)")));
+        assertArrayEquals(new long[]{10L, 11L, 12L},
+                index.filter(1L, TagFilter.parse("home OR work and not errands")));
+        assertArrayEquals(new long[]{13L}, index.filter(1L, TagFilter.parse("urgent AND NOT (work OR home)")));
+        assertArrayEquals(new long[0], index.filter(1L, TagFilter.parse("missing AND work")));
+        assertArrayEquals(new long[]{20L}, index.filter(2L, TagFilter.parse("WORK")));
+        assertArrayEquals(new long[0], index.filter(3L, TagFilter.parse("work")));
+    }
+
+    @Test
+    void shouldReplaceAndRemoveTagsReusingOrdinals() {
+        TaskTagIndex index = new TaskTagIndex();
+        for (long id = 1; id <= 100; id++) {
+            index.put(1L, id, id % 2 == 0 ? Set.of("even") : Set.of("odd"));
+        }
+        index.put(1L, 3L, Set.of("even", "three"));
+        index.remove(1L, 4L);
+        index.put(1L, 6L, Set.of());
+        index.put(1L, 101L, Set.of("even"));
+
+        long[] even = index.filter(1L, TagFilter.parse("even"));
+        assertEquals(50, even.length);
+        assertEquals(2L, even[0]);
+        assertTrue(Arrays.binarySearch(even, 3L) >= 0);
+        assertEquals(101L, even[even.length - 1]);
+        assertTrue(Arrays.binarySearch(even, 4L) < 0);
+        assertTrue(Arrays.binarySearch(even, 6L) < 0);
+        assertArrayEquals(new long[]{3L}, index.filter(1L, TagFilter.parse("three")));
+        assertEquals(Set.of("even", "three"), index.tags(1L, 3L));
+        assertEquals(Set.of(), index.tags(1L, 4L));
+        assertEquals(99, index.taggedTasks());
+    }
+
+    @Test
+    void shouldNormalizeTagsAndRejectInvalidFilters() {
+        assertEquals(Set.of("urgent", "q3:planning"), TaskTagIndex.normalize(Arrays.asList(" Urgent", "urgent", "Q3:Planning")));
+        assertEquals(Set.of(), TaskTagIndex.normalize(null));
+        assertThrows(IllegalArgumentException.class, () -> TaskTagIndex.normalize(Arrays.asList("two words")));
+        assertThrows(IllegalArgumentException.class, () -> TaskTagIndex.normalize(Arrays.asList("x".repeat(33))));
+
+        for (String filter : new String[]{"", "work AND", "(work", "work)", "AND work", "NOT work", "work OR or"}) {
+            assertThrows(IllegalArgumentException.class, () -> TagFilter.parse(filter), filter);
+        }
+    }
+}
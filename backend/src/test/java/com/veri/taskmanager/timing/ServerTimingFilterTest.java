@@ -0,0 +1,74 @@
+package com.veri.taskmanager.timing;
+
+import com.veri.taskmanager.model.User;
+import com.veri.taskmanager.repository.TaskRepository;
+import com.veri.taskmanager.repository.UserRepository;
+import com.veri.taskmanager.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "timing.server-timing.enabled=true")
+@AutoConfigureMockMvc
+class ServerTimingFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    private String jwtToken;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        userRepository.save(new User("timinguser", "password"));
+        jwtToken = jwtUtil.generateToken(userDetailsService.loadUserByUsername("timinguser"));
+    }
+
+    @Test
+    void shouldReportPhasesInServerTimingHeader() throws Exception {
+        mockMvc.perform(get("/api/tasks").header("Authorization", "Bearer " + jwtToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ServerTimingFilter.HEADER, allOf(
+                        startsWith("filter;dur="),
+                        containsString("auth;dur="),
+                        containsString("service;dur="),
+                        containsString("repository;dur="),
+                        containsString("serialization;dur="))));
+    }
+
+    @Test
+    void shouldTimeOnlyTheOutermostEntryOfAPhase() {
+        RequestTiming timing = new RequestTiming(System.nanoTime());
+        timing.enter(RequestTiming.Phase.REPOSITORY);
+        timing.enter(RequestTiming.Phase.REPOSITORY);
+        timing.exit(RequestTiming.Phase.REPOSITORY);
+        long inner = timing.getNanos(RequestTiming.Phase.REPOSITORY);
+        timing.exit(RequestTiming.Phase.REPOSITORY);
+
+        assertEquals(0, inner);
+        assertTrue(timing.getNanos(RequestTiming.Phase.REPOSITORY) > 0);
+        assertFalse(timing.toHeader(System.nanoTime()).contains("service"));
+    }
+}
@@ -0,0 +1,28 @@
+package com.veri.taskmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void shouldHaveNoFalseNegativesAndStayNearTargetRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("jti-" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("jti-" + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertEquals(0.01, falsePositives / 100_000.0, 0.005);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.005);
+    }
+}
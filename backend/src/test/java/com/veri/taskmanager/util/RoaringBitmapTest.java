@@ -0,0 +1,76 @@
+package com.veri.taskmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoaringBitmapTest {
+
+    @Test
+    void shouldMatchBitSetAcrossArrayAndBitmapContainers() {
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            int bound = round % 2 == 0 ? 3 * 65_536 : 8_000;
+            int count = random.nextInt(20_000);
+            BitSet expectedLeft = new BitSet();
+            BitSet expectedRight = new BitSet();
+            RoaringBitmap left = new RoaringBitmap();
+            RoaringBitmap right = new RoaringBitmap();
+            for (int i = 0; i < count; i++) {
+                int a = random.nextInt(bound);
+                int b = random.nextInt(bound);
+                left.add(a);
+                expectedLeft.set(a);
+                right.add(b);
+                expectedRight.set(b);
+            }
+            for (int i = 0; i < count / 3; i++) {
+                int a = random.nextInt(bound);
+                left.remove(a);
+                expectedLeft.clear(a);
+            }
+
+            assertEquals(expectedLeft, toBitSet(left));
+            assertEquals(expectedLeft.cardinality(), left.cardinality());
+
+            BitSet and = (BitSet) expectedLeft.clone();
+            and.and(expectedRight);
+            assertEquals(and, toBitSet(RoaringBitmap.and(left, right)));
+
+            BitSet or = (BitSet) expectedLeft.clone();
+            or.or(expectedRight);
+            assertEquals(or, toBitSet(RoaringBitmap.or(left, right)));
+
+            BitSet andNot = (BitSet) expectedLeft.clone();
+            andNot.andNot(expectedRight);
+            assertEquals(andNot, toBitSet(RoaringBitmap.andNot(left, right)));
+        }
+    }
+
+    @Test
+    void shouldKeepValuesSortedAndDropEmptyContainers() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        bitmap.add(70_000);
+        bitmap.add(3);
+        bitmap.add(3);
+        bitmap.add(65_535);
+        assertArrayEquals(new int[]{3, 65_535, 70_000}, bitmap.toArray());
+        assertTrue(bitmap.contains(65_535));
+        assertFalse(bitmap.contains(4));
+
+        bitmap.remove(70_000);
+        bitmap.remove(3);
+        bitmap.remove(65_535);
+        assertTrue(bitmap.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1));
+    }
+
+    private static BitSet toBitSet(RoaringBitmap bitmap) {
+        BitSet bits = new BitSet();
+        bitmap.forEach(bits::set);
+        return bits;
+    }
+}
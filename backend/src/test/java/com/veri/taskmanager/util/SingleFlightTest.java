@@ -0,0 +1,114 @@
+package com.veri.taskmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void shouldShareOneCallBetweenConcurrentCallers() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<Integer> leader = executor.submit(() -> flight.execute("tasks", () -> {
+                started.countDown();
+                await(release);
+                return calls.incrementAndGet();
+            }));
+            started.await();
+
+            List<Future<Integer>> followers = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                followers.add(executor.submit(() -> flight.execute("tasks", calls::incrementAndGet)));
+            }
+            while (flight.getCoalescedCount() < 7) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertEquals(1, leader.get(5, TimeUnit.SECONDS));
+            for (Future<Integer> follower : followers) {
+                assertEquals(1, follower.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, calls.get());
+            assertEquals(2, flight.execute("tasks", calls::incrementAndGet));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldStartFreshCallAfterForget() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> stale = executor.submit(() -> flight.execute("task:1", () -> {
+                started.countDown();
+                await(release);
+                return "before write";
+            }));
+            started.await();
+
+            flight.forget(key -> key.startsWith("task:"));
+            assertEquals("after write", flight.execute("task:1", () -> "after write"));
+            release.countDown();
+            assertEquals("before write", stale.get(5, TimeUnit.SECONDS));
+            assertEquals(0, flight.getCoalescedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldPropagateFailureToWaitingCallers() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> flight.execute("task:9", () -> {
+                started.countDown();
+                await(release);
+                throw new RuntimeException("Task not found");
+            }));
+            started.await();
+            Future<String> follower = executor.submit(() -> flight.execute("task:9", () -> "late"));
+            while (flight.getCoalescedCount() < 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+            ExecutionException followerFailure = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertEquals("Task not found", leaderFailure.getCause().getMessage());
+            assertSame(leaderFailure.getCause(), followerFailure.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.veri.taskmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void shouldExpireEveryEntryOnItsTickAcrossLevels() {
+        TimingWheel<Long> wheel = new TimingWheel<>(10, 2, 3, 0);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = 1 + random.nextInt(20_000);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+        assertTrue(wheel.occupancy(wheel.getLevels()) > 0);
+
+        List<Long> expired = new ArrayList<>();
+        for (long now = 0; now <= 20_000; now += 7) {
+            long at = now;
+            wheel.advance(now, timeout -> {
+                assertTrue(timeout.getDeadline() <= at);
+                assertTrue(timeout.getDeadline() > at - 17);
+                expired.add(timeout.getValue());
+            });
+        }
+        wheel.advance(20_010, timeout -> expired.add(timeout.getValue()));
+
+        deadlines.sort(null);
+        expired.sort(null);
+        assertEquals(deadlines, expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldCancelAndFirePastDeadlinesOnNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 6, 4, 10_000);
+        TimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 15_000);
+        wheel.schedule("late", 5_000);
+        wheel.schedule("later", 3_600_000);
+        assertEquals(3, wheel.size());
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+        assertEquals(2, wheel.size());
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(10_999, timeout -> expired.add(timeout.getValue()));
+        assertTrue(expired.isEmpty());
+        wheel.advance(20_000, timeout -> expired.add(timeout.getValue()));
+        assertEquals(List.of("late"), expired);
+        wheel.advance(3_600_000, timeout -> expired.add(timeout.getValue()));
+        assertEquals(List.of("late", "later"), expired);
+        for (int level = 0; level <= wheel.getLevels(); level++) {
+            assertEquals(0, wheel.occupancy(level));
+        }
+    }
+}
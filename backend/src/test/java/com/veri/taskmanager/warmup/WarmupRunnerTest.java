@@ -0,0 +1,39 @@
+package com.veri.taskmanager.warmup;
+
+import com.veri.taskmanager.repository.TaskRepository;
+import com.veri.taskmanager.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"warmup.enabled=true", "warmup.iterations=50", "warmup.probe-samples=3"})
+class WarmupRunnerTest {
+
+    @Autowired
+    private WarmupRunner warmupRunner;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void shouldWarmUpBeforeAcceptingTrafficAndKeepNothing() {
+        assertEquals(50, warmupRunner.getCompletedIterations());
+        assertTrue(warmupRunner.getElapsedNanos() > 0);
+        assertTrue(warmupRunner.getProbeBeforeNanos() > 0);
+        assertTrue(warmupRunner.getProbeAfterNanos() > 0);
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, applicationAvailability.getReadinessState());
+
+        assertTrue(userRepository.findAll().stream().noneMatch(user -> user.getUsername().startsWith("warmup-")));
+        assertTrue(taskRepository.findAll().stream().noneMatch(task -> task.getTitle().startsWith("Warm-up task")));
+    }
+}
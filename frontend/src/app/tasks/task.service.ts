@@ -13,6 +13,8 @@ interface StandardResponse<T> {
   path?: string;
 }
 
+const TASK_FIELDS = 'id,title,description,status,createdAt,updatedAt';
+
 @Injectable({
   providedIn: 'root'
 })
@@ -23,7 +25,7 @@ export class TaskService {
   constructor(private http: HttpClient) { }
 
   getTasks(): Observable<Task[]> {
-    return this.http.get<StandardResponse<Task[]>>(this.apiUrl)
+    return this.http.get<StandardResponse<Task[]>>(this.apiUrl, { params: { fields: TASK_FIELDS } })
       .pipe(map(response => response.data));
   }
 